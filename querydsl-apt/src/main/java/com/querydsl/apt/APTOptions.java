@@ -56,6 +56,16 @@ public final class APTOptions {
      */
     public static final String QUERYDSL_ENTITY_ACCESSORS = "querydsl.entityAccessors";
 
+    /**
+     * enable lazily initialized path accessors (default: false)
+     */
+    public static final String QUERYDSL_LAZY_PATHS = "querydsl.lazyPaths";
+
+    /**
+     * set the number of threads used for serializing query types (default: 1)
+     */
+    public static final String QUERYDSL_SERIALIZER_THREADS = "querydsl.serializerThreads";
+
     /**
      * Set whether fields are used as metadata source (default: true)
      */
@@ -14,9 +14,11 @@
 package com.querydsl.apt;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.util.*;
+import java.util.concurrent.*;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.RoundEnvironment;
@@ -31,6 +33,7 @@ import javax.tools.Diagnostic.Kind;
 import javax.tools.JavaFileObject;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.mysema.codegen.JavaWriter;
 import com.mysema.codegen.model.Parameter;
 import com.mysema.codegen.model.Type;
@@ -540,17 +543,25 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
     }
 
     private void serialize(Serializer serializer, Collection<EntityType> models) {
+        List<EntityType> included = Lists.newArrayList();
         for (EntityType model : models) {
+            // skip if type is excluded class or in excluded package
+            if (!conf.isExcludedPackage(model.getPackageName()) && !conf.isExcludedClass(model.getFullName())) {
+                included.add(model);
+            }
+        }
+
+        List<String> sources = generateSources(serializer, included, conf.getSerializerThreads());
+        for (int i = 0; i < included.size(); i++) {
+            EntityType model = included.get(i);
+            if (sources.get(i) == null) {
+                continue;
+            }
             try {
                 Type type = conf.getTypeMappings().getPathType(model, model, true);
                 String packageName = type.getPackageName();
                 String className = !packageName.isEmpty() ? (packageName + "." + type.getSimpleName()) : type.getSimpleName();
 
-                // skip if type is excluded class or in excluded package
-                if (conf.isExcludedPackage(model.getPackageName()) || conf.isExcludedClass(model.getFullName())) {
-                    continue;
-                }
-
                 Set<TypeElement> elements = context.typeElements.get(model.getFullName());
 
                 if (elements == null) {
@@ -565,13 +576,14 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
                     }
                 }
 
+                // query types depend on supertypes and embedded types, so the processors are
+                // registered as aggregating for Gradle and all types are regenerated each run
                 processingEnv.getMessager().printMessage(Kind.NOTE, "Generating " + className + " for " + elements);
                 JavaFileObject fileObject = processingEnv.getFiler().createSourceFile(className,
                         elements.toArray(new Element[elements.size()]));
                 Writer writer = fileObject.openWriter();
                 try {
-                    SerializerConfig serializerConfig = conf.getSerializerConfig(model);
-                    serializer.serialize(model, serializerConfig, new JavaWriter(writer));
+                    writer.write(sources.get(i));
                 } finally {
                     if (writer != null) {
                         writer.close();
@@ -585,6 +597,61 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * Serialize the given models into sources, using a thread pool if more than one thread is
+     * configured. Failed models are reported and mapped to null.
+     */
+    private List<String> generateSources(final Serializer serializer, List<EntityType> models, int threads) {
+        List<String> sources = Lists.newArrayListWithCapacity(models.size());
+        if (threads <= 1 || models.size() <= 1) {
+            for (EntityType model : models) {
+                try {
+                    sources.add(generateSource(serializer, model));
+                } catch (IOException e) {
+                    sources.add(null);
+                    System.err.println(e.getMessage());
+                    processingEnv.getMessager().printMessage(Kind.ERROR, e.getMessage());
+                }
+            }
+            return sources;
+        }
+
+        List<Callable<String>> tasks = Lists.newArrayListWithCapacity(models.size());
+        for (final EntityType model : models) {
+            tasks.add(new Callable<String>() {
+                @Override
+                public String call() throws IOException {
+                    return generateSource(serializer, model);
+                }
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, models.size()));
+        try {
+            for (Future<String> future : executor.invokeAll(tasks)) {
+                try {
+                    sources.add(future.get());
+                } catch (ExecutionException e) {
+                    sources.add(null);
+                    System.err.println(e.getCause().getMessage());
+                    processingEnv.getMessager().printMessage(Kind.ERROR, String.valueOf(e.getCause().getMessage()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return sources;
+    }
+
+    private String generateSource(Serializer serializer, EntityType model) throws IOException {
+        StringWriter writer = new StringWriter();
+        SerializerConfig serializerConfig = conf.getSerializerConfig(model);
+        serializer.serialize(model, serializerConfig, new JavaWriter(writer));
+        return writer.toString();
+    }
+
 
     protected abstract Configuration createConfiguration(RoundEnvironment roundEnv);
 
@@ -112,6 +112,8 @@ public interface Configuration {
 
     boolean isStrictMode();
 
+    int getSerializerThreads();
+
     Function<EntityType, String> getVariableNameFunction();
 
 }
@@ -47,6 +47,8 @@ public class DefaultConfiguration implements Configuration {
 
     private boolean unknownAsEmbedded;
 
+    private int serializerThreads = 1;
+
     private final CodegenModule module = new CodegenModule();
 
     private final SerializerConfig defaultSerializerConfig;
@@ -122,6 +124,7 @@ public class DefaultConfiguration implements Configuration {
         boolean listAccessors = false;
         boolean mapAccessors = false;
         boolean createDefaultVariable = true;
+        boolean lazyPaths = false;
 
         if (options.containsKey(QUERYDSL_ENTITY_ACCESSORS)) {
             entityAccessors = Boolean.valueOf(options.get(QUERYDSL_ENTITY_ACCESSORS));
@@ -135,6 +138,9 @@ public class DefaultConfiguration implements Configuration {
         if (options.containsKey(QUERYDSL_CREATE_DEFAULT_VARIABLE)) {
             createDefaultVariable = Boolean.valueOf(options.get(QUERYDSL_CREATE_DEFAULT_VARIABLE));
         }
+        if (options.containsKey(QUERYDSL_LAZY_PATHS)) {
+            lazyPaths = Boolean.valueOf(options.get(QUERYDSL_LAZY_PATHS));
+        }
         if (options.containsKey(QUERYDSL_PACKAGE_SUFFIX)) {
             module.bind(CodegenModule.PACKAGE_SUFFIX, Strings.nullToEmpty(options.get(QUERYDSL_PACKAGE_SUFFIX)));
         }
@@ -147,6 +153,9 @@ public class DefaultConfiguration implements Configuration {
         if (options.containsKey(QUERYDSL_UNKNOWN_AS_EMBEDDABLE)) {
             unknownAsEmbedded = Boolean.valueOf(options.get(QUERYDSL_UNKNOWN_AS_EMBEDDABLE));
         }
+        if (options.containsKey(QUERYDSL_SERIALIZER_THREADS)) {
+            serializerThreads = Integer.parseInt(options.get(QUERYDSL_SERIALIZER_THREADS));
+        }
 
         if (options.containsKey(QUERYDSL_EXCLUDED_PACKAGES)) {
             String packageString = options.get(QUERYDSL_EXCLUDED_PACKAGES);
@@ -214,7 +223,7 @@ public class DefaultConfiguration implements Configuration {
         }
 
         defaultSerializerConfig = new SimpleSerializerConfig(entityAccessors, listAccessors,
-                mapAccessors, createDefaultVariable, "");
+                mapAccessors, createDefaultVariable, "", lazyPaths);
 
     }
 
@@ -495,6 +504,15 @@ public class DefaultConfiguration implements Configuration {
         this.unknownAsEmbedded = unknownAsEmbedded;
     }
 
+    @Override
+    public int getSerializerThreads() {
+        return serializerThreads;
+    }
+
+    public void setSerializerThreads(int serializerThreads) {
+        this.serializerThreads = serializerThreads;
+    }
+
     @Override
     public Function<EntityType, String> getVariableNameFunction() {
         return variableNameFunction;
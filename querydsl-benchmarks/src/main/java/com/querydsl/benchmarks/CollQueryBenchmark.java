@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.querydsl.benchmarks.domain.Employee;
+import com.querydsl.benchmarks.domain.QEmployee;
+import com.querydsl.collections.CollQuery;
+
+/**
+ * CollQueryBenchmark measures filtering and ordering of in-memory collections
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollQueryBenchmark {
+
+    private static final QEmployee employee = QEmployee.employee;
+
+    private static final QEmployee other = new QEmployee("other");
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private List<Employee> employees;
+
+    private List<Employee> managers;
+
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        employees = Data.employees(size);
+        managers = Data.employees(Data.DEPARTMENTS);
+    }
+
+    private int nextId() {
+        counter = (counter + 1) % size;
+        return counter;
+    }
+
+    @Benchmark
+    public Employee byId() {
+        return new CollQuery<Void>().from(employee, employees)
+                .where(employee.id.eq(nextId()))
+                .select(employee).fetchOne();
+    }
+
+    @Benchmark
+    public List<Employee> filter() {
+        return new CollQuery<Void>().from(employee, employees)
+                .where(employee.departmentId.eq(nextId() % Data.DEPARTMENTS),
+                       employee.salary.gt(5000))
+                .select(employee).fetch();
+    }
+
+    @Benchmark
+    public List<Employee> like() {
+        return new CollQuery<Void>().from(employee, employees)
+                .where(employee.lastName.like("Sm%1%"))
+                .select(employee).fetch();
+    }
+
+    @Benchmark
+    public List<Employee> filterAndOrder() {
+        return new CollQuery<Void>().from(employee, employees)
+                .where(employee.salary.between(2000, 6000))
+                .orderBy(employee.lastName.asc(), employee.id.desc())
+                .select(employee).fetch();
+    }
+
+    @Benchmark
+    public List<Employee> orderAndLimit() {
+        return new CollQuery<Void>().from(employee, employees)
+                .orderBy(employee.salary.desc())
+                .limit(10)
+                .select(employee).fetch();
+    }
+
+    @Benchmark
+    public List<Employee> join() {
+        return new CollQuery<Void>().from(employee, employees).from(other, managers)
+                .where(other.id.eq(employee.departmentId), other.salary.lt(employee.salary))
+                .select(employee).fetch();
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.querydsl.benchmarks.domain.Employee;
+
+/**
+ * Data provides the deterministic fixtures shared by the benchmark suites
+ */
+final class Data {
+
+    static final String[] FIRST_NAMES = {"Anna", "Bob", "Carl", "Dana", "Eric", "Fred", "Gina", "Hugo"};
+
+    static final String[] LAST_NAMES = {"Smith", "Jones", "Brown", "Taylor", "Wilson", "Evans"};
+
+    static final int DEPARTMENTS = 20;
+
+    static List<Employee> employees(int size) {
+        List<Employee> employees = new ArrayList<Employee>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(employee(i));
+        }
+        return employees;
+    }
+
+    static Employee employee(int i) {
+        return new Employee(i,
+                FIRST_NAMES[i % FIRST_NAMES.length],
+                LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + i,
+                i % DEPARTMENTS,
+                1000 + (i * 37) % 9000);
+    }
+
+    private Data() { }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.benchmarks;
+
+import static com.querydsl.core.group.GroupBy.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.querydsl.benchmarks.domain.Employee;
+import com.querydsl.benchmarks.domain.QEmployee;
+import com.querydsl.collections.CollQuery;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.group.Group;
+
+/**
+ * GroupByBenchmark measures the {@link com.querydsl.core.group.GroupBy} result transformers
+ *
+ * <p>The transformers are fed by a collection query, {@link #tuples()} is the baseline
+ * without the transformation.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupByBenchmark {
+
+    private static final QEmployee employee = QEmployee.employee;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        employees = Data.employees(size);
+    }
+
+    private CollQuery<?> query() {
+        return new CollQuery<Void>().from(employee, employees).orderBy(employee.departmentId.asc());
+    }
+
+    @Benchmark
+    public List<Tuple> tuples() {
+        return query().select(employee.departmentId, employee.firstName, employee.salary).fetch();
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> mapOfLists() {
+        return query().transform(groupBy(employee.departmentId).as(list(employee.firstName)));
+    }
+
+    @Benchmark
+    public Map<Integer, Group> mapOfGroups() {
+        return query().transform(groupBy(employee.departmentId).as(
+                set(employee.firstName), sum(employee.salary), max(employee.salary)));
+    }
+
+    @Benchmark
+    public List<Group> listOfGroups() {
+        return query().transform(groupBy(employee.departmentId).list(
+                list(employee.lastName), min(employee.salary)));
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.benchmarks;
+
+import java.sql.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.benchmarks.domain.Employee;
+import com.querydsl.benchmarks.domain.SEmployee;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QBean;
+import com.querydsl.sql.*;
+import com.querydsl.sql.dml.SQLInsertClause;
+
+/**
+ * H2FetchBenchmark measures end-to-end query execution against an in-memory H2 database
+ *
+ * <p>{@link #jdbc()} is the hand written JDBC baseline for {@link #byId()}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class H2FetchBenchmark {
+
+    private static final int ROWS = 10000;
+
+    private static final SEmployee e = SEmployee.employee;
+
+    private Connection connection;
+
+    private Configuration configuration;
+
+    private QBean<Employee> bean;
+
+    private int counter;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:benchmarks", "sa", "");
+        Statement stmt = connection.createStatement();
+        try {
+            stmt.execute("create table EMPLOYEE (ID int primary key, FIRSTNAME varchar(50), "
+                    + "LASTNAME varchar(50), DEPARTMENT_ID int, SALARY int)");
+        } finally {
+            stmt.close();
+        }
+        configuration = new Configuration(new H2Templates());
+        SQLInsertClause insert = new SQLInsertClause(connection, configuration, e);
+        for (Employee employee : Data.employees(ROWS)) {
+            insert.populate(employee).addBatch();
+        }
+        insert.execute();
+        bean = Projections.bean(Employee.class, e.id, e.firstName, e.lastName, e.departmentId, e.salary);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        Statement stmt = connection.createStatement();
+        try {
+            stmt.execute("drop table EMPLOYEE");
+        } finally {
+            stmt.close();
+        }
+        connection.close();
+    }
+
+    private SQLQuery<?> query() {
+        return new SQLQuery<Void>(connection, configuration);
+    }
+
+    private int nextId() {
+        counter = (counter + 1) % ROWS;
+        return counter;
+    }
+
+    @Benchmark
+    public String jdbc() throws SQLException {
+        PreparedStatement stmt = connection.prepareStatement(
+                "select e.FIRSTNAME from EMPLOYEE e where e.ID = ?");
+        try {
+            stmt.setInt(1, nextId());
+            ResultSet rs = stmt.executeQuery();
+            try {
+                return rs.next() ? rs.getString(1) : null;
+            } finally {
+                rs.close();
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Benchmark
+    public String byId() {
+        return query().select(e.firstName).from(e).where(e.id.eq(nextId())).fetchOne();
+    }
+
+    @Benchmark
+    public List<Employee> beans() {
+        return query().select(bean).from(e)
+                .where(e.departmentId.eq(nextId() % Data.DEPARTMENTS))
+                .orderBy(e.id.asc())
+                .limit(100).fetch();
+    }
+
+    @Benchmark
+    public List<Tuple> tuples() {
+        return query().select(e.id, e.firstName, e.salary).from(e)
+                .where(e.salary.gt(5000))
+                .limit(1000).fetch();
+    }
+
+    @Benchmark
+    public ColumnarResult columns() {
+        return query().select(e.id, e.salary).from(e)
+                .where(e.salary.gt(5000))
+                .limit(1000).fetchColumns();
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        CloseableIterator<Integer> it = query().select(e.salary).from(e).iterate();
+        try {
+            while (it.hasNext()) {
+                sum += it.next();
+            }
+        } finally {
+            it.close();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.querydsl.benchmarks.domain.QEmployee;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+
+/**
+ * PredicateBenchmark measures the construction of predicates via {@link ExpressionUtils}
+ * and {@link BooleanBuilder}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredicateBenchmark {
+
+    private static final QEmployee employee = QEmployee.employee;
+
+    @Param({"2", "10", "50"})
+    private int terms;
+
+    private List<Predicate> predicates;
+
+    @Setup
+    public void setUp() {
+        predicates = new ArrayList<Predicate>(terms);
+        for (int i = 0; i < terms; i++) {
+            predicates.add(employee.id.eq(i));
+        }
+    }
+
+    @Benchmark
+    public Predicate allOf() {
+        return ExpressionUtils.allOf(predicates);
+    }
+
+    @Benchmark
+    public Predicate anyOf() {
+        return ExpressionUtils.anyOf(predicates);
+    }
+
+    @Benchmark
+    public Predicate and() {
+        Predicate result = null;
+        for (Predicate predicate : predicates) {
+            result = result == null ? predicate : ExpressionUtils.and(result, predicate);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Predicate booleanBuilder() {
+        BooleanBuilder builder = new BooleanBuilder();
+        for (Predicate predicate : predicates) {
+            builder.or(predicate);
+        }
+        return builder.getValue();
+    }
+
+    @Benchmark
+    public Predicate build() {
+        Predicate result = null;
+        for (int i = 0; i < terms; i++) {
+            Predicate predicate = employee.firstName.eq("Anna").and(employee.salary.gt(i));
+            result = result == null ? predicate : ExpressionUtils.or(result, predicate);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.querydsl.benchmarks.domain.Employee;
+import com.querydsl.benchmarks.domain.QEmployee;
+import com.querydsl.core.types.*;
+
+/**
+ * ProjectionBenchmark measures the population of beans and constructor projections
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+    private static final QEmployee employee = QEmployee.employee;
+
+    private static final Class<?>[] PARAMETER_TYPES = {
+        Integer.class, String.class, String.class, Integer.class, Integer.class};
+
+    private QBean<Employee> bean;
+
+    private QBean<Employee> fieldBean;
+
+    private QBean<Employee> generatedBean;
+
+    private ConstructorExpression<Employee> constructor;
+
+    private ConstructorExpression<Employee> generatedConstructor;
+
+    private Object[] row;
+
+    @Setup
+    public void setUp() {
+        Expression<?>[] columns = {employee.id, employee.firstName, employee.lastName,
+                employee.departmentId, employee.salary};
+        bean = Projections.bean(Employee.class, columns);
+        fieldBean = Projections.fields(Employee.class, columns);
+        generatedBean = GeneratedProjections.bean(Employee.class, columns);
+        constructor = Projections.constructor(Employee.class, PARAMETER_TYPES, columns);
+        generatedConstructor = GeneratedProjections.constructor(Employee.class, PARAMETER_TYPES, columns);
+        row = new Object[]{1, "Anna", "Smith", 2, 3000};
+    }
+
+    @Benchmark
+    public Employee qbeanSetters() {
+        return bean.newInstance(row);
+    }
+
+    @Benchmark
+    public Employee qbeanFields() {
+        return fieldBean.newInstance(row);
+    }
+
+    @Benchmark
+    public Employee qbeanGenerated() {
+        return generatedBean.newInstance(row);
+    }
+
+    @Benchmark
+    public Employee constructor() {
+        return constructor.newInstance(row);
+    }
+
+    @Benchmark
+    public Employee constructorGenerated() {
+        return generatedConstructor.newInstance(row);
+    }
+
+}
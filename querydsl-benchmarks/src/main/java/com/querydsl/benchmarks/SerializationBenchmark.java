@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.querydsl.benchmarks.domain.QEmployee;
+import com.querydsl.benchmarks.domain.SEmployee;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.sql.*;
+
+/**
+ * SerializationBenchmark measures the rendering of SQL and JPQL queries
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final SEmployee e = new SEmployee("e");
+
+    private static final SEmployee m = new SEmployee("m");
+
+    private static final QEmployee employee = QEmployee.employee;
+
+    private Configuration configuration;
+
+    private Configuration cachedConfiguration;
+
+    private QueryMetadata sqlMetadata;
+
+    private QueryMetadata jpqlMetadata;
+
+    @Setup
+    public void setUp() {
+        configuration = new Configuration(new H2Templates());
+        cachedConfiguration = new Configuration(new H2Templates());
+        cachedConfiguration.setStatementShapeCache(new StatementShapeCache(1000));
+        sqlMetadata = sqlQuery(configuration, 1).getMetadata();
+        jpqlMetadata = new JPAQuery<Void>()
+                .select(employee.firstName, employee.lastName, employee.salary)
+                .from(employee)
+                .where(employee.departmentId.eq(1),
+                       employee.salary.between(1000, 5000),
+                       employee.lastName.startsWith("S"))
+                .orderBy(employee.lastName.asc(), employee.firstName.asc())
+                .getMetadata();
+    }
+
+    private static SQLQuery<?> sqlQuery(Configuration configuration, int department) {
+        return new SQLQuery<Void>(configuration)
+                .select(e.firstName, e.lastName, m.lastName)
+                .from(e)
+                .leftJoin(m).on(m.id.eq(e.departmentId))
+                .where(e.departmentId.eq(department),
+                       e.salary.between(1000, 5000),
+                       e.lastName.startsWith("S"))
+                .orderBy(e.lastName.asc(), e.firstName.asc())
+                .limit(100);
+    }
+
+    @Benchmark
+    public String sqlSerializer() {
+        SQLSerializer serializer = new SQLSerializer(configuration);
+        serializer.serialize(sqlMetadata, false);
+        return serializer.toString();
+    }
+
+    @Benchmark
+    public String sqlSerializerCount() {
+        SQLSerializer serializer = new SQLSerializer(configuration);
+        serializer.serialize(sqlMetadata, true);
+        return serializer.toString();
+    }
+
+    @Benchmark
+    public SQLBindings sqlQueryGetSQL() {
+        return sqlQuery(configuration, 1).getSQL();
+    }
+
+    @Benchmark
+    public SQLBindings sqlQueryGetSQLShapeCached() {
+        return sqlQuery(cachedConfiguration, 1).getSQL();
+    }
+
+    @Benchmark
+    public String jpqlSerializer() {
+        JPQLSerializer serializer = new JPQLSerializer(JPQLTemplates.DEFAULT);
+        serializer.serialize(jpqlMetadata, false, null);
+        return serializer.toString();
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.benchmarks.domain;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+
+/**
+ * QEmployee is the entity path for {@link Employee} used in the JPQL and collection benchmarks
+ */
+public class QEmployee extends EntityPathBase<Employee> {
+
+    private static final long serialVersionUID = 3717466352853418519L;
+
+    public static final QEmployee employee = new QEmployee("employee");
+
+    public final NumberPath<Integer> id = createNumber("id", Integer.class);
+
+    public final StringPath firstName = createString("firstName");
+
+    public final StringPath lastName = createString("lastName");
+
+    public final NumberPath<Integer> departmentId = createNumber("departmentId", Integer.class);
+
+    public final NumberPath<Integer> salary = createNumber("salary", Integer.class);
+
+    public QEmployee(String variable) {
+        super(Employee.class, PathMetadataFactory.forVariable(variable));
+    }
+
+    public QEmployee(PathMetadata metadata) {
+        super(Employee.class, metadata);
+    }
+
+}
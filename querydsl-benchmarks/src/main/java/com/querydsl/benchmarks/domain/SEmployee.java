@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.benchmarks.domain;
+
+import java.sql.Types;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.PrimaryKey;
+import com.querydsl.sql.RelationalPathBase;
+
+/**
+ * SEmployee is the relational path for the EMPLOYEE table used in the SQL benchmarks
+ */
+public class SEmployee extends RelationalPathBase<SEmployee> {
+
+    private static final long serialVersionUID = -2915237493410358744L;
+
+    public static final SEmployee employee = new SEmployee("e");
+
+    public final NumberPath<Integer> id = createNumber("id", Integer.class);
+
+    public final StringPath firstName = createString("firstName");
+
+    public final StringPath lastName = createString("lastName");
+
+    public final NumberPath<Integer> departmentId = createNumber("departmentId", Integer.class);
+
+    public final NumberPath<Integer> salary = createNumber("salary", Integer.class);
+
+    public final PrimaryKey<SEmployee> idKey = createPrimaryKey(id);
+
+    public SEmployee(String variable) {
+        super(SEmployee.class, PathMetadataFactory.forVariable(variable), "PUBLIC", "EMPLOYEE");
+        addMetadata();
+    }
+
+    public SEmployee(PathMetadata metadata) {
+        super(SEmployee.class, metadata, "PUBLIC", "EMPLOYEE");
+        addMetadata();
+    }
+
+    protected void addMetadata() {
+        addMetadata(id, ColumnMetadata.named("ID").ofType(Types.INTEGER));
+        addMetadata(firstName, ColumnMetadata.named("FIRSTNAME").ofType(Types.VARCHAR));
+        addMetadata(lastName, ColumnMetadata.named("LASTNAME").ofType(Types.VARCHAR));
+        addMetadata(departmentId, ColumnMetadata.named("DEPARTMENT_ID").ofType(Types.INTEGER));
+        addMetadata(salary, ColumnMetadata.named("SALARY").ofType(Types.INTEGER));
+    }
+
+}
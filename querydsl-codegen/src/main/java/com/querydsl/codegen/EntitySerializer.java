@@ -17,6 +17,8 @@ import static com.mysema.codegen.Symbols.*;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
 
 import javax.annotation.Generated;
@@ -48,6 +50,8 @@ public class EntitySerializer implements Serializer {
 
     private static final ClassType PATH_INITS_TYPE = new ClassType(PathInits.class);
 
+    private static final Set<String> RESERVED_ACCESSOR_NAMES = getAccessorNames(EntityPathBase.class);
+
     protected final TypeMappings typeMappings;
 
     protected final Collection<String> keywords;
@@ -208,7 +212,7 @@ public class EntitySerializer implements Serializer {
         if (field.isInherited()) {
             writer.line("// inherited");
         }
-        if (config.useEntityAccessors()) {
+        if (config.useEntityAccessors() || isLazy(model, field, config)) {
             writer.protectedField(queryType, field.getEscapedName());
         } else {
             writer.publicFinal(queryType, field.getEscapedName());
@@ -241,7 +245,8 @@ public class EntitySerializer implements Serializer {
             if (field.getType().getCategory() == TypeCategory.ENTITY) {
                 initEntityField(writer, config, model, field);
 
-            } else if (field.isInherited() && superType != null && superType.getEntityType().hasEntityFields()) {
+            } else if (field.isInherited() && superType != null && superType.getEntityType().hasEntityFields()
+                    && !isLazy(model, field, config)) {
                 writer.line("this.", field.getEscapedName(), " = _super.", field.getEscapedName(), SEMICOLON);
             }
         }
@@ -250,7 +255,9 @@ public class EntitySerializer implements Serializer {
     protected void initEntityField(CodeWriter writer, SerializerConfig config, EntityType model,
             Property field) throws IOException {
         Type queryType = typeMappings.getPathType(field.getType(), model, false);
-        if (!field.isInherited()) {
+        if (isLazy(model, field, config)) {
+            // initialized on first access
+        } else if (!field.isInherited()) {
             boolean hasEntityFields = field.getType() instanceof EntityType
                     && ((EntityType) field.getType()).hasEntityFields();
             writer.line("this." + field.getEscapedName() + ASSIGN,
@@ -533,27 +540,97 @@ public class EntitySerializer implements Serializer {
     }
 
     protected void listAccessor(EntityType model, Property field, CodeWriter writer) throws IOException {
+        listAccessor(model, field, field.getEscapedName(), writer);
+    }
+
+    protected void listAccessor(EntityType model, Property field, SerializerConfig config,
+            CodeWriter writer) throws IOException {
+        if (isLazy(model, field, config)) {
+            listAccessor(model, field, field.getEscapedName() + "()", writer);
+        } else {
+            listAccessor(model, field, writer);
+        }
+    }
+
+    private void listAccessor(EntityType model, Property field, String path, CodeWriter writer) throws IOException {
         String escapedName = field.getEscapedName();
         Type queryType = typeMappings.getPathType(field.getParameter(0), model, false);
 
         writer.beginPublicMethod(queryType, escapedName, new Parameter("index", Types.INT));
-        writer.line(RETURN + escapedName + ".get(index);").end();
+        writer.line(RETURN + path + ".get(index);").end();
 
         writer.beginPublicMethod(queryType, escapedName, new Parameter("index",
                 new ClassType(Expression.class, Types.INTEGER)));
-        writer.line(RETURN + escapedName + ".get(index);").end();
+        writer.line(RETURN + path + ".get(index);").end();
     }
 
     protected void mapAccessor(EntityType model, Property field, CodeWriter writer) throws IOException {
+        mapAccessor(model, field, field.getEscapedName(), writer);
+    }
+
+    protected void mapAccessor(EntityType model, Property field, SerializerConfig config,
+            CodeWriter writer) throws IOException {
+        if (isLazy(model, field, config)) {
+            mapAccessor(model, field, field.getEscapedName() + "()", writer);
+        } else {
+            mapAccessor(model, field, writer);
+        }
+    }
+
+    private void mapAccessor(EntityType model, Property field, String path, CodeWriter writer) throws IOException {
         String escapedName = field.getEscapedName();
         Type queryType = typeMappings.getPathType(field.getParameter(1), model, false);
 
         writer.beginPublicMethod(queryType, escapedName, new Parameter("key", field.getParameter(0)));
-        writer.line(RETURN + escapedName + ".get(key);").end();
+        writer.line(RETURN + path + ".get(key);").end();
 
         writer.beginPublicMethod(queryType, escapedName, new Parameter("key",
                 new ClassType(Expression.class, field.getParameter(0))));
-        writer.line(RETURN + escapedName + ".get(key);").end();
+        writer.line(RETURN + path + ".get(key);").end();
+    }
+
+    /**
+     * Get whether the given property is to be serialized as a lazily initialized path
+     * with an accessor method instead of a public final field
+     *
+     * @param model model
+     * @param field property
+     * @param config serializer config
+     * @return true, if lazy
+     */
+    protected boolean isLazy(EntityType model, Property field, SerializerConfig config) {
+        return config.useLazyPaths() && !RESERVED_ACCESSOR_NAMES.contains(field.getEscapedName());
+    }
+
+    /**
+     * Get the names of the parameterless methods of the given path type, which can't be used
+     * as names for lazy path accessors
+     *
+     * @param pathType path type
+     * @return method names
+     */
+    protected static Set<String> getAccessorNames(Class<?> pathType) {
+        Set<String> names = Sets.newHashSet();
+        for (Class<?> cl = pathType; cl != null; cl = cl.getSuperclass()) {
+            for (Method method : cl.getDeclaredMethods()) {
+                if (method.getParameterTypes().length == 0 && !Modifier.isPrivate(method.getModifiers())) {
+                    names.add(method.getName());
+                }
+            }
+        }
+        return names;
+    }
+
+    protected void lazyField(EntityType model, Property field, Type type, String value,
+            CodeWriter writer) throws IOException {
+        String escapedName = field.getEscapedName();
+        writer.protectedField(type, escapedName);
+        writer.beginPublicMethod(type, escapedName);
+        writer.line("if (", escapedName, " == null) {");
+        writer.line("    ", escapedName, ASSIGN, value, SEMICOLON);
+        writer.line("}");
+        writer.line(RETURN, escapedName, SEMICOLON);
+        writer.end();
     }
 
     private void delegate(final EntityType model, Delegate delegate, SerializerConfig config,
@@ -608,16 +685,35 @@ public class EntitySerializer implements Serializer {
         for (Property property : model.getProperties()) {
             TypeCategory category = property.getType().getCategory();
             if (category == TypeCategory.MAP && config.useMapAccessors()) {
-                mapAccessor(model, property, writer);
+                mapAccessor(model, property, config, writer);
             } else if (category == TypeCategory.LIST && config.useListAccessors()) {
-                listAccessor(model, property, writer);
-            } else if (category == TypeCategory.ENTITY && config.useEntityAccessors()) {
+                listAccessor(model, property, config, writer);
+            } else if (category == TypeCategory.ENTITY
+                    && (config.useEntityAccessors() || isLazy(model, property, config))) {
                 entityAccessor(model, property, writer);
             }
         }
         outro(model, writer);
     }
 
+    protected void serialize(EntityType model, Property field, Type type, CodeWriter writer,
+            SerializerConfig config, String factoryMethod, String... args) throws IOException {
+        if (isLazy(model, field, config)) {
+            StringBuilder value = new StringBuilder();
+            value.append(factoryMethod + "(\"" + field.getName() + QUOTE);
+            for (String arg : args) {
+                value.append(COMMA + arg);
+            }
+            value.append(")");
+            if (field.isInherited()) {
+                writer.line("//inherited");
+            }
+            lazyField(model, field, type, value.toString(), writer);
+        } else {
+            serialize(model, field, type, writer, factoryMethod, args);
+        }
+    }
+
     protected void serialize(EntityType model, Property field, Type type, CodeWriter writer,
             String factoryMethod, String... args) throws IOException {
         Supertype superType = model.getSuperType();
@@ -650,7 +746,13 @@ public class EntitySerializer implements Serializer {
             CodeWriter writer) throws IOException {
         Type queryType = typeMappings.getPathType(field.getType(), model, false);
         writer.line("// custom");
-        if (field.isInherited()) {
+        if (isLazy(model, field, config)) {
+            if (field.isInherited()) {
+                writer.line("// inherited");
+            }
+            String value = NEW + writer.getRawName(queryType) + "(forProperty(\"" + field.getName() + "\"))";
+            lazyField(model, field, queryType, value, writer);
+        } else if (field.isInherited()) {
             writer.line("// inherited");
             Supertype superType = model.getSuperType();
             if (!superType.getEntityType().hasEntityFields()) {
@@ -708,39 +810,39 @@ public class EntitySerializer implements Serializer {
 
             switch (property.getType().getCategory()) {
             case STRING:
-                serialize(model, property, queryType, writer, "createString");
+                serialize(model, property, queryType, writer, config, "createString");
                 break;
 
             case BOOLEAN:
-                serialize(model, property, queryType, writer, "createBoolean");
+                serialize(model, property, queryType, writer, config, "createBoolean");
                 break;
 
             case SIMPLE:
-                serialize(model, property, queryType, writer, "createSimple", writer.getClassConstant(localRawName));
+                serialize(model, property, queryType, writer, config, "createSimple", writer.getClassConstant(localRawName));
                 break;
 
             case COMPARABLE:
-                serialize(model, property, queryType, writer, "createComparable", writer.getClassConstant(localRawName));
+                serialize(model, property, queryType, writer, config, "createComparable", writer.getClassConstant(localRawName));
                 break;
 
             case ENUM:
-                serialize(model, property, queryType, writer, "createEnum", writer.getClassConstant(localRawName));
+                serialize(model, property, queryType, writer, config, "createEnum", writer.getClassConstant(localRawName));
                 break;
 
             case DATE:
-                serialize(model, property, queryType, writer, "createDate", writer.getClassConstant(localRawName));
+                serialize(model, property, queryType, writer, config, "createDate", writer.getClassConstant(localRawName));
                 break;
 
             case DATETIME:
-                serialize(model, property, queryType, writer, "createDateTime", writer.getClassConstant(localRawName));
+                serialize(model, property, queryType, writer, config, "createDateTime", writer.getClassConstant(localRawName));
                 break;
 
             case TIME:
-                serialize(model, property, queryType, writer, "createTime", writer.getClassConstant(localRawName));
+                serialize(model, property, queryType, writer, config, "createTime", writer.getClassConstant(localRawName));
                 break;
 
             case NUMERIC:
-                serialize(model, property, queryType, writer, "createNumber", writer.getClassConstant(localRawName));
+                serialize(model, property, queryType, writer, config, "createNumber", writer.getClassConstant(localRawName));
                 break;
 
             case CUSTOM:
@@ -751,7 +853,7 @@ public class EntitySerializer implements Serializer {
                 serialize(model, property, new ClassType(ArrayPath.class,
                         property.getType(),
                         wrap(property.getType().getComponentType())),
-                        writer, "createArray", writer.getClassConstant(localRawName));
+                        writer, config, "createArray", writer.getClassConstant(localRawName));
                 break;
 
             case COLLECTION:
@@ -761,7 +863,7 @@ public class EntitySerializer implements Serializer {
                 queryType = typeMappings.getPathType(property.getParameter(0), model, true);
 
                 serialize(model, property, new ClassType(CollectionPath.class, getRaw(property.getParameter(0)), genericQueryType),
-                        writer, "this.<" + genericKey + COMMA + writer.getGenericName(true, genericQueryType) + ">createCollection",
+                        writer, config, "this.<" + genericKey + COMMA + writer.getGenericName(true, genericQueryType) + ">createCollection",
                         writer.getClassConstant(localRawName), writer.getClassConstant(writer.getRawName(queryType)), inits);
                 break;
 
@@ -772,7 +874,7 @@ public class EntitySerializer implements Serializer {
                 queryType = typeMappings.getPathType(property.getParameter(0), model, true);
 
                 serialize(model, property, new ClassType(SetPath.class, getRaw(property.getParameter(0)), genericQueryType),
-                        writer, "this.<" + genericKey + COMMA + writer.getGenericName(true, genericQueryType) + ">createSet",
+                        writer, config, "this.<" + genericKey + COMMA + writer.getGenericName(true, genericQueryType) + ">createSet",
                         writer.getClassConstant(localRawName), writer.getClassConstant(writer.getRawName(queryType)), inits);
                 break;
 
@@ -783,7 +885,7 @@ public class EntitySerializer implements Serializer {
                 queryType = typeMappings.getPathType(property.getParameter(0), model, true);
 
                 serialize(model, property, new ClassType(ListPath.class, getRaw(property.getParameter(0)), genericQueryType),
-                        writer, "this.<" + genericKey + COMMA + writer.getGenericName(true, genericQueryType) + ">createList",
+                        writer, config, "this.<" + genericKey + COMMA + writer.getGenericName(true, genericQueryType) + ">createList",
                         writer.getClassConstant(localRawName), writer.getClassConstant(writer.getRawName(queryType)), inits);
                 break;
 
@@ -797,7 +899,7 @@ public class EntitySerializer implements Serializer {
 
                 serialize(model, property, new ClassType(MapPath.class, getRaw(property.getParameter(0)),
                         getRaw(property.getParameter(1)), genericQueryType),
-                        writer, "this.<" + genericKey + COMMA + genericValue + COMMA +
+                        writer, config, "this.<" + genericKey + COMMA + genericValue + COMMA +
                             writer.getGenericName(true, genericQueryType) + ">createMap",
                  writer.getClassConstant(keyType), writer.getClassConstant(valueType), writer.getClassConstant(writer.getRawName(queryType)));
                 break;
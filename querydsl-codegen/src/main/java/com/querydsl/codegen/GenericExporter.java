@@ -18,14 +18,17 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.*;
 
 import javax.annotation.Nullable;
 
 import com.google.common.base.Function;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.io.Files;
 import com.mysema.codegen.CodeWriter;
 import com.mysema.codegen.JavaWriter;
 import com.mysema.codegen.ScalaWriter;
@@ -131,6 +134,8 @@ public class GenericExporter {
 
     private boolean strictMode;
 
+    private int serializerThreads = 1;
+
 
     /**
      * Create a GenericExporter instance using the given classloader and charset for serializing
@@ -276,17 +281,21 @@ public class GenericExporter {
                 projectionSerializer = codegenModule.get(ProjectionSerializer.class);
             }
 
+            List<Callable<Void>> tasks = Lists.newArrayList();
+
             // serialize super types
-            serialize(supertypeSerializer, superTypes);
+            serialize(supertypeSerializer, superTypes, tasks);
 
             // serialize entity types
-            serialize(entitySerializer, entityTypes);
+            serialize(entitySerializer, entityTypes, tasks);
 
             // serialize embeddable types
-            serialize(embeddableSerializer, embeddableTypes);
+            serialize(embeddableSerializer, embeddableTypes, tasks);
 
             // serialize projection types
-            serialize(projectionSerializer, projectionTypes);
+            serialize(projectionSerializer, projectionTypes, tasks);
+
+            execute(tasks);
 
         } catch (IOException e) {
             throw new QueryException(e);
@@ -540,7 +549,8 @@ public class GenericExporter {
         }
     }
 
-    private void serialize(Serializer serializer, Map<Class<?>, EntityType> types) throws IOException {
+    private void serialize(final Serializer serializer, Map<Class<?>, EntityType> types,
+            List<Callable<Void>> tasks) {
         for (Map.Entry<Class<?>, EntityType> entityType : types.entrySet()) {
             Type type = typeMappings.getPathType(entityType.getValue(), entityType.getValue(), true);
             String packageName = type.getPackageName();
@@ -550,32 +560,65 @@ public class GenericExporter {
                 config = SimpleSerializerConfig.getConfig(entityType.getKey().getAnnotation(Config.class));
             }
             String fileSuffix = createScalaSources ? ".scala" : ".java";
-            write(serializer, className.replace('.', '/') + fileSuffix, config, entityType.getValue());
+            final File targetFile = new File(targetFolder, className.replace('.', '/') + fileSuffix);
+            final SerializerConfig targetConfig = config;
+            final EntityType model = entityType.getValue();
+            generatedFiles.add(targetFile);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    write(serializer, targetFile, targetConfig, model);
+                    return null;
+                }
+            });
         }
     }
 
-    private void write(Serializer serializer, String path, SerializerConfig serializerConfig,
-            EntityType type) throws IOException {
-        File targetFile = new File(targetFolder, path);
-        generatedFiles.add(targetFile);
-        Writer w = writerFor(targetFile);
+    private void execute(List<Callable<Void>> tasks) throws IOException {
+        if (serializerThreads <= 1 || tasks.size() <= 1) {
+            for (Callable<Void> task : tasks) {
+                try {
+                    task.call();
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw Throwables.propagate(e);
+                }
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(serializerThreads, tasks.size()));
         try {
-            CodeWriter writer = createScalaSources ? new ScalaWriter(w) : new JavaWriter(w);
-            serializer.serialize(type, serializerConfig, writer);
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryException(e);
+        } catch (ExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+            throw Throwables.propagate(e.getCause());
         } finally {
-            w.close();
+            executor.shutdownNow();
         }
     }
 
-    private Writer writerFor(File file) {
-        if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
-            System.err.println("Folder " + file.getParent() + " could not be created");
+    private void write(Serializer serializer, File targetFile, SerializerConfig serializerConfig,
+            EntityType type) throws IOException {
+        StringWriter w = new StringWriter();
+        CodeWriter writer = createScalaSources ? new ScalaWriter(w) : new JavaWriter(w);
+        serializer.serialize(type, serializerConfig, writer);
+
+        // keep unchanged files untouched to retain their timestamps
+        byte[] bytes = w.toString().getBytes(charset);
+        if (targetFile.exists() && targetFile.length() == bytes.length
+                && Arrays.equals(bytes, Files.toByteArray(targetFile))) {
+            return;
         }
-        try {
-            return new OutputStreamWriter(new FileOutputStream(file), charset);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e.getMessage(), e);
+        if (!targetFile.getParentFile().exists() && !targetFile.getParentFile().mkdirs()) {
+            System.err.println("Folder " + targetFile.getParent() + " could not be created");
         }
+        Files.write(bytes, targetFile);
     }
 
 
@@ -778,6 +821,15 @@ public class GenericExporter {
         strictMode = s;
     }
 
+    /**
+     * Set the number of threads used for serializing query types (default: 1)
+     *
+     * @param serializerThreads
+     */
+    public void setSerializerThreads(int serializerThreads) {
+        this.serializerThreads = serializerThreads;
+    }
+
     /**
      * Set the serializer configuration to use
      *
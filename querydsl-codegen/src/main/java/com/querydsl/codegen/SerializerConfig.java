@@ -55,4 +55,11 @@ public interface SerializerConfig {
      * @return the name of the default variable
      */
     String defaultVariableName();
+
+    /**
+     * paths are initialized lazily via accessors
+     *
+     * @return if paths are initialized lazily via accessors
+     */
+    boolean useLazyPaths();
 }
@@ -31,10 +31,11 @@ public final class SimpleSerializerConfig implements SerializerConfig {
                 annotation.listAccessors(),
                 annotation.mapAccessors(),
                 annotation.createDefaultVariable(),
-                annotation.defaultVariableName());
+                annotation.defaultVariableName(),
+                annotation.lazyPaths());
     }
 
-    private final boolean entityAccessors, listAccessors, mapAccessors, createDefaultVariable;
+    private final boolean entityAccessors, listAccessors, mapAccessors, createDefaultVariable, lazyPaths;
 
     private final String defaultVariableName;
 
@@ -44,11 +45,22 @@ public final class SimpleSerializerConfig implements SerializerConfig {
             boolean mapAccessors,
             boolean createDefaultVariable,
             String defaultVariableName) {
+        this(entityAccessors, listAccessors, mapAccessors, createDefaultVariable, defaultVariableName, false);
+    }
+
+    public SimpleSerializerConfig(
+            boolean entityAccessors,
+            boolean listAccessors,
+            boolean mapAccessors,
+            boolean createDefaultVariable,
+            String defaultVariableName,
+            boolean lazyPaths) {
         this.entityAccessors = entityAccessors;
         this.listAccessors = listAccessors;
         this.mapAccessors = mapAccessors;
         this.createDefaultVariable = createDefaultVariable;
         this.defaultVariableName = defaultVariableName;
+        this.lazyPaths = lazyPaths;
     }
 
     @Override
@@ -75,4 +87,9 @@ public final class SimpleSerializerConfig implements SerializerConfig {
     public String defaultVariableName() {
         return defaultVariableName;
     }
+
+    @Override
+    public boolean useLazyPaths() {
+        return lazyPaths;
+    }
 }
@@ -13,6 +13,7 @@
  */
 package com.querydsl.codegen;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -164,6 +165,27 @@ public class EntitySerializerTest {
         CompileUtils.assertCompiles("QEntity", writer.toString());
     }
 
+    @Test
+    public void lazy_paths() throws IOException {
+        SimpleType type = new SimpleType(TypeCategory.ENTITY, "Entity", "", "Entity",false,false);
+        EntityType entityType = new EntityType(type);
+        entityType.addProperty(new Property(entityType, "s", new ClassType(TypeCategory.STRING, String.class)));
+        entityType.addProperty(new Property(entityType, "count", new ClassType(TypeCategory.NUMERIC, Integer.class)));
+        entityType.addProperty(new Property(entityType, "entity", entityType));
+        typeMappings.register(entityType, queryTypeFactory.create(entityType));
+
+        serializer.serialize(entityType, new SimpleSerializerConfig(false, false, false, true, "", true),
+                new JavaWriter(writer));
+        String str = writer.toString();
+        assertTrue(str.contains("protected StringPath s;"));
+        assertTrue(str.contains("public StringPath s() {"));
+        assertTrue(str.contains("s = createString(\"s\");"));
+        assertTrue(str.contains("public final NumberPath<Integer> count = createNumber(\"count\", Integer.class);"));
+        assertTrue(str.contains("public QEntity entity() {"));
+        assertFalse(str.contains("this.entity = "));
+        CompileUtils.assertCompiles("QEntity", str);
+    }
+
     @Test
     public void superType() throws IOException {
         EntityType superType = new EntityType(new SimpleType(TypeCategory.ENTITY, "Entity2", "", "Entity2",false,false));
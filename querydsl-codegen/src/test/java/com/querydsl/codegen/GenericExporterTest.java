@@ -13,6 +13,7 @@
  */
 package com.querydsl.codegen;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -52,6 +53,65 @@ public class GenericExporterTest {
         assertTrue(new File(folder.getRoot(), "com/querydsl/codegen/sub/QExampleEntity2.java").exists());
     }
 
+    @Test
+    public void export_with_threads() throws IOException {
+        File serialFolder = folder.newFolder("serial");
+        exporter.setTargetFolder(serialFolder);
+        exporter.export(getClass().getPackage());
+
+        File parallelFolder = folder.newFolder("parallel");
+        exporter = new GenericExporter();
+        exporter.setTargetFolder(parallelFolder);
+        exporter.setSerializerThreads(4);
+        exporter.export(getClass().getPackage());
+
+        assertFalse(exporter.getGeneratedFiles().isEmpty());
+        for (File file : exporter.getGeneratedFiles()) {
+            String path = file.getAbsolutePath().substring(parallelFolder.getAbsolutePath().length());
+            assertEquals(Files.toString(new File(serialFolder, path), Charsets.UTF_8),
+                    Files.toString(file, Charsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void export_keeps_unchanged_files() throws IOException {
+        exporter.setTargetFolder(folder.getRoot());
+        exporter.export(getClass().getPackage());
+        File file = new File(folder.getRoot(), "com/querydsl/codegen/QExampleEntity.java");
+        assertTrue(file.setLastModified(1000L));
+
+        exporter = new GenericExporter();
+        exporter.setTargetFolder(folder.getRoot());
+        exporter.export(getClass().getPackage());
+        assertEquals(1000L, file.lastModified());
+    }
+
+    @Test
+    public void export_writes_changed_files_only() throws IOException {
+        exporter.setTargetFolder(folder.getRoot());
+        exporter.export(getClass().getPackage());
+        assertTrue(exporter.getGeneratedFiles().size() > 1);
+        for (File file : exporter.getGeneratedFiles()) {
+            assertTrue(file.setLastModified(1000L));
+        }
+        File changed = new File(folder.getRoot(), "com/querydsl/codegen/QExampleEntity.java");
+        String content = Files.toString(changed, Charsets.UTF_8);
+        Files.write(content + "// changed", changed, Charsets.UTF_8);
+        assertTrue(changed.setLastModified(1000L));
+
+        exporter = new GenericExporter();
+        exporter.setTargetFolder(folder.getRoot());
+        exporter.export(getClass().getPackage());
+        for (File file : exporter.getGeneratedFiles()) {
+            if (file.equals(changed)) {
+                assertFalse(file.lastModified() == 1000L);
+                assertEquals(content, Files.toString(file, Charsets.UTF_8));
+            } else {
+                assertEquals(file.getPath(), 1000L, file.lastModified());
+            }
+        }
+    }
+
     @Test
     public void export_with_keywords() throws IOException {
         exporter.setKeywords(Keywords.JPA);
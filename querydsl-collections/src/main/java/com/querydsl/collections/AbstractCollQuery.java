@@ -92,26 +92,6 @@ public abstract class AbstractCollQuery<T, Q extends AbstractCollQuery<T, Q>> ex
         return queryMixin.getSelf();
     }
 
-    @Override
-    public Q groupBy(Expression<?> e) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public Q groupBy(Expression<?>... o) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public Q having(Predicate e) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public Q having(Predicate... e) {
-        throw new UnsupportedOperationException();
-    }
-
     protected QueryEngine getQueryEngine() {
         return queryEngine;
     }
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
@@ -46,6 +47,9 @@ public final class CollQuerySerializer extends SerializerBase<CollQuerySerialize
 
     private static final Map<Class<?>, String> CAST_SUFFIXES = Maps.newHashMap();
 
+    private static final Set<Operator> LIKE_OPS = ImmutableSet.<Operator>of(
+            Ops.LIKE, Ops.LIKE_IC, Ops.LIKE_ESCAPE, Ops.LIKE_ESCAPE_IC);
+
     static {
         OPERATOR_SYMBOLS.put(Ops.EQ, " == ");
         OPERATOR_SYMBOLS.put(Ops.NE, " != ");
@@ -193,7 +197,25 @@ public final class CollQuerySerializer extends SerializerBase<CollQuerySerialize
             return;
         }
 
-        if (operator == Ops.STRING_CAST) {
+        if (LIKE_OPS.contains(operator) && isConstant(args.subList(1, args.size()))) {
+            // precompile the pattern
+            String like = ((Constant<?>) args.get(1)).getConstant().toString();
+            Character escape = args.size() > 2 ? (Character) ((Constant<?>) args.get(2)).getConstant() : null;
+            boolean ignoreCase = operator == Ops.LIKE_IC || operator == Ops.LIKE_ESCAPE_IC;
+            visitConstant(LikeMatcher.create(like, escape, ignoreCase));
+            append(".matches(");
+            handle(args.get(0));
+            append(")");
+        } else if ((operator == Ops.MATCHES || operator == Ops.MATCHES_IC)
+                && args.get(1) instanceof Constant<?>) {
+            // precompile the regular expression
+            String regex = ((Constant<?>) args.get(1)).getConstant().toString();
+            visitConstant(operator == Ops.MATCHES ? Pattern.compile(regex)
+                    : Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+            append(".matcher(");
+            handle(args.get(0));
+            append(").matches()");
+        } else if (operator == Ops.STRING_CAST) {
             visitCast(operator, args.get(0), String.class);
         } else if (operator == Ops.NUMCAST) {
             @SuppressWarnings("unchecked") //this is the second argument's type
@@ -205,6 +227,15 @@ public final class CollQuerySerializer extends SerializerBase<CollQuerySerialize
         }
     }
 
+    private static boolean isConstant(List<? extends Expression<?>> args) {
+        for (Expression<?> arg : args) {
+            if (!(arg instanceof Constant<?>)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static boolean isPrimitive(Class<?> type) {
         return type.isPrimitive() || WRAPPER_TYPES.contains(type);
     }
@@ -87,7 +87,30 @@ public class DefaultEvaluatorFactory {
      */
     public <T> Evaluator<T> create(QueryMetadata metadata, List<? extends Expression<?>> sources,
             Expression<T> projection) {
+        return create(metadata, sources, projection, false);
+    }
+
+    /**
+     * Create an Evaluator for the given query sources and projection which returns null instead
+     * of failing when a null value is dereferenced during the evaluation
+     *
+     * @param <T>
+     * @param metadata query metadata
+     * @param sources sources of the query
+     * @param projection projection of the query
+     * @return evaluator
+     */
+    public <T> Evaluator<T> createNullSafe(QueryMetadata metadata, List<? extends Expression<?>> sources,
+            Expression<T> projection) {
+        return create(metadata, sources, projection, true);
+    }
+
+    private <T> Evaluator<T> create(QueryMetadata metadata, List<? extends Expression<?>> sources,
+            Expression<T> projection, boolean nullSafe) {
         final CollQuerySerializer serializer = new CollQuerySerializer(templates);
+        if (nullSafe) {
+            serializer.append("try {\n");
+        }
         serializer.append("return ");
         if (projection instanceof FactoryExpression<?>) {
             serializer.append("(");
@@ -99,6 +122,11 @@ public class DefaultEvaluatorFactory {
             serializer.handle(projection);
         }
         serializer.append(";");
+        if (nullSafe) {
+            serializer.append("\n} catch (NullPointerException npe) {\n");
+            serializer.append("    return null;\n");
+            serializer.append("}");
+        }
 
         Map<Object,String> constantToLabel = serializer.getConstantToLabel();
         Map<String, Object> constants = getConstants(metadata, constantToLabel);
@@ -15,6 +15,8 @@ package com.querydsl.collections;
 
 import java.util.*;
 
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
 import com.mysema.codegen.Evaluator;
@@ -83,7 +85,65 @@ public class DefaultQueryEngine implements QueryEngine {
         }
     }
 
-    private <T> List<T> distinct(List<T> list) {
+    /**
+     * Compile the evaluators of the given query without evaluating it
+     *
+     * <p>Together with an {@link EvaluatorCache} this moves the compilation of frequently used
+     * query shapes e.g. to application startup. The constants of the query are only used for
+     * their types.</p>
+     *
+     * @param query query to prepare
+     */
+    public void prewarm(AbstractCollQuery<?, ?> query) {
+        QueryMetadata metadata = query.getMetadata();
+        List<Expression<?>> sources;
+        boolean project;
+        if (metadata.getJoins().size() == 1) {
+            Expression<?> source = metadata.getJoins().get(0).getTarget();
+            sources = Collections.<Expression<?>>singletonList(source);
+            if (metadata.getWhere() != null) {
+                evaluatorFactory.createEvaluator(metadata, source, metadata.getWhere());
+            }
+            project = metadata.getProjection() != null && !metadata.getProjection().equals(source);
+        } else {
+            HashJoin hashJoin = HashJoin.create(metadata);
+            if (hashJoin != null) {
+                hashJoin.prewarm(evaluatorFactory, metadata);
+            } else {
+                evaluatorFactory.createEvaluator(metadata, metadata.getJoins(), metadata.getWhere());
+            }
+            sources = getSources(metadata);
+            project = metadata.getProjection() != null;
+        }
+        if (HashAggregation.isRequired(metadata)) {
+            HashAggregation aggregation = new HashAggregation(metadata, true);
+            aggregation.createEvaluator(evaluatorFactory, metadata, sources);
+            metadata = aggregation.getMetadata();
+            sources = HashAggregation.SOURCES;
+            if (aggregation.getHaving() != null) {
+                evaluatorFactory.create(metadata, sources, aggregation.getHaving());
+            }
+            project = metadata.getProjection() != null;
+        }
+        if (!metadata.getOrderBy().isEmpty()) {
+            createOrderEvaluator(metadata, sources);
+        }
+        if (project) {
+            Expression<?> projection = metadata.getProjection();
+            if (isAggregation(projection)) {
+                projection = ((Operation<?>) projection).getArg(0);
+            }
+            evaluatorFactory.create(metadata, sources, projection);
+        }
+    }
+
+    /**
+     * Remove the duplicates of the given list, keeping the first occurrences
+     *
+     * @param list list
+     * @return distinct elements
+     */
+    protected <T> List<T> distinct(List<T> list) {
         List<T> rv = new ArrayList<T>(list.size());
         if (!list.isEmpty() && list.get(0) != null && list.get(0).getClass().isArray()) {
             Set set = new HashSet(list.size());
@@ -106,25 +166,28 @@ public class DefaultQueryEngine implements QueryEngine {
     private List evaluateMultipleSources(QueryMetadata metadata, Map<Expression<?>,
             Iterable<?>> iterables, boolean count) {
         // from where
-        Evaluator<List<Object[]>> ev = evaluatorFactory.createEvaluator(metadata, metadata.getJoins(), metadata.getWhere());
-        List<Iterable<?>> iterableList = new ArrayList<Iterable<?>>(metadata.getJoins().size());
-        for (JoinExpression join : metadata.getJoins()) {
-            if (join.getType() == JoinType.DEFAULT) {
-                iterableList.add(iterables.get(join.getTarget()));
-            }
-        }
-        List<?> list = ev.evaluate(iterableList.toArray());
-
-        if (!count && !list.isEmpty()) {
-            List<Expression<?>> sources = new ArrayList<Expression<?>>(metadata.getJoins().size());
+        List<?> list;
+        HashJoin hashJoin = HashJoin.create(metadata);
+        if (hashJoin != null) {
+            list = hashJoin.evaluate(evaluatorFactory, metadata, iterables);
+        } else {
+            Evaluator<List<Object[]>> ev = evaluatorFactory.createEvaluator(metadata, metadata.getJoins(), metadata.getWhere());
+            List<Iterable<?>> iterableList = new ArrayList<Iterable<?>>(metadata.getJoins().size());
             for (JoinExpression join : metadata.getJoins()) {
                 if (join.getType() == JoinType.DEFAULT) {
-                    sources.add(join.getTarget());
-                } else {
-                    Operation target = (Operation) join.getTarget();
-                    sources.add(target.getArg(1));
+                    iterableList.add(iterables.get(join.getTarget()));
                 }
             }
+            list = ev.evaluate(iterableList.toArray());
+        }
+
+        List<Expression<?>> sources = getSources(metadata);
+        // group by + having
+        if (HashAggregation.isRequired(metadata)) {
+            return aggregate(metadata, sources, list, count);
+        }
+
+        if (!count && !list.isEmpty()) {
             // ordered
             if (!metadata.getOrderBy().isEmpty()) {
                 order(metadata, sources, list);
@@ -148,13 +211,15 @@ public class DefaultQueryEngine implements QueryEngine {
         return list;
     }
 
-    private List evaluateSingleSource(QueryMetadata metadata, Map<Expression<?>,
+    private List evaluateSingleSource(final QueryMetadata metadata, Map<Expression<?>,
             Iterable<?>> iterables, boolean count) {
         final Expression<?> source = metadata.getJoins().get(0).getTarget();
         final List<Expression<?>> sources = Collections.<Expression<?>>singletonList(source);
         final Iterable<?> iterable = iterables.values().iterator().next();
         List<?> list;
-        if (iterable instanceof List) {
+        if (iterable instanceof IndexedCollection) {
+            list = ((IndexedCollection<?>) iterable).lookup(source, metadata);
+        } else if (iterable instanceof List) {
             list = (List) iterable;
         } else {
             list = IteratorAdapter.asList(iterable.iterator());
@@ -162,9 +227,17 @@ public class DefaultQueryEngine implements QueryEngine {
 
         // from & where
         if (metadata.getWhere() != null) {
-            Evaluator<List<?>> evaluator = (Evaluator) evaluatorFactory
-                    .createEvaluator(metadata, source, metadata.getWhere());
-            list = evaluator.evaluate(list);
+            list = filter(new Supplier<Evaluator<List<?>>>() {
+                @Override
+                public Evaluator<List<?>> get() {
+                    return (Evaluator) evaluatorFactory.createEvaluator(metadata, source, metadata.getWhere());
+                }
+            }, list);
+        }
+
+        // group by + having
+        if (HashAggregation.isRequired(metadata)) {
+            return aggregate(metadata, sources, list, count);
         }
 
         if (!count && !list.isEmpty()) {
@@ -198,32 +271,145 @@ public class DefaultQueryEngine implements QueryEngine {
 
     }
 
-    private void order(QueryMetadata metadata, List<Expression<?>> sources, List<?> list) {
+    private List aggregate(QueryMetadata metadata, List<Expression<?>> sources, List<?> list,
+            boolean count) {
+        HashAggregation aggregation = new HashAggregation(metadata, !count);
+        List<?> groups = aggregation.evaluate(evaluatorFactory, metadata, sources, list);
+        QueryMetadata groupMetadata = aggregation.getMetadata();
+        List<Expression<?>> groupSources = HashAggregation.SOURCES;
+
+        // having
+        if (aggregation.getHaving() != null && !groups.isEmpty()) {
+            Evaluator<Boolean> evaluator = evaluatorFactory.create(groupMetadata, groupSources,
+                    aggregation.getHaving());
+            EvaluatorFunction<Object, Boolean> having = new EvaluatorFunction<Object, Boolean>(evaluator);
+            List<Object> filtered = new ArrayList<Object>(groups.size());
+            for (Object group : groups) {
+                if (Boolean.TRUE.equals(having.apply(group))) {
+                    filtered.add(group);
+                }
+            }
+            groups = filtered;
+        }
+
+        if (!count && !groups.isEmpty()) {
+            // ordered
+            if (!groupMetadata.getOrderBy().isEmpty()) {
+                order(groupMetadata, groupSources, groups);
+            }
+            // projection
+            groups = project(groupMetadata, groupSources, groups);
+            // limit + offset
+            if (groupMetadata.getModifiers().isRestricting()) {
+                groups = groupMetadata.getModifiers().subList(groups);
+            }
+            if (groups.isEmpty()) {
+                return groups;
+            }
+        }
+
+        // distinct
+        if (metadata.isDistinct()) {
+            groups = distinct(groups);
+        }
+
+        return groups;
+    }
+
+    private List<Expression<?>> getSources(QueryMetadata metadata) {
+        List<Expression<?>> sources = new ArrayList<Expression<?>>(metadata.getJoins().size());
+        for (JoinExpression join : metadata.getJoins()) {
+            if (join.getType() == JoinType.DEFAULT) {
+                sources.add(join.getTarget());
+            } else {
+                Operation target = (Operation) join.getTarget();
+                sources.add(target.getArg(1));
+            }
+        }
+        return sources;
+    }
+
+    private Evaluator createOrderEvaluator(QueryMetadata metadata, List<Expression<?>> sources) {
         // create a projection for the order
         List<OrderSpecifier<?>> orderBy = metadata.getOrderBy();
         Expression<Object>[] orderByExpr = new Expression[orderBy.size()];
-        boolean[] directions = new boolean[orderBy.size()];
         for (int i = 0; i < orderBy.size(); i++) {
             orderByExpr[i] = (Expression) orderBy.get(i).getTarget();
-            directions[i] = orderBy.get(i).getOrder() == Order.ASC;
         }
         Expression<?> expr = new ArrayConstructorExpression<Object>(Object[].class, orderByExpr);
-        Evaluator orderEvaluator = evaluatorFactory.create(metadata, sources, expr);
-        Collections.sort(list, new MultiComparator(orderEvaluator, directions));
+        return evaluatorFactory.create(metadata, sources, expr);
+    }
+
+    private void order(final QueryMetadata metadata, final List<Expression<?>> sources, List<?> list) {
+        List<OrderSpecifier<?>> orderBy = metadata.getOrderBy();
+        final boolean[] directions = new boolean[orderBy.size()];
+        for (int i = 0; i < orderBy.size(); i++) {
+            directions[i] = orderBy.get(i).getOrder() == Order.ASC;
+        }
+        sort(list, new Supplier<Comparator<Object>>() {
+            @Override
+            public Comparator<Object> get() {
+                return new MultiComparator(createOrderEvaluator(metadata, sources), directions);
+            }
+        });
     }
 
-    private List<?> project(QueryMetadata metadata, List<Expression<?>> sources, List<?> list) {
+    /**
+     * Filter the given list. Evaluators are not thread-safe, so concurrent filtering needs to use
+     * a separate evaluator per thread.
+     *
+     * @param evaluators supplier of filter evaluators
+     * @param list list to filter
+     * @return matching elements
+     */
+    protected List<?> filter(Supplier<? extends Evaluator<List<?>>> evaluators, List<?> list) {
+        return evaluators.get().evaluate(list);
+    }
+
+    /**
+     * Transform the elements of the given list. The functions are backed by evaluators, so
+     * concurrent transformation needs to use a separate function per thread.
+     *
+     * @param list list to transform
+     * @param functions supplier of transformations
+     * @return transformed elements
+     */
+    protected List<?> transform(List<?> list, Supplier<? extends Function<Object, ?>> functions) {
+        List<Object> target = new ArrayList<Object>(list.size());
+        Iterators.addAll(target, Iterators.transform(list.iterator(), functions.get()));
+        return target;
+    }
+
+    /**
+     * Sort the given list in place, the sort needs to be stable. The comparators are backed by
+     * evaluators, so concurrent sorting needs to use a separate comparator per thread.
+     *
+     * @param list list to sort
+     * @param comparators supplier of comparators
+     */
+    protected <T> void sort(List<T> list, Supplier<? extends Comparator<? super T>> comparators) {
+        Collections.sort(list, comparators.get());
+    }
+
+    private static boolean isAggregation(Expression<?> projection) {
+        return projection instanceof Operation && Ops.aggOps.contains(((Operation) projection).getOperator());
+    }
+
+    private List<?> project(final QueryMetadata metadata, final List<Expression<?>> sources, List<?> list) {
         Expression<?> projection = metadata.getProjection();
         Operator aggregator = null;
-        if (projection instanceof Operation && Ops.aggOps.contains(((Operation) projection).getOperator())) {
+        if (isAggregation(projection)) {
             Operation<?> aggregation = (Operation<?>) projection;
             aggregator = aggregation.getOperator();
             projection = aggregation.getArg(0);
         }
-        Evaluator projectionEvaluator = evaluatorFactory.create(metadata, sources, projection);
-        EvaluatorFunction transformer = new EvaluatorFunction(projectionEvaluator);
-        List target = new ArrayList();
-        Iterators.addAll(target, Iterators.transform(list.iterator(), transformer));
+        final Expression<?> projectionExpr = projection;
+        List target = transform(list, new Supplier<Function<Object, ?>>() {
+            @Override
+            public Function<Object, ?> get() {
+                return new EvaluatorFunction(evaluatorFactory.create(metadata, sources, projectionExpr));
+            }
+        });
         if (aggregator != null) {
             return ImmutableList.of(CollQueryFunctions.aggregate(target, projection, aggregator));
         } else {
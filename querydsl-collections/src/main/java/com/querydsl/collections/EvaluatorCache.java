@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import java.net.URLClassLoader;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mysema.codegen.ECJEvaluatorFactory;
+import com.mysema.codegen.Evaluator;
+import com.mysema.codegen.EvaluatorFactory;
+import com.mysema.codegen.JDKEvaluatorFactory;
+import com.mysema.codegen.model.ClassType;
+import com.mysema.codegen.model.Type;
+import com.querydsl.core.QueryException;
+
+/**
+ * {@code EvaluatorCache} is a bounded {@link EvaluatorFactory} which reuses compiled evaluators
+ *
+ * <p>The cache key is the normalized evaluator source, in which the constants are already
+ * replaced by their labels, together with the projection, source and constant types. Each cached
+ * evaluator is compiled into its own class loader, so evicting an entry makes the generated class
+ * eligible for unloading. Repeated evaluations of the same query shape skip the compilation
+ * step.</p>
+ *
+ * <p>Usage</p>
+ *
+ * <pre>
+ * EvaluatorCache cache = new EvaluatorCache(500);
+ * QueryEngine engine = new DefaultQueryEngine(new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT, cache));
+ * </pre>
+ */
+public class EvaluatorCache implements EvaluatorFactory {
+
+    private final ClassLoader classLoader;
+
+    private final Cache<List<String>, EvaluatorFactory> factories;
+
+    /**
+     * Create a new EvaluatorCache instance using the context class loader of the current thread
+     *
+     * @param maximumSize maximum amount of cached evaluators
+     */
+    public EvaluatorCache(int maximumSize) {
+        this(Thread.currentThread().getContextClassLoader(), maximumSize);
+    }
+
+    /**
+     * Create a new EvaluatorCache instance
+     *
+     * @param classLoader parent class loader of the compiled evaluators
+     * @param maximumSize maximum amount of cached evaluators
+     */
+    public EvaluatorCache(ClassLoader classLoader, int maximumSize) {
+        this.classLoader = classLoader;
+        this.factories = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Create the factory which compiles a single evaluator
+     *
+     * @param classLoader parent class loader
+     * @return evaluator factory
+     */
+    protected EvaluatorFactory createFactory(ClassLoader classLoader) {
+        if (classLoader instanceof URLClassLoader) {
+            return new JDKEvaluatorFactory((URLClassLoader) classLoader);
+        } else {
+            // for OSGi compatibility
+            return new ECJEvaluatorFactory(classLoader);
+        }
+    }
+
+    @Override
+    public <T> Evaluator<T> createEvaluator(String source, Class<? extends T> projectionType,
+            String[] names, Class<?>[] classes, Map<String, Object> constants) {
+        List<String> key = new ArrayList<String>();
+        key.add(source);
+        key.add(projectionType.getName());
+        addNames(key, names);
+        for (Class<?> cl : classes) {
+            key.add(cl.getName());
+        }
+        addConstants(key, constants);
+        return getFactory(key).createEvaluator(source, projectionType, names, classes, constants);
+    }
+
+    @Override
+    public <T> Evaluator<T> createEvaluator(String source, ClassType projectionType, String[] names,
+            Type[] types, Class<?>[] classes, Map<String, Object> constants) {
+        List<String> key = new ArrayList<String>();
+        key.add(source);
+        key.add(projectionType.getFullName());
+        addNames(key, names);
+        for (Type type : types) {
+            key.add(type.getFullName());
+        }
+        for (Class<?> cl : classes) {
+            key.add(cl.getName());
+        }
+        addConstants(key, constants);
+        return getFactory(key).<T>createEvaluator(source, projectionType, names, types, classes, constants);
+    }
+
+    private static void addNames(List<String> key, String[] names) {
+        key.add(String.valueOf(names.length));
+        key.addAll(Arrays.asList(names));
+    }
+
+    private static void addConstants(List<String> key, Map<String, Object> constants) {
+        for (Map.Entry<String, Object> entry : new TreeMap<String, Object>(constants).entrySet()) {
+            key.add(entry.getKey());
+            key.add(entry.getValue().getClass().getName());
+        }
+    }
+
+    private EvaluatorFactory getFactory(List<String> key) {
+        try {
+            return factories.get(key, new Callable<EvaluatorFactory>() {
+                @Override
+                public EvaluatorFactory call() {
+                    return createFactory(classLoader);
+                }
+            });
+        } catch (ExecutionException e) {
+            throw new QueryException(e);
+        }
+    }
+
+    /**
+     * Get the amount of evaluators which were served without compilation
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return factories.stats().hitCount();
+    }
+
+    /**
+     * Get the amount of evaluators which needed to be compiled
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return factories.stats().missCount();
+    }
+
+    /**
+     * Get the amount of evaluators which were evicted because of the size limit
+     *
+     * @return eviction count
+     */
+    public long getEvictionCount() {
+        return factories.stats().evictionCount();
+    }
+
+    /**
+     * Get the amount of cached evaluators
+     *
+     * @return size
+     */
+    public long size() {
+        return factories.size();
+    }
+
+    /**
+     * Remove all cached evaluators
+     */
+    public void clear() {
+        factories.invalidateAll();
+    }
+
+}
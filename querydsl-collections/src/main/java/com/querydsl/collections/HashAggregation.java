@@ -0,0 +1,487 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.mysema.codegen.Evaluator;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.support.ReplaceVisitor;
+import com.querydsl.core.types.*;
+import com.querydsl.core.util.MathUtils;
+
+/**
+ * {@code HashAggregation} evaluates the group by, having and aggregate expressions of a query
+ *
+ * <p>The rows of the query are grouped in a single pass by the values of the group by
+ * expressions with one set of accumulators per group. The result contains one row per group
+ * with the group by values followed by the aggregate values. The projection, having and order
+ * expressions of the query are rewritten to refer to the elements of the group rows.</p>
+ */
+final class HashAggregation {
+
+    /**
+     * Source of the rewritten expressions
+     */
+    static final Path<Object[]> GROUP = ExpressionUtils.path(Object[].class, "group_");
+
+    static final List<Expression<?>> SOURCES = ImmutableList.<Expression<?>>of(GROUP);
+
+    private static final Set<Operator> AGGREGATE_OPS = ImmutableSet.<Operator>builder()
+            .addAll(Ops.aggOps)
+            .add(Ops.AggOps.COUNT_ALL_AGG)
+            .build();
+
+    /**
+     * Get whether the given query needs to be evaluated with grouping
+     *
+     * @param metadata query metadata
+     * @return true, if grouping is needed
+     */
+    static boolean isRequired(QueryMetadata metadata) {
+        if (!metadata.getGroupBy().isEmpty() || metadata.getHaving() != null) {
+            return true;
+        }
+        Expression<?> projection = metadata.getProjection();
+        // a single aggregate projection is handled by the query engine
+        if (projection instanceof Operation
+                && AGGREGATE_OPS.contains(((Operation<?>) projection).getOperator())) {
+            return false;
+        }
+        return projection != null && containsAggregate(projection);
+    }
+
+    private static boolean containsAggregate(Expression<?> expr) {
+        if (expr instanceof Operation) {
+            Operation<?> operation = (Operation<?>) expr;
+            if (AGGREGATE_OPS.contains(operation.getOperator())) {
+                return true;
+            }
+            for (Expression<?> arg : operation.getArgs()) {
+                if (containsAggregate(arg)) {
+                    return true;
+                }
+            }
+        } else if (expr instanceof FactoryExpression) {
+            for (Expression<?> arg : ((FactoryExpression<?>) expr).getArgs()) {
+                if (containsAggregate(arg)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static <T> Expression<T> element(Class<T> type, int index) {
+        Path<Object> element = ExpressionUtils.path(Object.class,
+                PathMetadataFactory.forArrayAccess(GROUP, index));
+        return ExpressionUtils.path(type, PathMetadataFactory.forDelegate(element));
+    }
+
+    private final List<Expression<?>> groupBy;
+
+    private final List<Operation<?>> aggregates = new ArrayList<Operation<?>>();
+
+    private final Map<Expression<?>, Expression<?>> replacements = new HashMap<Expression<?>, Expression<?>>();
+
+    private final QueryMetadata groupMetadata;
+
+    @Nullable
+    private final Predicate having;
+
+    private final ReplaceVisitor<Void> replaceVisitor = new ReplaceVisitor<Void>() {
+        @Override
+        public Expression<?> visit(Operation<?> expr, Void context) {
+            Expression<?> replacement = replacements.get(expr);
+            if (replacement != null) {
+                return replacement;
+            } else if (AGGREGATE_OPS.contains(expr.getOperator())) {
+                replacement = element(expr.getType(), groupBy.size() + aggregates.size());
+                aggregates.add(expr);
+                replacements.put(expr, replacement);
+                return replacement;
+            } else {
+                return super.visit(expr, context);
+            }
+        }
+
+        @Override
+        public Expression<?> visit(Path<?> expr, Void context) {
+            Expression<?> replacement = replacements.get(expr);
+            if (replacement != null) {
+                return replacement;
+            } else if (expr.getMetadata().isRoot()) {
+                throw new IllegalArgumentException(expr + " is not used in group by or an aggregate");
+            } else {
+                return super.visit(expr, context);
+            }
+        }
+
+        @Override
+        public Expression<?> visit(TemplateExpression<?> expr, Void context) {
+            Expression<?> replacement = replacements.get(expr);
+            return replacement != null ? replacement : super.visit(expr, context);
+        }
+    };
+
+    /**
+     * Create a new HashAggregation instance
+     *
+     * @param metadata query metadata
+     * @param project whether the projection and order are rewritten, which is only needed
+     *                if the results are fetched
+     */
+    @SuppressWarnings("unchecked")
+    HashAggregation(QueryMetadata metadata, boolean project) {
+        groupBy = metadata.getGroupBy();
+        for (int i = 0; i < groupBy.size(); i++) {
+            replacements.put(groupBy.get(i), element(groupBy.get(i).getType(), i));
+        }
+        groupMetadata = metadata.clone();
+        groupMetadata.setValidate(false);
+        having = metadata.getHaving() != null ? (Predicate) rewrite(metadata.getHaving()) : null;
+        if (project) {
+            if (metadata.getProjection() != null) {
+                groupMetadata.setProjection(rewrite(metadata.getProjection()));
+            }
+            groupMetadata.clearOrderBy();
+            for (OrderSpecifier<?> order : metadata.getOrderBy()) {
+                groupMetadata.addOrderBy(new OrderSpecifier(order.getOrder(),
+                        rewrite(order.getTarget()), order.getNullHandling()));
+            }
+        }
+    }
+
+    private Expression<?> rewrite(Expression<?> expr) {
+        return expr.accept(replaceVisitor, null);
+    }
+
+    /**
+     * Get the query metadata with the projection and order rewritten for the group rows
+     *
+     * @return metadata
+     */
+    QueryMetadata getMetadata() {
+        return groupMetadata;
+    }
+
+    /**
+     * Get the having condition rewritten for the group rows
+     *
+     * @return having condition or null
+     */
+    @Nullable
+    Predicate getHaving() {
+        return having;
+    }
+
+    /**
+     * Group the given rows
+     *
+     * <p>Each group row is wrapped into an array of length one, since the rewritten expressions
+     * have {@link #GROUP} as their only source.</p>
+     *
+     * @param factory evaluator factory
+     * @param metadata query metadata
+     * @param sources query sources
+     * @param rows rows to group
+     * @return group rows
+     */
+    List<Object[]> evaluate(DefaultEvaluatorFactory factory, QueryMetadata metadata,
+            List<Expression<?>> sources, List<?> rows) {
+        int keySize = groupBy.size();
+        int[] argIndex = new int[aggregates.size()];
+        for (int i = 0, j = keySize; i < aggregates.size(); i++) {
+            argIndex[i] = aggregates.get(i).getArgs().isEmpty() ? -1 : j++;
+        }
+        EvaluatorFunction<Object, Object[]> function = new EvaluatorFunction<Object, Object[]>(
+                createEvaluator(factory, metadata, sources));
+
+        Map<List<Object>, Accumulator[]> groups = new LinkedHashMap<List<Object>, Accumulator[]>();
+        if (keySize == 0) {
+            // aggregates without group by return a single row, also for empty input
+            groups.put(Collections.<Object>emptyList(), createAccumulators());
+        }
+        for (Object row : rows) {
+            Object[] rowValues = function.apply(row);
+            List<Object> key = keySize == 0 ? Collections.<Object>emptyList()
+                    : Arrays.asList(Arrays.copyOf(rowValues, keySize));
+            Accumulator[] accumulators = groups.get(key);
+            if (accumulators == null) {
+                accumulators = createAccumulators();
+                groups.put(key, accumulators);
+            }
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i].add(argIndex[i] > -1 ? rowValues[argIndex[i]] : Boolean.TRUE);
+            }
+        }
+
+        List<Object[]> rv = new ArrayList<Object[]>(groups.size());
+        for (Map.Entry<List<Object>, Accumulator[]> entry : groups.entrySet()) {
+            Object[] group = new Object[keySize + aggregates.size()];
+            for (int i = 0; i < keySize; i++) {
+                group[i] = entry.getKey().get(i);
+            }
+            for (int i = 0; i < aggregates.size(); i++) {
+                group[keySize + i] = entry.getValue()[i].get();
+            }
+            rv.add(new Object[]{group});
+        }
+        return rv;
+    }
+
+    /**
+     * Create the evaluator for the group by values and the aggregate arguments of a row
+     *
+     * @param factory evaluator factory
+     * @param metadata query metadata
+     * @param sources query sources
+     * @return evaluator
+     */
+    Evaluator<Object[]> createEvaluator(DefaultEvaluatorFactory factory, QueryMetadata metadata,
+            List<Expression<?>> sources) {
+        List<Expression<?>> values = new ArrayList<Expression<?>>(groupBy);
+        for (Operation<?> aggregate : aggregates) {
+            if (!aggregate.getArgs().isEmpty()) {
+                values.add(aggregate.getArg(0));
+            }
+        }
+        return factory.create(metadata, sources, new ArrayConstructorExpression<Object>(
+                values.toArray(new Expression<?>[values.size()])));
+    }
+
+    private Accumulator[] createAccumulators() {
+        Accumulator[] accumulators = new Accumulator[aggregates.size()];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = createAccumulator(aggregates.get(i));
+        }
+        return accumulators;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Accumulator createAccumulator(Operation<?> aggregate) {
+        Operator operator = aggregate.getOperator();
+        Class<?> type = aggregate.getType();
+        if (operator == Ops.AggOps.COUNT_AGG || operator == Ops.AggOps.COUNT_ALL_AGG) {
+            return new CountAccumulator();
+        } else if (operator == Ops.AggOps.COUNT_DISTINCT_AGG) {
+            return new CountDistinctAccumulator();
+        } else if (operator == Ops.AggOps.AVG_AGG) {
+            return new AvgAccumulator();
+        } else if (operator == Ops.AggOps.MIN_AGG) {
+            return new MinMaxAccumulator(true);
+        } else if (operator == Ops.AggOps.MAX_AGG) {
+            return new MinMaxAccumulator(false);
+        } else if (operator == Ops.AggOps.SUM_AGG) {
+            Class<?> argType = aggregate.getArg(0).getType();
+            if (argType.equals(Integer.class) || argType.equals(Long.class)
+                    || argType.equals(Short.class) || argType.equals(Byte.class)) {
+                return new LongSumAccumulator((Class<Number>) type);
+            } else if (argType.equals(Double.class) || argType.equals(Float.class)) {
+                return new DoubleSumAccumulator((Class<Number>) type);
+            } else {
+                return new SumAccumulator((Class<Number>) type);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown operator " + operator);
+        }
+    }
+
+    /**
+     * Accumulator of the values of an aggregate expression for one group
+     */
+    private abstract static class Accumulator {
+
+        abstract void add(@Nullable Object value);
+
+        @Nullable
+        abstract Object get();
+
+    }
+
+    private static final class CountAccumulator extends Accumulator {
+
+        private long count;
+
+        @Override
+        void add(Object value) {
+            if (value != null) {
+                count++;
+            }
+        }
+
+        @Override
+        Object get() {
+            return count;
+        }
+
+    }
+
+    private static final class CountDistinctAccumulator extends Accumulator {
+
+        private final Set<Object> values = new HashSet<Object>();
+
+        @Override
+        void add(Object value) {
+            if (value != null) {
+                values.add(value);
+            }
+        }
+
+        @Override
+        Object get() {
+            return (long) values.size();
+        }
+
+    }
+
+    private static final class AvgAccumulator extends Accumulator {
+
+        private double sum;
+
+        private long count;
+
+        @Override
+        void add(Object value) {
+            if (value != null) {
+                sum += ((Number) value).doubleValue();
+                count++;
+            }
+        }
+
+        @Override
+        Object get() {
+            return count > 0 ? sum / count : null;
+        }
+
+    }
+
+    private static final class LongSumAccumulator extends Accumulator {
+
+        private final Class<Number> type;
+
+        private long sum;
+
+        private boolean empty = true;
+
+        LongSumAccumulator(Class<Number> type) {
+            this.type = type;
+        }
+
+        @Override
+        void add(Object value) {
+            if (value != null) {
+                sum += ((Number) value).longValue();
+                empty = false;
+            }
+        }
+
+        @Override
+        Object get() {
+            return empty ? null : MathUtils.cast(sum, type);
+        }
+
+    }
+
+    private static final class DoubleSumAccumulator extends Accumulator {
+
+        private final Class<Number> type;
+
+        private double sum;
+
+        private boolean empty = true;
+
+        DoubleSumAccumulator(Class<Number> type) {
+            this.type = type;
+        }
+
+        @Override
+        void add(Object value) {
+            if (value != null) {
+                sum += ((Number) value).doubleValue();
+                empty = false;
+            }
+        }
+
+        @Override
+        Object get() {
+            return empty ? null : MathUtils.cast(sum, type);
+        }
+
+    }
+
+    private static final class SumAccumulator extends Accumulator {
+
+        private final Class<Number> type;
+
+        @Nullable
+        private Number sum;
+
+        SumAccumulator(Class<Number> type) {
+            this.type = type;
+        }
+
+        @Override
+        void add(Object value) {
+            if (value != null) {
+                sum = sum == null ? (Number) value : MathUtils.sum(sum, (Number) value);
+            }
+        }
+
+        @Override
+        Object get() {
+            return sum != null ? MathUtils.cast(sum, type) : null;
+        }
+
+    }
+
+    private static final class MinMaxAccumulator extends Accumulator {
+
+        private final boolean min;
+
+        @Nullable
+        private Comparable<Object> value;
+
+        MinMaxAccumulator(boolean min) {
+            this.min = min;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        void add(Object value) {
+            if (value != null) {
+                Comparable<Object> comparable = (Comparable<Object>) value;
+                if (this.value == null) {
+                    this.value = comparable;
+                } else {
+                    int result = comparable.compareTo(this.value);
+                    if (min ? result < 0 : result > 0) {
+                        this.value = comparable;
+                    }
+                }
+            }
+        }
+
+        @Override
+        Object get() {
+            return value;
+        }
+
+    }
+
+}
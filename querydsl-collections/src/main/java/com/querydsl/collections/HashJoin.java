@@ -0,0 +1,404 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.Lists;
+import com.mysema.codegen.Evaluator;
+import com.mysema.commons.lang.IteratorAdapter;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.*;
+
+/**
+ * {@code HashJoin} evaluates the sources and the filter of a multi-source query with hash joins
+ *
+ * <p>The filter is split into its conjuncts. Conjuncts which refer to a single source are applied
+ * to that source before joining, equality conjuncts between the expressions of two different
+ * sources are used as join keys and all other conjuncts are applied as a residual filter to the
+ * joined rows. The hash table is built on the smaller side of each join. The order of the
+ * resulting rows is the same as with nested loop evaluation.</p>
+ */
+final class HashJoin {
+
+    /**
+     * Equality conjunct between two sources
+     */
+    private static final class Key {
+
+        private final Expression<?> left, right;
+
+        private final int leftSource, rightSource;
+
+        Key(Expression<?> left, int leftSource, Expression<?> right, int rightSource) {
+            this.left = left;
+            this.leftSource = leftSource;
+            this.right = right;
+            this.rightSource = rightSource;
+        }
+
+    }
+
+    /**
+     * Create a hash join for the given query or return null if the query has no equi join
+     * conditions
+     *
+     * @param metadata query metadata
+     * @return hash join or null
+     */
+    @Nullable
+    static HashJoin create(QueryMetadata metadata) {
+        if (metadata.getWhere() == null || metadata.getJoins().size() < 2) {
+            return null;
+        }
+        List<Expression<?>> sources = new ArrayList<Expression<?>>(metadata.getJoins().size());
+        for (JoinExpression join : metadata.getJoins()) {
+            if (join.getType() != JoinType.DEFAULT) {
+                return null;
+            }
+            sources.add(join.getTarget());
+        }
+        List<List<Predicate>> filters = new ArrayList<List<Predicate>>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            filters.add(new ArrayList<Predicate>());
+        }
+        List<Key> keys = new ArrayList<Key>();
+        List<Predicate> residual = new ArrayList<Predicate>();
+        for (Predicate conjunct : getConjuncts(metadata.getWhere(), new ArrayList<Predicate>())) {
+            Set<Integer> refs = getSources(conjunct, sources);
+            if (refs == null) {
+                residual.add(conjunct);
+            } else if (refs.size() == 1) {
+                filters.get(refs.iterator().next()).add(conjunct);
+            } else if (!addKey(conjunct, sources, keys)) {
+                residual.add(conjunct);
+            }
+        }
+        if (keys.isEmpty()) {
+            return null;
+        }
+        return new HashJoin(sources, filters, keys, residual);
+    }
+
+    static List<Predicate> getConjuncts(Predicate predicate, List<Predicate> conjuncts) {
+        if (predicate instanceof Operation && ((Operation<?>) predicate).getOperator() == Ops.AND) {
+            for (Expression<?> arg : ((Operation<?>) predicate).getArgs()) {
+                getConjuncts((Predicate) arg, conjuncts);
+            }
+        } else {
+            conjuncts.add(predicate);
+        }
+        return conjuncts;
+    }
+
+    private static boolean addKey(Predicate conjunct, List<Expression<?>> sources, List<Key> keys) {
+        if (conjunct instanceof Operation && ((Operation<?>) conjunct).getOperator() == Ops.EQ) {
+            Operation<?> operation = (Operation<?>) conjunct;
+            Set<Integer> left = getSources(operation.getArg(0), sources);
+            Set<Integer> right = getSources(operation.getArg(1), sources);
+            if (left != null && right != null
+                    && left.size() == 1 && right.size() == 1 && !left.equals(right)) {
+                keys.add(new Key(operation.getArg(0), left.iterator().next(),
+                                 operation.getArg(1), right.iterator().next()));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static Set<Integer> getSources(Expression<?> expr, final List<Expression<?>> sources) {
+        final Set<Integer> refs = new HashSet<Integer>();
+        expr.accept(new Visitor<Void, Void>() {
+            @Override
+            public Void visit(Constant<?> expr, Void context) {
+                return null;
+            }
+
+            @Override
+            public Void visit(FactoryExpression<?> expr, Void context) {
+                for (Expression<?> arg : expr.getArgs()) {
+                    arg.accept(this, context);
+                }
+                return null;
+            }
+
+            @Override
+            public Void visit(Operation<?> expr, Void context) {
+                for (Expression<?> arg : expr.getArgs()) {
+                    arg.accept(this, context);
+                }
+                return null;
+            }
+
+            @Override
+            public Void visit(ParamExpression<?> expr, Void context) {
+                return null;
+            }
+
+            @Override
+            public Void visit(Path<?> expr, Void context) {
+                refs.add(sources.indexOf(expr.getRoot()));
+                return null;
+            }
+
+            @Override
+            public Void visit(SubQueryExpression<?> expr, Void context) {
+                refs.add(-1);
+                return null;
+            }
+
+            @Override
+            public Void visit(TemplateExpression<?> expr, Void context) {
+                for (Object arg : expr.getArgs()) {
+                    if (arg instanceof Expression) {
+                        ((Expression<?>) arg).accept(this, context);
+                    }
+                }
+                return null;
+            }
+        }, null);
+        // subqueries and paths of unknown roots are left to the residual filter
+        return refs.contains(-1) ? null : refs;
+    }
+
+    private final List<Expression<?>> sources;
+
+    private final List<List<Predicate>> filters;
+
+    private final List<List<Expression<?>>> leftKeys, rightKeys;
+
+    @Nullable
+    private final Predicate residual;
+
+    private HashJoin(List<Expression<?>> sources, List<List<Predicate>> filters, List<Key> keys,
+            List<Predicate> residual) {
+        this.sources = sources;
+        this.filters = filters;
+        this.leftKeys = new ArrayList<List<Expression<?>>>(sources.size());
+        this.rightKeys = new ArrayList<List<Expression<?>>>(sources.size());
+        // each key is used for the first join which has both of its sources available
+        boolean[] used = new boolean[keys.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            List<Expression<?>> left = new ArrayList<Expression<?>>();
+            List<Expression<?>> right = new ArrayList<Expression<?>>();
+            for (int j = 0; j < keys.size(); j++) {
+                Key key = keys.get(j);
+                if (used[j]) {
+                    continue;
+                } else if (key.rightSource == i && key.leftSource < i) {
+                    left.add(key.left);
+                    right.add(key.right);
+                    used[j] = true;
+                } else if (key.leftSource == i && key.rightSource < i) {
+                    left.add(key.right);
+                    right.add(key.left);
+                    used[j] = true;
+                }
+            }
+            leftKeys.add(left);
+            rightKeys.add(right);
+        }
+        List<Predicate> remaining = new ArrayList<Predicate>(residual);
+        for (int j = 0; j < keys.size(); j++) {
+            if (!used[j]) {
+                remaining.add(ExpressionUtils.predicate(Ops.EQ, keys.get(j).left, keys.get(j).right));
+            }
+        }
+        this.residual = ExpressionUtils.allOf(remaining);
+    }
+
+    /**
+     * Compile the evaluators used by {@link #evaluate(DefaultEvaluatorFactory, QueryMetadata, Map)}
+     *
+     * @param factory evaluator factory
+     * @param metadata query metadata
+     */
+    void prewarm(DefaultEvaluatorFactory factory, QueryMetadata metadata) {
+        for (int i = 0; i < sources.size(); i++) {
+            if (!filters.get(i).isEmpty()) {
+                createFilter(factory, metadata, i);
+            }
+            if (!leftKeys.get(i).isEmpty()) {
+                createLeftKey(factory, metadata, i);
+                createRightKey(factory, metadata, i);
+            }
+        }
+        if (residual != null) {
+            createResidual(factory, metadata);
+        }
+    }
+
+    /**
+     * Evaluate the joined rows
+     *
+     * @param factory evaluator factory
+     * @param metadata query metadata
+     * @param iterables query sources
+     * @return rows
+     */
+    List<Object[]> evaluate(DefaultEvaluatorFactory factory, QueryMetadata metadata,
+            Map<Expression<?>, Iterable<?>> iterables) {
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (Object o : getSource(factory, metadata, iterables, 0)) {
+            Object[] row = new Object[sources.size()];
+            row[0] = o;
+            rows.add(row);
+        }
+        for (int i = 1; i < sources.size() && !rows.isEmpty(); i++) {
+            List<?> source = getSource(factory, metadata, iterables, i);
+            if (leftKeys.get(i).isEmpty()) {
+                rows = crossJoin(rows, source, i);
+            } else {
+                rows = hashJoin(rows, createLeftKey(factory, metadata, i),
+                        source, createRightKey(factory, metadata, i), i);
+            }
+        }
+
+        if (residual != null && !rows.isEmpty()) {
+            Evaluator<Boolean> filter = createResidual(factory, metadata);
+            List<Object[]> filtered = new ArrayList<Object[]>(rows.size());
+            for (Object[] row : rows) {
+                if (Boolean.TRUE.equals(filter.evaluate(row))) {
+                    filtered.add(row);
+                }
+            }
+            rows = filtered;
+        }
+        return rows;
+    }
+
+    private List<?> getSource(DefaultEvaluatorFactory factory, QueryMetadata metadata,
+            Map<Expression<?>, Iterable<?>> iterables, int index) {
+        Iterable<?> iterable = iterables.get(sources.get(index));
+        if (!filters.get(index).isEmpty()) {
+            return createFilter(factory, metadata, index).evaluate(iterable);
+        } else if (iterable instanceof List) {
+            return (List<?>) iterable;
+        } else {
+            return IteratorAdapter.asList(iterable.iterator());
+        }
+    }
+
+    private Evaluator<? extends List<?>> createFilter(DefaultEvaluatorFactory factory,
+            QueryMetadata metadata, int index) {
+        return factory.createEvaluator(metadata, sources.get(index),
+                ExpressionUtils.allOf(filters.get(index)));
+    }
+
+    private Evaluator<Object[]> createLeftKey(DefaultEvaluatorFactory factory,
+            QueryMetadata metadata, int index) {
+        return factory.createNullSafe(metadata, sources, toArray(leftKeys.get(index)));
+    }
+
+    private Evaluator<Object[]> createRightKey(DefaultEvaluatorFactory factory,
+            QueryMetadata metadata, int index) {
+        return factory.createNullSafe(metadata, Collections.singletonList(sources.get(index)),
+                toArray(rightKeys.get(index)));
+    }
+
+    private Evaluator<Boolean> createResidual(DefaultEvaluatorFactory factory, QueryMetadata metadata) {
+        return factory.createNullSafe(metadata, sources, residual);
+    }
+
+    private static Expression<Object[]> toArray(List<Expression<?>> exprs) {
+        return new ArrayConstructorExpression<Object>(exprs.toArray(new Expression<?>[exprs.size()]));
+    }
+
+    private static List<Object[]> crossJoin(List<Object[]> rows, List<?> source, int index) {
+        List<Object[]> rv = new ArrayList<Object[]>(rows.size() * source.size());
+        for (Object[] row : rows) {
+            for (Object o : source) {
+                Object[] joined = row.clone();
+                joined[index] = o;
+                rv.add(joined);
+            }
+        }
+        return rv;
+    }
+
+    private static List<Object[]> hashJoin(List<Object[]> rows, Evaluator<Object[]> leftKey,
+            List<?> source, Evaluator<Object[]> rightKey, int index) {
+        List<Object[]> rv = new ArrayList<Object[]>();
+        if (source.size() <= rows.size()) {
+            // build on the source, probe with the rows
+            Map<List<Object>, List<Object>> table = new HashMap<List<Object>, List<Object>>();
+            for (Object o : source) {
+                Object[] key = rightKey.evaluate(o);
+                if (key != null) {
+                    List<Object> bucket = table.get(Arrays.asList(key));
+                    if (bucket == null) {
+                        bucket = new ArrayList<Object>(1);
+                        table.put(Arrays.asList(key), bucket);
+                    }
+                    bucket.add(o);
+                }
+            }
+            for (Object[] row : rows) {
+                Object[] key = leftKey.evaluate(row);
+                List<Object> bucket = key != null ? table.get(Arrays.asList(key)) : null;
+                if (bucket != null) {
+                    for (Object o : bucket) {
+                        Object[] joined = row.clone();
+                        joined[index] = o;
+                        rv.add(joined);
+                    }
+                }
+            }
+        } else {
+            // build on the rows, probe with the source and restore the row order
+            Map<List<Object>, List<Integer>> table = new HashMap<List<Object>, List<Integer>>();
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] key = leftKey.evaluate(rows.get(i));
+                if (key != null) {
+                    List<Integer> bucket = table.get(Arrays.asList(key));
+                    if (bucket == null) {
+                        bucket = new ArrayList<Integer>(1);
+                        table.put(Arrays.asList(key), bucket);
+                    }
+                    bucket.add(i);
+                }
+            }
+            List<List<Object>> matches = new ArrayList<List<Object>>(
+                    Collections.<List<Object>>nCopies(rows.size(), null));
+            for (Object o : source) {
+                Object[] key = rightKey.evaluate(o);
+                List<Integer> bucket = key != null ? table.get(Arrays.asList(key)) : null;
+                if (bucket != null) {
+                    for (Integer i : bucket) {
+                        if (matches.get(i) == null) {
+                            matches.set(i, Lists.<Object>newArrayList());
+                        }
+                        matches.get(i).add(o);
+                    }
+                }
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                if (matches.get(i) != null) {
+                    for (Object o : matches.get(i)) {
+                        Object[] joined = rows.get(i).clone();
+                        joined[index] = o;
+                        rv.add(joined);
+                    }
+                }
+            }
+        }
+        return rv;
+    }
+
+}
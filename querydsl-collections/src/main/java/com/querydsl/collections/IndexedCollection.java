@@ -0,0 +1,363 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Function;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.*;
+
+/**
+ * {@code IndexedCollection} is a collection with hash and sorted indexes on paths of its
+ * elements
+ *
+ * <p>When an {@code IndexedCollection} is used as the only source of a query, {@link DefaultQueryEngine}
+ * uses the indexes for the conjuncts of the filter which compare an indexed path to a constant or
+ * parameter. Hash indexes support {@code eq} and {@code in}, sorted indexes support {@code lt},
+ * {@code loe}, {@code gt}, {@code goe}, {@code between} and {@code startsWith}. The whole filter is
+ * then evaluated for the elements found via the most selective index.</p>
+ *
+ * <pre>
+ * IndexedCollection&lt;Cat&gt; cats = new IndexedCollection&lt;Cat&gt;(source)
+ *     .addHashIndex(QCat.cat.name)
+ *     .addSortedIndex(QCat.cat.weight);
+ * List&lt;Cat&gt; result = CollQueryFactory.from(cat, cats)
+ *     .where(cat.name.eq("Bob"), cat.weight.gt(4)).fetch();
+ * </pre>
+ *
+ * <p>The iteration order is the insertion order, also for query results. The indexed values of an
+ * element must not change while it is contained in the collection. This implementation is not
+ * synchronized.</p>
+ *
+ * @param <T> element type
+ */
+public class IndexedCollection<T> extends AbstractCollection<T> {
+
+    private static final Comparator<Entry<?>> SEQUENCE = new Comparator<Entry<?>>() {
+        @Override
+        public int compare(Entry<?> o1, Entry<?> o2) {
+            return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+        }
+    };
+
+    private static final class Entry<T> {
+
+        private final T element;
+
+        private final long sequence;
+
+        Entry(T element, long sequence) {
+            this.element = element;
+            this.sequence = sequence;
+        }
+
+    }
+
+    private static final class Index<T> {
+
+        private final Function<T, Object> accessor;
+
+        private final Map<Object, List<Entry<T>>> entries;
+
+        private final boolean sorted;
+
+        Index(Function<T, Object> accessor, boolean sorted) {
+            this.accessor = accessor;
+            this.entries = sorted ? new TreeMap<Object, List<Entry<T>>>() : new HashMap<Object, List<Entry<T>>>();
+            this.sorted = sorted;
+        }
+
+        @Nullable
+        Object getValue(Entry<T> entry) {
+            try {
+                return accessor.apply(entry.element);
+            } catch (NullPointerException e) {
+                return null;
+            }
+        }
+
+        void add(Entry<T> entry) {
+            Object value = getValue(entry);
+            // null values are not matched by any of the supported operations
+            if (value != null) {
+                List<Entry<T>> bucket = entries.get(value);
+                if (bucket == null) {
+                    bucket = new ArrayList<Entry<T>>(1);
+                    entries.put(value, bucket);
+                }
+                bucket.add(entry);
+            }
+        }
+
+        void remove(Entry<T> entry) {
+            Object value = getValue(entry);
+            if (value != null) {
+                List<Entry<T>> bucket = entries.get(value);
+                if (bucket != null) {
+                    bucket.remove(entry);
+                    if (bucket.isEmpty()) {
+                        entries.remove(value);
+                    }
+                }
+            }
+        }
+
+    }
+
+    private final List<Entry<T>> entries = new ArrayList<Entry<T>>();
+
+    private final Map<List<Object>, Index<T>> hashIndexes = new HashMap<List<Object>, Index<T>>();
+
+    private final Map<List<Object>, Index<T>> sortedIndexes = new HashMap<List<Object>, Index<T>>();
+
+    private long sequence;
+
+    public IndexedCollection() { }
+
+    public IndexedCollection(Collection<? extends T> elements) {
+        addAll(elements);
+    }
+
+    /**
+     * Add a hash index for the given path
+     *
+     * @param path path relative to the element
+     * @return the current object
+     */
+    public IndexedCollection<T> addHashIndex(Path<?> path) {
+        return addIndex(path, hashIndexes, false);
+    }
+
+    /**
+     * Add a sorted index for the given path
+     *
+     * @param path path relative to the element
+     * @return the current object
+     */
+    public IndexedCollection<T> addSortedIndex(Path<? extends Comparable<?>> path) {
+        return addIndex(path, sortedIndexes, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private IndexedCollection<T> addIndex(Path<?> path, Map<List<Object>, Index<T>> indexes, boolean sorted) {
+        List<Object> key = getKey(path);
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Only property paths can be indexed, got " + path);
+        }
+        Index<T> index = new Index<T>(GuavaHelpers.<T, Object>wrap((Path<Object>) path), sorted);
+        for (Entry<T> entry : entries) {
+            index.add(entry);
+        }
+        indexes.put(key, index);
+        return this;
+    }
+
+    /**
+     * Get the property names of the given path from its root
+     */
+    @Nullable
+    private static List<Object> getKey(Path<?> path) {
+        LinkedList<Object> key = new LinkedList<Object>();
+        while (!path.getMetadata().isRoot()) {
+            if (path.getMetadata().getPathType() != PathType.PROPERTY) {
+                return null;
+            }
+            key.addFirst(path.getMetadata().getElement());
+            path = path.getMetadata().getParent();
+        }
+        return key;
+    }
+
+    @Override
+    public boolean add(T element) {
+        Entry<T> entry = new Entry<T>(element, sequence++);
+        entries.add(entry);
+        for (Index<T> index : hashIndexes.values()) {
+            index.add(entry);
+        }
+        for (Index<T> index : sortedIndexes.values()) {
+            index.add(entry);
+        }
+        return true;
+    }
+
+    private void removeFromIndexes(Entry<T> entry) {
+        for (Index<T> index : hashIndexes.values()) {
+            index.remove(entry);
+        }
+        for (Index<T> index : sortedIndexes.values()) {
+            index.remove(entry);
+        }
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+        for (Index<T> index : hashIndexes.values()) {
+            index.entries.clear();
+        }
+        for (Index<T> index : sortedIndexes.values()) {
+            index.entries.clear();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<Entry<T>> iterator = entries.iterator();
+        return new Iterator<T>() {
+            private Entry<T> current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                current = iterator.next();
+                return current.element;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                removeFromIndexes(current);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the candidate elements for the filter of the given query
+     *
+     * @param source query source bound to this collection
+     * @param metadata query metadata
+     * @return candidates in iteration order
+     */
+    List<T> lookup(Expression<?> source, QueryMetadata metadata) {
+        List<Entry<T>> candidates = null;
+        if (metadata.getWhere() != null) {
+            for (Predicate conjunct : HashJoin.getConjuncts(metadata.getWhere(), new ArrayList<Predicate>())) {
+                List<Entry<T>> matches = lookup(source, conjunct, metadata.getParams());
+                if (matches != null && (candidates == null || matches.size() < candidates.size())) {
+                    candidates = matches;
+                }
+            }
+        }
+        if (candidates == null) {
+            return new ArrayList<T>(this);
+        }
+        Collections.sort(candidates, SEQUENCE);
+        List<T> rv = new ArrayList<T>(candidates.size());
+        for (Entry<T> entry : candidates) {
+            rv.add(entry.element);
+        }
+        return rv;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private List<Entry<T>> lookup(Expression<?> source, Predicate conjunct,
+            Map<ParamExpression<?>, Object> params) {
+        if (!(conjunct instanceof Operation)) {
+            return null;
+        }
+        Operation<?> operation = (Operation<?>) conjunct;
+        if (!(operation.getArg(0) instanceof Path)
+                || !((Path<?>) operation.getArg(0)).getRoot().equals(source)) {
+            return null;
+        }
+        List<Object> key = getKey((Path<?>) operation.getArg(0));
+        Object[] values = new Object[operation.getArgs().size() - 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getValue(operation.getArg(i + 1), params);
+            if (values[i] == null) {
+                return null;
+            }
+        }
+        Operator operator = operation.getOperator();
+        Index<T> hashIndex = hashIndexes.get(key);
+        Index<T> sortedIndex = sortedIndexes.get(key);
+        if (hashIndex != null && operator == Ops.EQ) {
+            return copy(hashIndex.entries.get(values[0]));
+        } else if (hashIndex != null && operator == Ops.IN && values[0] instanceof Collection) {
+            List<Entry<T>> rv = new ArrayList<Entry<T>>();
+            for (Object value : new HashSet<Object>((Collection<?>) values[0])) {
+                List<Entry<T>> bucket = hashIndex.entries.get(value);
+                if (bucket != null) {
+                    rv.addAll(bucket);
+                }
+            }
+            return rv;
+        } else if (sortedIndex != null) {
+            NavigableMap<Object, List<Entry<T>>> entries = (NavigableMap) sortedIndex.entries;
+            if (operator == Ops.LT) {
+                return flatten(entries.headMap(values[0], false));
+            } else if (operator == Ops.LOE) {
+                return flatten(entries.headMap(values[0], true));
+            } else if (operator == Ops.GT) {
+                return flatten(entries.tailMap(values[0], false));
+            } else if (operator == Ops.GOE) {
+                return flatten(entries.tailMap(values[0], true));
+            } else if (operator == Ops.BETWEEN) {
+                if (((Comparable) values[0]).compareTo(values[1]) > 0) {
+                    return new ArrayList<Entry<T>>();
+                }
+                return flatten(entries.subMap(values[0], true, values[1], true));
+            } else if (operator == Ops.STARTS_WITH && values[0] instanceof String) {
+                List<Entry<T>> rv = new ArrayList<Entry<T>>();
+                String prefix = (String) values[0];
+                for (Map.Entry<Object, List<Entry<T>>> entry : entries.tailMap(prefix, true).entrySet()) {
+                    if (!entry.getKey().toString().startsWith(prefix)) {
+                        break;
+                    }
+                    rv.addAll(entry.getValue());
+                }
+                return rv;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Object getValue(Expression<?> expr, Map<ParamExpression<?>, Object> params) {
+        if (expr instanceof Constant) {
+            return ((Constant<?>) expr).getConstant();
+        } else if (expr instanceof ParamExpression) {
+            return params.get(expr);
+        } else {
+            return null;
+        }
+    }
+
+    private static <T> List<Entry<T>> copy(@Nullable List<Entry<T>> entries) {
+        return entries != null ? new ArrayList<Entry<T>>(entries) : new ArrayList<Entry<T>>();
+    }
+
+    private static <T> List<Entry<T>> flatten(Map<Object, List<Entry<T>>> entries) {
+        List<Entry<T>> rv = new ArrayList<Entry<T>>();
+        for (List<Entry<T>> bucket : entries.values()) {
+            rv.addAll(bucket);
+        }
+        return rv;
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * {@code LikeMatcher} is a precompiled matcher for SQL like patterns
+ *
+ * <p>Patterns without wildcards and patterns with a single {@code %} at the start and/or end are
+ * matched with {@code equals}, {@code startsWith}, {@code endsWith} and {@code contains}, all
+ * other patterns with a regular expression which is compiled once.</p>
+ *
+ * <p>{@link CollQuerySerializer} creates instances for like operations with constant patterns,
+ * so that the pattern is not parsed again for each element.</p>
+ */
+public final class LikeMatcher {
+
+    private static final int EQUALS = 0, STARTS_WITH = 1, ENDS_WITH = 2, CONTAINS = 3, REGEX = 4;
+
+    // wildcard tokens, compared by identity
+    private static final String ANY = new String("%"), ONE = new String("_");
+
+    /**
+     * Create a matcher for the given like pattern
+     *
+     * @param like like pattern
+     * @param escape escape character or null
+     * @param ignoreCase true, for case insensitive matching
+     * @return matcher
+     */
+    public static LikeMatcher create(String like, @Nullable Character escape, boolean ignoreCase) {
+        // split into literals and wildcards, consecutive % are collapsed
+        List<String> tokens = new ArrayList<String>();
+        StringBuilder literal = new StringBuilder(like.length());
+        for (int i = 0; i < like.length(); i++) {
+            char ch = like.charAt(i);
+            if (escape != null && ch == escape.charValue() && i + 1 < like.length()) {
+                literal.append(like.charAt(++i));
+            } else if (ch == '%' || ch == '_') {
+                if (literal.length() > 0) {
+                    tokens.add(literal.toString());
+                    literal.setLength(0);
+                }
+                if (ch == '_' || tokens.isEmpty() || tokens.get(tokens.size() - 1) != ANY) {
+                    tokens.add(ch == '%' ? ANY : ONE);
+                }
+            } else {
+                literal.append(ch);
+            }
+        }
+        if (literal.length() > 0) {
+            tokens.add(literal.toString());
+        }
+
+        // optional %, at most one literal, optional %
+        int from = 0, to = tokens.size();
+        boolean leading = from < to && tokens.get(from) == ANY;
+        if (leading) {
+            from++;
+        }
+        boolean trailing = from < to && tokens.get(to - 1) == ANY;
+        if (trailing) {
+            to--;
+        }
+        if (to - from == 0) {
+            return new LikeMatcher(leading ? STARTS_WITH : EQUALS, "", null, ignoreCase);
+        } else if (to - from == 1 && tokens.get(from) != ONE && (!ignoreCase || !leading || !trailing)) {
+            int mode = leading ? (trailing ? CONTAINS : ENDS_WITH) : (trailing ? STARTS_WITH : EQUALS);
+            return new LikeMatcher(mode, tokens.get(from), null, ignoreCase);
+        }
+
+        StringBuilder regex = new StringBuilder(like.length() + 8);
+        for (String token : tokens) {
+            if (token == ANY) {
+                regex.append(".*");
+            } else if (token == ONE) {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(token));
+            }
+        }
+        int flags = Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0);
+        return new LikeMatcher(REGEX, like, Pattern.compile(regex.toString(), flags), ignoreCase);
+    }
+
+    private final int mode;
+
+    private final String literal;
+
+    @Nullable
+    private final Pattern pattern;
+
+    private final boolean ignoreCase;
+
+    private LikeMatcher(int mode, String literal, @Nullable Pattern pattern, boolean ignoreCase) {
+        this.mode = mode;
+        this.literal = literal;
+        this.pattern = pattern;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Get whether the given string matches
+     *
+     * @param str string to match
+     * @return true, if matches
+     */
+    public boolean matches(String str) {
+        switch (mode) {
+        case EQUALS:
+            return ignoreCase ? str.equalsIgnoreCase(literal) : str.equals(literal);
+        case STARTS_WITH:
+            return str.regionMatches(ignoreCase, 0, literal, 0, literal.length());
+        case ENDS_WITH:
+            return str.regionMatches(ignoreCase, str.length() - literal.length(), literal, 0, literal.length());
+        case CONTAINS:
+            return str.contains(literal);
+        default:
+            return pattern.matcher(str).matches();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return pattern != null ? pattern.pattern() : literal;
+    }
+
+}
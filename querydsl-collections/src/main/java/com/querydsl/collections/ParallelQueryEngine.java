@@ -0,0 +1,255 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
+import com.mysema.codegen.Evaluator;
+import com.querydsl.core.QueryException;
+
+/**
+ * {@code ParallelQueryEngine} is a {@link QueryEngine} implementation which filters, projects,
+ * sorts and removes duplicates of large sources in parallel
+ *
+ * <p>Lists with at least {@code threshold} elements are split into chunks which are processed
+ * with the given executor. The results have the same order as with {@link DefaultQueryEngine}.
+ * The lifecycle of the executor is managed by the caller.</p>
+ *
+ * <pre>
+ * ExecutorService executor = Executors.newFixedThreadPool(4);
+ * QueryEngine queryEngine = new ParallelQueryEngine(
+ *     new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT), executor, 4, 10000);
+ * List&lt;Cat&gt; cats = new CollQuery&lt;Void&gt;(queryEngine).from(cat, source)
+ *     .where(cat.weight.gt(4)).orderBy(cat.name.asc()).select(cat).fetch();
+ * </pre>
+ */
+public class ParallelQueryEngine extends DefaultQueryEngine {
+
+    private static final int DEFAULT_THRESHOLD = 10000;
+
+    private final ExecutorService executor;
+
+    private final int parallelism;
+
+    private final int threshold;
+
+    public ParallelQueryEngine(DefaultEvaluatorFactory evaluatorFactory, ExecutorService executor) {
+        this(evaluatorFactory, executor, Runtime.getRuntime().availableProcessors(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Create a new ParallelQueryEngine instance
+     *
+     * @param evaluatorFactory evaluator factory
+     * @param executor executor for the chunks
+     * @param parallelism number of chunks
+     * @param threshold minimum list size for parallel processing
+     */
+    public ParallelQueryEngine(DefaultEvaluatorFactory evaluatorFactory, ExecutorService executor,
+            int parallelism, int threshold) {
+        super(evaluatorFactory);
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.threshold = threshold;
+    }
+
+    @Nullable
+    private <T> List<List<T>> split(List<T> list) {
+        if (parallelism < 2 || list.size() < Math.max(threshold, 2)) {
+            return null;
+        }
+        int chunkSize = (list.size() + parallelism - 1) / parallelism;
+        List<List<T>> chunks = new ArrayList<List<T>>(parallelism);
+        for (int i = 0; i < list.size(); i += chunkSize) {
+            chunks.add(list.subList(i, Math.min(i + chunkSize, list.size())));
+        }
+        return chunks;
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        try {
+            List<Future<T>> futures = executor.invokeAll(tasks);
+            List<T> results = new ArrayList<T>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryException(e);
+        } catch (ExecutionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw new QueryException(e.getCause());
+        }
+    }
+
+    private static <T> List<T> concat(List<? extends List<? extends T>> lists) {
+        int size = 0;
+        for (List<? extends T> list : lists) {
+            size += list.size();
+        }
+        List<T> rv = new ArrayList<T>(size);
+        for (List<? extends T> list : lists) {
+            rv.addAll(list);
+        }
+        return rv;
+    }
+
+    // evaluators are created on the calling thread, one for each task, since neither the
+    // compilation nor the evaluation is thread-safe
+
+    @Override
+    protected List<?> filter(Supplier<? extends Evaluator<List<?>>> evaluators, List<?> list) {
+        List<? extends List<?>> chunks = split(list);
+        if (chunks == null) {
+            return super.filter(evaluators, list);
+        }
+        List<Callable<List<?>>> tasks = new ArrayList<Callable<List<?>>>(chunks.size());
+        for (final List<?> chunk : chunks) {
+            final Evaluator<List<?>> evaluator = evaluators.get();
+            tasks.add(new Callable<List<?>>() {
+                @Override
+                public List<?> call() {
+                    return evaluator.evaluate(chunk);
+                }
+            });
+        }
+        return concat(invokeAll(tasks));
+    }
+
+    @Override
+    protected List<?> transform(List<?> list, Supplier<? extends Function<Object, ?>> functions) {
+        List<? extends List<?>> chunks = split(list);
+        if (chunks == null) {
+            return super.transform(list, functions);
+        }
+        List<Callable<List<?>>> tasks = new ArrayList<Callable<List<?>>>(chunks.size());
+        for (final List<?> chunk : chunks) {
+            final Function<Object, ?> function = functions.get();
+            tasks.add(new Callable<List<?>>() {
+                @Override
+                public List<?> call() {
+                    return ParallelQueryEngine.super.transform(chunk, Suppliers.ofInstance(function));
+                }
+            });
+        }
+        return concat(invokeAll(tasks));
+    }
+
+    @Override
+    protected <T> void sort(List<T> list, Supplier<? extends Comparator<? super T>> comparators) {
+        List<List<T>> chunks = split(list);
+        if (chunks == null) {
+            super.sort(list, comparators);
+            return;
+        }
+        // sort the chunks
+        List<Callable<List<T>>> tasks = new ArrayList<Callable<List<T>>>(chunks.size());
+        for (final List<T> chunk : chunks) {
+            final Comparator<? super T> comparator = comparators.get();
+            tasks.add(new Callable<List<T>>() {
+                @Override
+                public List<T> call() {
+                    List<T> sorted = new ArrayList<T>(chunk);
+                    Collections.sort(sorted, comparator);
+                    return sorted;
+                }
+            });
+        }
+        List<List<T>> sorted = invokeAll(tasks);
+        // merge neighbouring chunks until one is left
+        while (sorted.size() > 1) {
+            tasks = new ArrayList<Callable<List<T>>>(sorted.size() / 2);
+            for (int i = 0; i + 1 < sorted.size(); i += 2) {
+                final List<T> left = sorted.get(i), right = sorted.get(i + 1);
+                final Comparator<? super T> comparator = comparators.get();
+                tasks.add(new Callable<List<T>>() {
+                    @Override
+                    public List<T> call() {
+                        return merge(left, right, comparator);
+                    }
+                });
+            }
+            List<T> last = sorted.size() % 2 == 1 ? sorted.get(sorted.size() - 1) : null;
+            sorted = invokeAll(tasks);
+            if (last != null) {
+                sorted.add(last);
+            }
+        }
+        ListIterator<T> iterator = list.listIterator();
+        for (T element : sorted.get(0)) {
+            iterator.next();
+            iterator.set(element);
+        }
+    }
+
+    private static <T> List<T> merge(List<T> left, List<T> right, Comparator<? super T> comparator) {
+        List<T> rv = new ArrayList<T>(left.size() + right.size());
+        int i = 0, j = 0;
+        while (i < left.size() && j < right.size()) {
+            // take from the left on ties to keep the sort stable
+            if (comparator.compare(right.get(j), left.get(i)) < 0) {
+                rv.add(right.get(j++));
+            } else {
+                rv.add(left.get(i++));
+            }
+        }
+        rv.addAll(left.subList(i, left.size()));
+        rv.addAll(right.subList(j, right.size()));
+        return rv;
+    }
+
+    @Override
+    protected <T> List<T> distinct(List<T> list) {
+        List<List<T>> chunks = split(list);
+        if (chunks == null) {
+            return super.distinct(list);
+        }
+        // remove the duplicates of each chunk
+        List<Callable<List<T>>> tasks = new ArrayList<Callable<List<T>>>(chunks.size());
+        for (final List<T> chunk : chunks) {
+            tasks.add(new Callable<List<T>>() {
+                @Override
+                public List<T> call() {
+                    return distinct(chunk, new HashSet<Object>(chunk.size()));
+                }
+            });
+        }
+        // and then the duplicates between the chunks
+        List<T> candidates = concat(invokeAll(tasks));
+        return distinct(candidates, new HashSet<Object>(candidates.size()));
+    }
+
+    private static <T> List<T> distinct(List<T> list, Set<Object> seen) {
+        List<T> rv = new ArrayList<T>();
+        for (T o : list) {
+            Object key = o != null && o.getClass().isArray() ? Arrays.asList((Object[]) o) : o;
+            if (seen.add(key)) {
+                rv.add(o);
+            }
+        }
+        return rv;
+    }
+
+}
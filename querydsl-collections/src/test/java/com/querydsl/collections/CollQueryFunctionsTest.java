@@ -54,4 +54,12 @@ public class CollQueryFunctionsTest {
         assertTrue(CollQueryFunctions.like("$DOG", "$DOG"));
         assertTrue(CollQueryFunctions.like("$DOGabc", "$DOG%"));
     }
+
+    @Test
+    public void like_with_escape() {
+        assertTrue(CollQueryFunctions.like("50%", "50!%", '!'));
+        assertFalse(CollQueryFunctions.like("500", "50!%", '!'));
+        assertTrue(CollQueryFunctions.likeIgnoreCase("A_B", "a!_b", '!'));
+        assertFalse(CollQueryFunctions.likeIgnoreCase("AxB", "a!_b", '!'));
+    }
 }
@@ -158,14 +158,16 @@ public class CollQueryTest extends AbstractQueryTest {
         assertEquals(Arrays.asList(new BigDecimal("2.1"), new BigDecimal("20.21")), nums);
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void groupBy() {
-        query().from(cat, cats).groupBy(cat.name);
+        assertEquals(Arrays.asList("Kitty", "Bob", "Alex", "Francis"),
+                query().from(cat, cats).groupBy(cat.name).select(cat.name).fetch());
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void having() {
-        query().from(cat, cats).having(cat.name.isNull());
+        assertEquals(Collections.emptyList(),
+                query().from(cat, cats).groupBy(cat.name).having(cat.name.isNull()).select(cat.name).fetch());
     }
 
 }
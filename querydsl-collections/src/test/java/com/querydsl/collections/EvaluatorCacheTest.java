@@ -0,0 +1,86 @@
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class EvaluatorCacheTest extends AbstractQueryTest {
+
+    private EvaluatorCache cache;
+
+    private DefaultQueryEngine queryEngine;
+
+    @Before
+    public void setUp() {
+        super.setUp();
+        cache = new EvaluatorCache(getClass().getClassLoader(), 3);
+        queryEngine = new DefaultQueryEngine(new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT, cache));
+    }
+
+    private CollQuery<?> query() {
+        return new CollQuery<Void>(queryEngine);
+    }
+
+    @Test
+    public void same_shape() {
+        assertEquals(Arrays.asList(c2), query().from(cat, cats).where(cat.name.eq("Bob")).select(cat).fetch());
+        assertEquals(Arrays.asList(c3), query().from(cat, cats).where(cat.name.eq("Alex")).select(cat).fetch());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void different_constant_types() {
+        query().from(cat, cats).where(cat.name.eq("Bob")).select(cat).fetch();
+        query().from(cat, cats).where(cat.id.eq(1)).select(cat).fetch();
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void eviction() {
+        query().from(cat, cats).where(cat.name.eq("Bob")).select(cat).fetch();
+        query().from(cat, cats).where(cat.name.ne("Bob")).select(cat).fetch();
+        query().from(cat, cats).where(cat.name.startsWith("B")).select(cat).fetch();
+        query().from(cat, cats).where(cat.name.endsWith("b")).select(cat).fetch();
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void prewarm() {
+        queryEngine.prewarm(query().from(cat, cats).where(cat.name.ne("")).orderBy(cat.name.asc()).select(cat.name));
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+
+        assertEquals(Arrays.asList("Bob", "Francis", "Kitty"),
+                query().from(cat, cats).where(cat.name.ne("Alex"))
+                        .orderBy(cat.name.asc()).select(cat.name).fetch());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, cache.getHitCount());
+    }
+
+    @Test
+    public void prewarm_hash_join() {
+        cache = new EvaluatorCache(getClass().getClassLoader(), 10);
+        queryEngine = new DefaultQueryEngine(new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT, cache));
+        queryEngine.prewarm(query().from(cat, cats).from(otherCat, cats)
+                .where(cat.name.eq(otherCat.name), cat.name.ne(""), cat.name.goe(otherCat.name))
+                .orderBy(cat.name.asc()).select(cat.name));
+        long misses = cache.getMissCount();
+
+        assertEquals(Arrays.asList("Bob", "Francis", "Kitty"),
+                query().from(cat, cats).from(otherCat, cats)
+                        .where(cat.name.eq(otherCat.name), cat.name.ne("Alex"), cat.name.goe(otherCat.name))
+                        .orderBy(cat.name.asc()).select(cat.name).fetch());
+        assertEquals(misses, cache.getMissCount());
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.Wildcard;
+
+public class HashAggregationTest extends AbstractQueryTest {
+
+    private List<Cat> data;
+
+    private static Cat cat(String name, int breed, int weight) {
+        Cat cat = new Cat(name);
+        cat.setBreed(breed);
+        cat.setWeight(weight);
+        return cat;
+    }
+
+    @Override
+    @Before
+    public void setUp() {
+        super.setUp();
+        data = Arrays.asList(
+                cat("Bob", 1, 2), cat("Kitty", 2, 3), cat("Bob", 1, 4),
+                cat("Alex", 3, 5), cat("Kitty", 2, 7), cat("Bob", 2, 1));
+    }
+
+    @Test
+    public void group_by() {
+        List<Tuple> results = CollQueryFactory.from(cat, data)
+                .groupBy(cat.breed)
+                .select(cat.breed, cat.weight.sum(), Wildcard.count).fetch();
+        assertEquals(3, results.size());
+        assertEquals(Arrays.asList(1, 6, 2L), Arrays.asList(results.get(0).toArray()));
+        assertEquals(Arrays.asList(2, 11, 3L), Arrays.asList(results.get(1).toArray()));
+        assertEquals(Arrays.asList(3, 5, 1L), Arrays.asList(results.get(2).toArray()));
+    }
+
+    @Test
+    public void group_by_multiple_keys() {
+        List<Tuple> results = CollQueryFactory.from(cat, data)
+                .groupBy(cat.name, cat.breed)
+                .select(cat.name, cat.breed, cat.weight.max()).fetch();
+        assertEquals(4, results.size());
+        assertEquals(Arrays.asList("Bob", 1, 4), Arrays.asList(results.get(0).toArray()));
+        assertEquals(Arrays.asList("Bob", 2, 1), Arrays.asList(results.get(3).toArray()));
+    }
+
+    @Test
+    public void aggregates() {
+        Tuple result = CollQueryFactory.from(cat, data)
+                .where(cat.name.eq("Kitty"))
+                .groupBy(cat.name)
+                .select(cat.weight.min(), cat.weight.max(), cat.weight.avg(),
+                        cat.weight.count(), cat.breed.countDistinct()).fetchOne();
+        assertEquals(Arrays.asList(3, 7, 5.0, 2L, 1L), Arrays.asList(result.toArray()));
+    }
+
+    @Test
+    public void having() {
+        List<String> results = CollQueryFactory.from(cat, data)
+                .groupBy(cat.name)
+                .having(cat.weight.sum().gt(5))
+                .select(cat.name).fetch();
+        assertEquals(Arrays.asList("Bob", "Kitty"), results);
+    }
+
+    @Test
+    public void order_by_aggregate() {
+        List<String> results = CollQueryFactory.from(cat, data)
+                .groupBy(cat.name)
+                .orderBy(cat.weight.sum().desc())
+                .select(cat.name).fetch();
+        assertEquals(Arrays.asList("Kitty", "Bob", "Alex"), results);
+    }
+
+    @Test
+    public void expression_of_aggregates() {
+        List<Integer> results = CollQueryFactory.from(cat, data)
+                .groupBy(cat.breed)
+                .select(cat.weight.max().subtract(cat.weight.min())).fetch();
+        assertEquals(Arrays.asList(2, 6, 0), results);
+    }
+
+    @Test
+    public void global_aggregates() {
+        Tuple result = CollQueryFactory.from(cat, data)
+                .select(cat.weight.sum(), Wildcard.count).fetchOne();
+        assertEquals(Arrays.asList(22, 6L), Arrays.asList(result.toArray()));
+
+        result = CollQueryFactory.from(cat, Collections.<Cat>emptyList())
+                .select(cat.weight.sum(), Wildcard.count).fetchOne();
+        assertEquals(Arrays.asList(null, 0L), Arrays.asList(result.toArray()));
+    }
+
+    @Test
+    public void count() {
+        assertEquals(3, CollQueryFactory.from(cat, data).groupBy(cat.name).fetchCount());
+        assertEquals(2, CollQueryFactory.from(cat, data).groupBy(cat.name)
+                .having(Wildcard.count.gt(1)).fetchCount());
+    }
+
+    @Test
+    public void multiple_sources() {
+        List<Tuple> results = CollQueryFactory.from(cat, data).from(otherCat, data)
+                .where(cat.name.eq(otherCat.name))
+                .groupBy(cat.name)
+                .select(cat.name, Wildcard.count).fetch();
+        assertEquals(Arrays.asList("Bob", 9L), Arrays.asList(results.get(0).toArray()));
+        assertEquals(Arrays.asList("Kitty", 4L), Arrays.asList(results.get(1).toArray()));
+        assertEquals(Arrays.asList("Alex", 1L), Arrays.asList(results.get(2).toArray()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ungrouped_path() {
+        CollQueryFactory.from(cat, data).groupBy(cat.breed).select(cat.name, Wildcard.count).fetch();
+    }
+
+}
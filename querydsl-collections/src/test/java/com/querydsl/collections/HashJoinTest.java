@@ -0,0 +1,110 @@
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+
+public class HashJoinTest extends AbstractQueryTest {
+
+    private List<Cat> others = Arrays.asList(
+            new Cat("Bob", 1), new Cat("Kitty", 2), new Cat("Bob", 3), new Cat(null, 4));
+
+    private List<Tuple> hashJoin(List<Cat> left, List<Cat> right, Predicate... where) {
+        return CollQueryFactory.from(cat, left).from(otherCat, right).where(where).select(cat, otherCat).fetch();
+    }
+
+    private List<Tuple> nestedLoops(List<Cat> left, List<Cat> right, Predicate... where) {
+        // disjunctions are not used for hash joins
+        Predicate predicate = ExpressionUtils.or(ExpressionUtils.allOf(where), Expressions.FALSE);
+        return CollQueryFactory.from(cat, left).from(otherCat, right).where(predicate).select(cat, otherCat).fetch();
+    }
+
+    @Test
+    public void create() {
+        QueryMetadata metadata = new DefaultQueryMetadata();
+        metadata.addJoin(JoinType.DEFAULT, cat);
+        metadata.addJoin(JoinType.DEFAULT, otherCat);
+        metadata.addWhere(cat.name.eq("Bob"));
+        assertNull(HashJoin.create(metadata));
+        metadata.addWhere(cat.name.eq(otherCat.name));
+        assertEquals(HashJoin.class, HashJoin.create(metadata).getClass());
+    }
+
+    @Test
+    public void equi_join() {
+        List<Tuple> results = hashJoin(cats, others, cat.name.eq(otherCat.name));
+        assertEquals(3, results.size());
+        assertEquals(nestedLoops(cats, others, cat.name.eq(otherCat.name)), results);
+    }
+
+    @Test
+    public void equi_join_build_on_left() {
+        List<Cat> left = new ArrayList<Cat>(cats);
+        left.add(new Cat("Bob", 5));
+        List<Cat> right = others.subList(0, 2);
+        List<Tuple> results = hashJoin(left, right, cat.name.eq(otherCat.name));
+        assertEquals(3, results.size());
+        assertEquals(nestedLoops(left, right, cat.name.eq(otherCat.name)), results);
+    }
+
+    @Test
+    public void reversed_condition() {
+        assertEquals(nestedLoops(cats, others, otherCat.name.eq(cat.name)),
+                hashJoin(cats, others, otherCat.name.eq(cat.name)));
+    }
+
+    @Test
+    public void null_keys() {
+        List<Cat> left = Arrays.asList(new Cat(null, 1), c1);
+        List<Tuple> results = hashJoin(left, others, cat.name.eq(otherCat.name));
+        assertEquals(2, results.size());
+        assertEquals(nestedLoops(left, others, cat.name.eq(otherCat.name)), results);
+    }
+
+    @Test
+    public void null_dereference() {
+        c1.setMate(c2);
+        List<Tuple> results = hashJoin(cats, others, cat.mate.name.eq(otherCat.name));
+        assertEquals(2, results.size());
+        assertEquals(nestedLoops(cats, others, cat.mate.name.eq(otherCat.name)), results);
+    }
+
+    @Test
+    public void pushdown_and_residual() {
+        Predicate[] where = {cat.name.eq(otherCat.name), otherCat.id.gt(1), cat.id.ne(otherCat.id)};
+        List<Tuple> results = hashJoin(cats, others, where);
+        assertEquals(nestedLoops(cats, others, where), results);
+    }
+
+    @Test
+    public void three_sources() {
+        List<Tuple> results = CollQueryFactory.from(cat, cats).from(otherCat, others).from(mate, cats)
+                .where(cat.name.eq(otherCat.name), mate.name.eq(cat.name))
+                .select(cat, otherCat, mate).fetch();
+        List<Tuple> expected = CollQueryFactory.from(cat, cats).from(otherCat, others).from(mate, cats)
+                .where(cat.name.eq(otherCat.name).and(mate.name.eq(cat.name)).or(Expressions.FALSE))
+                .select(cat, otherCat, mate).fetch();
+        assertEquals(3, results.size());
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void count() {
+        assertEquals(3, CollQueryFactory.from(cat, cats).from(otherCat, others)
+                .where(cat.name.eq(otherCat.name)).fetchCount());
+    }
+
+}
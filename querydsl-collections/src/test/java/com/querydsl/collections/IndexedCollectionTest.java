@@ -0,0 +1,118 @@
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Param;
+
+public class IndexedCollectionTest extends AbstractQueryTest {
+
+    private IndexedCollection<Cat> indexed;
+
+    private List<Cat> data;
+
+    private static Cat cat(String name, int id, int weight) {
+        Cat cat = new Cat(name, id);
+        cat.setWeight(weight);
+        return cat;
+    }
+
+    @Override
+    @Before
+    public void setUp() {
+        super.setUp();
+        data = Arrays.asList(
+                cat("Bob", 1, 5), cat("Kitty", 2, 3), cat("Bob", 3, 7),
+                cat("Alex", 4, 2), cat(null, 5, 4), cat("Francis", 6, 6));
+        indexed = new IndexedCollection<Cat>(data)
+                .addHashIndex(QCat.cat.name)
+                .addSortedIndex(QCat.cat.weight)
+                .addSortedIndex(QCat.cat.name);
+    }
+
+    private void assertSameResults(Predicate... where) {
+        List<Cat> expected = CollQueryFactory.from(cat, data).where(where).fetch();
+        assertEquals(expected, CollQueryFactory.from(cat, indexed).where(where).fetch());
+    }
+
+    @Test
+    public void eq() {
+        assertSameResults(cat.name.eq("Bob"));
+        assertSameResults(cat.name.eq("Unknown"));
+    }
+
+    @Test
+    public void in() {
+        assertSameResults(cat.name.in("Alex", "Bob", "Bob"));
+    }
+
+    @Test
+    public void ranges() {
+        assertSameResults(cat.weight.lt(5));
+        assertSameResults(cat.weight.loe(5));
+        assertSameResults(cat.weight.gt(5));
+        assertSameResults(cat.weight.goe(5));
+        assertSameResults(cat.weight.between(3, 6));
+        assertSameResults(cat.weight.between(6, 3));
+    }
+
+    @Test
+    public void startsWith() {
+        assertSameResults(cat.name.startsWith("B"));
+        assertSameResults(cat.name.startsWith("Bo"));
+        assertSameResults(cat.name.startsWith("Z"));
+    }
+
+    @Test
+    public void conjunction() {
+        assertSameResults(cat.name.eq("Bob"), cat.weight.gt(5));
+        assertSameResults(cat.name.eq("Bob"), cat.id.ne(1));
+        assertSameResults(cat.name.eq("Bob").or(cat.weight.lt(3)));
+    }
+
+    @Test
+    public void params() {
+        Param<String> name = new Param<String>(String.class, "name");
+        assertEquals(Arrays.asList(data.get(1)),
+                CollQueryFactory.from(cat, indexed).where(cat.name.eq(name)).set(name, "Kitty").fetch());
+    }
+
+    @Test
+    public void other_alias() {
+        assertEquals(Arrays.asList(data.get(3)),
+                CollQueryFactory.from(otherCat, indexed).where(otherCat.name.eq("Alex")).fetch());
+    }
+
+    @Test
+    public void add_and_remove() {
+        Cat bob = cat("Bob", 7, 1);
+        indexed.add(bob);
+        assertEquals(Arrays.asList(data.get(0), data.get(2), bob),
+                CollQueryFactory.from(cat, indexed).where(cat.name.eq("Bob")).fetch());
+
+        indexed.remove(data.get(0));
+        assertEquals(Arrays.asList(data.get(2), bob),
+                CollQueryFactory.from(cat, indexed).where(cat.name.eq("Bob")).fetch());
+
+        Iterator<Cat> iterator = indexed.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getWeight() < 4) {
+                iterator.remove();
+            }
+        }
+        assertEquals(Arrays.asList(data.get(2)),
+                CollQueryFactory.from(cat, indexed).where(cat.name.eq("Bob")).fetch());
+        assertEquals(3, indexed.size());
+
+        indexed.clear();
+        assertEquals(0, CollQueryFactory.from(cat, indexed).where(cat.name.eq("Bob")).fetchCount());
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringPath;
+
+public class LikeMatcherTest {
+
+    private static boolean like(String str, String like) {
+        return LikeMatcher.create(like, null, false).matches(str);
+    }
+
+    private static boolean likeIgnoreCase(String str, String like) {
+        return LikeMatcher.create(like, null, true).matches(str);
+    }
+
+    @Test
+    public void equals() {
+        assertTrue(like("abc", "abc"));
+        assertFalse(like("abcd", "abc"));
+        assertTrue(likeIgnoreCase("ABC", "abc"));
+        assertTrue(like("", ""));
+    }
+
+    @Test
+    public void startsWith() {
+        assertTrue(like("abc", "ab%"));
+        assertFalse(like("xabc", "ab%"));
+        assertTrue(likeIgnoreCase("ABC", "ab%"));
+        assertFalse(like("a", "ab%"));
+    }
+
+    @Test
+    public void endsWith() {
+        assertTrue(like("abc", "%bc"));
+        assertFalse(like("abcx", "%bc"));
+        assertTrue(likeIgnoreCase("ABC", "%bc"));
+        assertFalse(like("c", "%bc"));
+    }
+
+    @Test
+    public void contains() {
+        assertTrue(like("abc", "%b%"));
+        assertFalse(like("ac", "%b%"));
+        assertTrue(likeIgnoreCase("ABC", "%b%"));
+        assertTrue(like("abc", "%%b%%"));
+    }
+
+    @Test
+    public void any() {
+        assertTrue(like("", "%"));
+        assertTrue(like("abc", "%"));
+    }
+
+    @Test
+    public void wildcards() {
+        assertTrue(like("abc", "a_c"));
+        assertFalse(like("abbc", "a_c"));
+        assertTrue(like("abbc", "a%c"));
+        assertTrue(like("a\nc", "a%c"));
+        assertTrue(likeIgnoreCase("ABBC", "a%b_"));
+    }
+
+    @Test
+    public void regex_characters() {
+        assertTrue(like("a.c", "a.c"));
+        assertFalse(like("abc", "a.c"));
+        assertTrue(like("(a*)+b", "(a*)%"));
+        assertTrue(like("[x]$y", "[_]$%"));
+        assertTrue(like("a\\Eb", "a\\E_"));
+    }
+
+    @Test
+    public void escape() {
+        assertTrue(LikeMatcher.create("50!%", '!', false).matches("50%"));
+        assertFalse(LikeMatcher.create("50!%", '!', false).matches("500"));
+        assertTrue(LikeMatcher.create("!%%", '!', false).matches("%abc"));
+        assertFalse(LikeMatcher.create("!%%", '!', false).matches("abc"));
+        assertTrue(LikeMatcher.create("a!_%", '!', false).matches("a_bc"));
+        assertFalse(LikeMatcher.create("a!_%", '!', false).matches("abc"));
+        assertTrue(LikeMatcher.create("a!!b", '!', false).matches("a!b"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void null_string() {
+        like(null, "a%");
+    }
+
+    @Test
+    public void serialization() {
+        StringPath str = Expressions.stringPath("str");
+        CollQuerySerializer serializer = new CollQuerySerializer(CollQueryTemplates.DEFAULT);
+        serializer.handle(str.like("a%"));
+        assertEquals("a1.matches(str)", serializer.toString());
+        assertEquals(LikeMatcher.class, serializer.getConstantToLabel().keySet().iterator().next().getClass());
+
+        serializer = new CollQuerySerializer(CollQueryTemplates.DEFAULT);
+        serializer.handle(str.matches("a.*"));
+        assertEquals("a1.matcher(str).matches()", serializer.toString());
+        assertEquals(Pattern.class, serializer.getConstantToLabel().keySet().iterator().next().getClass());
+    }
+
+}
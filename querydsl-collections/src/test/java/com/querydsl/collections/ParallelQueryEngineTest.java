@@ -0,0 +1,201 @@
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Ordering;
+import com.mysema.codegen.Evaluator;
+
+public class ParallelQueryEngineTest extends AbstractQueryTest {
+
+    private ExecutorService executor;
+
+    private DefaultQueryEngine sequential;
+
+    private ParallelQueryEngine parallel;
+
+    private List<Integer> numbers;
+
+    @Override
+    @Before
+    public void setUp() {
+        super.setUp();
+        executor = Executors.newFixedThreadPool(4);
+        DefaultEvaluatorFactory evaluatorFactory = new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT);
+        sequential = new DefaultQueryEngine(evaluatorFactory);
+        parallel = new ParallelQueryEngine(evaluatorFactory, executor, 4, 10);
+        Random random = new Random(0);
+        numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 1001; i++) {
+            numbers.add(random.nextInt(100));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void filter() {
+        Evaluator<List<?>> evaluator = new Evaluator<List<?>>() {
+            @Override
+            public List<?> evaluate(Object... args) {
+                List<Integer> rv = new ArrayList<Integer>();
+                for (Integer i : (List<Integer>) args[0]) {
+                    if (i % 3 == 0) {
+                        rv.add(i);
+                    }
+                }
+                return rv;
+            }
+
+            @Override
+            public Class<? extends List<?>> getType() {
+                return (Class) List.class;
+            }
+        };
+        assertEquals(sequential.filter(Suppliers.ofInstance(evaluator), numbers),
+                parallel.filter(Suppliers.ofInstance(evaluator), numbers));
+    }
+
+    @Test
+    public void transform() {
+        Function<Object, Object> function = new Function<Object, Object>() {
+            @Override
+            public Object apply(Object input) {
+                return input.toString();
+            }
+        };
+        assertEquals(sequential.transform(numbers, Suppliers.ofInstance(function)),
+                parallel.transform(numbers, Suppliers.ofInstance(function)));
+    }
+
+    @Test
+    public void sort_is_stable() {
+        // compare by the last digit only
+        Comparator<Integer> comparator = new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return o1 % 10 - o2 % 10;
+            }
+        };
+        List<Integer> expected = new ArrayList<Integer>(numbers);
+        sequential.sort(expected, Suppliers.ofInstance(comparator));
+        List<Integer> actual = new ArrayList<Integer>(numbers);
+        parallel.sort(actual, Suppliers.ofInstance(comparator));
+        assertEquals(expected, actual);
+        assertEquals(true, Ordering.from(comparator).isOrdered(actual));
+    }
+
+    @Test
+    public void separate_evaluator_per_task() {
+        final Set<Evaluator<?>> used = Collections.synchronizedSet(new HashSet<Evaluator<?>>());
+        final List<Evaluator<?>> created = new ArrayList<Evaluator<?>>();
+        Supplier<Evaluator<List<?>>> evaluators = new Supplier<Evaluator<List<?>>>() {
+            @Override
+            public Evaluator<List<?>> get() {
+                Evaluator<List<?>> evaluator = new Evaluator<List<?>>() {
+                    @Override
+                    public List<?> evaluate(Object... args) {
+                        // each evaluator may only be used by one task
+                        assertTrue(used.add(this));
+                        return (List<?>) args[0];
+                    }
+
+                    @Override
+                    public Class<? extends List<?>> getType() {
+                        return (Class) List.class;
+                    }
+                };
+                created.add(evaluator);
+                return evaluator;
+            }
+        };
+        assertEquals(numbers, parallel.filter(evaluators, numbers));
+        assertEquals(4, created.size());
+        assertEquals(4, used.size());
+    }
+
+    @Test
+    public void distinct() {
+        assertEquals(sequential.distinct(numbers), parallel.distinct(numbers));
+    }
+
+    @Test
+    public void distinct_arrays() {
+        List<Object[]> arrays = new ArrayList<Object[]>();
+        for (Integer i : numbers) {
+            arrays.add(new Object[]{i % 7, i % 2});
+        }
+        List<Object[]> expected = sequential.distinct(arrays);
+        List<Object[]> actual = parallel.distinct(arrays);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(Arrays.asList(expected.get(i)), Arrays.asList(actual.get(i)));
+        }
+    }
+
+    @Test
+    public void small_lists() {
+        List<Integer> list = Arrays.asList(3, 1, 2);
+        parallel.sort(list, Suppliers.ofInstance(Ordering.<Integer>natural()));
+        assertEquals(Arrays.asList(1, 2, 3), list);
+    }
+
+    @Test
+    public void query() {
+        List<Cat> data = new ArrayList<Cat>();
+        for (Integer i : numbers) {
+            data.add(new Cat("Cat" + i, i));
+        }
+        CollQuery<?> query = new CollQuery<Void>(parallel).from(cat, data)
+                .where(cat.id.gt(10)).orderBy(cat.id.desc()).distinct();
+        List<String> names = query.select(cat.name).fetch();
+        assertEquals(CollQueryFactory.from(cat, data).where(cat.id.gt(10)).orderBy(cat.id.desc())
+                .distinct().select(cat.name).fetch(), names);
+        assertEquals(89, names.size());
+    }
+
+    @Test
+    public void query_many_chunks() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            ParallelQueryEngine engine = new ParallelQueryEngine(
+                    new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT), executor, 64, 10);
+            List<Cat> data = new ArrayList<Cat>();
+            Random random = new Random(1);
+            for (int i = 0; i < 100000; i++) {
+                Cat c = new Cat("Cat" + random.nextInt(1000), i);
+                c.setBodyWeight(random.nextInt(100));
+                data.add(c);
+            }
+            for (int i = 0; i < 5; i++) {
+                List<String> names = new CollQuery<Void>(engine).from(cat, data)
+                        .where(cat.name.endsWith("7"), cat.id.mod(3).eq(0))
+                        .orderBy(cat.name.asc(), cat.bodyWeight.desc())
+                        .select(cat.name.concat("-").concat(cat.id.stringValue())).fetch();
+                assertEquals(CollQueryFactory.from(cat, data)
+                        .where(cat.name.endsWith("7"), cat.id.mod(3).eq(0))
+                        .orderBy(cat.name.asc(), cat.bodyWeight.desc())
+                        .select(cat.name.concat("-").concat(cat.id.stringValue())).fetch(), names);
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+}
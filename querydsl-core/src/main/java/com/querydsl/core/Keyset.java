@@ -0,0 +1,307 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.BaseEncoding;
+import com.querydsl.core.types.*;
+
+/**
+ * {@code Keyset} defines a position in an ordered result for keyset (seek) pagination.
+ *
+ * <p>Instead of skipping rows via offset, the next page is selected by a predicate comparing
+ * the order keys to the key values of the last row of the previous page. The position can be
+ * passed to clients as an opaque continuation token.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ * Keyset first = Keyset.of(employee.lastname.asc(), employee.id.asc());
+ * List&lt;Tuple&gt; page = query.select(employee.lastname, employee.id, employee.firstname)
+ *     .from(employee).seek(first).limit(20).fetch();
+ * String token = first.after(page.get(page.size() - 1)).getToken();
+ * ...
+ * List&lt;Tuple&gt; next = query.select(employee.lastname, employee.id, employee.firstname)
+ *     .from(employee).seek(first.afterToken(token)).limit(20).fetch();
+ * </pre>
+ *
+ * <p>The order keys should identify rows uniquely, otherwise rows with the same keys as the last
+ * row of a page are skipped. Key values may not be null.</p>
+ */
+@Immutable
+public final class Keyset {
+
+    private static final BaseEncoding ENCODING = BaseEncoding.base64Url().omitPadding();
+
+    /**
+     * Create an initial keyset for the given order
+     *
+     * @param orderBy order specifiers
+     * @return keyset positioned before the first row
+     */
+    public static Keyset of(OrderSpecifier<?>... orderBy) {
+        return of(Arrays.asList(orderBy));
+    }
+
+    /**
+     * Create an initial keyset for the given order
+     *
+     * @param orderBy order specifiers
+     * @return keyset positioned before the first row
+     */
+    public static Keyset of(List<OrderSpecifier<?>> orderBy) {
+        if (orderBy.isEmpty()) {
+            throw new IllegalArgumentException("Keyset pagination needs an order");
+        }
+        return new Keyset(ImmutableList.copyOf(orderBy), null);
+    }
+
+    private final ImmutableList<OrderSpecifier<?>> orderBy;
+
+    @Nullable
+    private final Object[] values;
+
+    private Keyset(ImmutableList<OrderSpecifier<?>> orderBy, @Nullable Object[] values) {
+        this.orderBy = orderBy;
+        this.values = values;
+    }
+
+    /**
+     * Get a keyset positioned after the row with the given key values
+     *
+     * @param values key values in order of the order specifiers
+     * @return keyset
+     */
+    public Keyset after(Object... values) {
+        if (values.length != orderBy.size()) {
+            throw new IllegalArgumentException("Expected " + orderBy.size() + " key values, got " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                throw new IllegalArgumentException("Key value for " + orderBy.get(i).getTarget() + " is null");
+            }
+        }
+        return new Keyset(orderBy, values.clone());
+    }
+
+    /**
+     * Get a keyset positioned after the given row, which needs to contain the order targets
+     *
+     * @param row row
+     * @return keyset
+     */
+    public Keyset after(Tuple row) {
+        Object[] rv = new Object[orderBy.size()];
+        for (int i = 0; i < rv.length; i++) {
+            rv[i] = row.get(orderBy.get(i).getTarget());
+        }
+        return after(rv);
+    }
+
+    /**
+     * Get a keyset positioned at the continuation token of a keyset with the same order
+     *
+     * @param token token created via {@link #getToken()}
+     * @return keyset
+     */
+    public Keyset afterToken(String token) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(ENCODING.decode(token)));
+            Object[] rv = new Object[orderBy.size()];
+            for (int i = 0; i < rv.length; i++) {
+                rv[i] = decode(orderBy.get(i).getTarget().getType(), in.readUTF());
+            }
+            if (in.read() != -1) {
+                throw new IllegalArgumentException("Invalid keyset token " + token);
+            }
+            return after(rv);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid keyset token " + token, e);
+        }
+    }
+
+    /**
+     * Get the order of the keyset
+     *
+     * @return order specifiers
+     */
+    public List<OrderSpecifier<?>> getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Get whether the keyset is positioned before the first row
+     *
+     * @return true, if initial
+     */
+    public boolean isInitial() {
+        return values == null;
+    }
+
+    /**
+     * Get the opaque continuation token of this keyset
+     *
+     * @return token
+     */
+    public String getToken() {
+        if (values == null) {
+            throw new IllegalStateException("Initial keyset has no token");
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (Object value : values) {
+                out.writeUTF(encode(value));
+            }
+            out.flush();
+            return ENCODING.encode(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Get the seek predicate in the expanded form {@code a > ? or (a = ? and b > ?)}
+     *
+     * @return predicate or null for the initial keyset
+     */
+    @Nullable
+    public Predicate getPredicate() {
+        return getPredicate(false);
+    }
+
+    /**
+     * Get the seek predicate
+     *
+     * <p>If row value comparisons are supported and all keys are ordered in the same direction,
+     * the predicate is rendered as {@code (a, b) > (?, ?)}, otherwise the expanded form is
+     * used.</p>
+     *
+     * @param rowValueComparison whether row value comparisons are supported
+     * @return predicate or null for the initial keyset
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public Predicate getPredicate(boolean rowValueComparison) {
+        if (values == null) {
+            return null;
+        }
+        if (rowValueComparison && orderBy.size() > 1 && isSingleDirection()) {
+            Expression<?>[] targets = new Expression<?>[values.length];
+            Expression<?>[] constants = new Expression<?>[values.length];
+            for (int i = 0; i < values.length; i++) {
+                targets[i] = orderBy.get(i).getTarget();
+                constants[i] = ConstantImpl.create(values[i]);
+            }
+            String template = orderBy.get(0).isAscending() ? "({0}) > ({1})" : "({0}) < ({1})";
+            return ExpressionUtils.predicateTemplate(template,
+                    ExpressionUtils.list(Object.class, targets),
+                    ExpressionUtils.list(Object.class, constants));
+        }
+        Predicate rv = null;
+        for (int i = values.length - 1; i >= 0; i--) {
+            Expression<Object> target = (Expression<Object>) orderBy.get(i).getTarget();
+            Expression<Object> value = ConstantImpl.create(values[i]);
+            Predicate seek = ExpressionUtils.predicate(orderBy.get(i).isAscending() ? Ops.GT : Ops.LT, target, value);
+            if (rv == null) {
+                rv = seek;
+            } else {
+                rv = ExpressionUtils.or(seek, ExpressionUtils.and(ExpressionUtils.eq(target, value), rv));
+            }
+        }
+        return rv;
+    }
+
+    private boolean isSingleDirection() {
+        for (OrderSpecifier<?> order : orderBy) {
+            if (order.getOrder() != orderBy.get(0).getOrder()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String encode(Object value) {
+        if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            return timestamp.getTime() + ":" + timestamp.getNanos();
+        } else if (value instanceof Date) {
+            return String.valueOf(((Date) value).getTime());
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else if (value instanceof String || value instanceof Number
+                || value instanceof Boolean || value instanceof Character) {
+            return value.toString();
+        } else {
+            throw new IllegalArgumentException("Unsupported key value " + value);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object decode(Class<?> type, String value) {
+        try {
+            if (type.equals(String.class)) {
+                return value;
+            } else if (type.equals(Character.class)) {
+                return value.charAt(0);
+            } else if (type.equals(Boolean.class)) {
+                return Boolean.valueOf(value);
+            } else if (type.equals(Byte.class)) {
+                return Byte.valueOf(value);
+            } else if (type.equals(Short.class)) {
+                return Short.valueOf(value);
+            } else if (type.equals(Integer.class)) {
+                return Integer.valueOf(value);
+            } else if (type.equals(Long.class)) {
+                return Long.valueOf(value);
+            } else if (type.equals(Float.class)) {
+                return Float.valueOf(value);
+            } else if (type.equals(Double.class)) {
+                return Double.valueOf(value);
+            } else if (type.equals(BigInteger.class)) {
+                return new BigInteger(value);
+            } else if (type.equals(BigDecimal.class)) {
+                return new BigDecimal(value);
+            } else if (type.equals(Timestamp.class)) {
+                int separator = value.indexOf(':');
+                Timestamp timestamp = new Timestamp(Long.parseLong(value.substring(0, separator)));
+                timestamp.setNanos(Integer.parseInt(value.substring(separator + 1)));
+                return timestamp;
+            } else if (type.equals(java.sql.Date.class)) {
+                return new java.sql.Date(Long.parseLong(value));
+            } else if (type.equals(Time.class)) {
+                return new Time(Long.parseLong(value));
+            } else if (type.equals(Date.class)) {
+                return new Date(Long.parseLong(value));
+            } else if (type.isEnum()) {
+                return Enum.valueOf((Class) type, value);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid key value " + value + " for " + type.getName(), e);
+        }
+        throw new IllegalArgumentException("Unsupported key type " + type.getName());
+    }
+
+}
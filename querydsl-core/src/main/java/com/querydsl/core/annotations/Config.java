@@ -57,4 +57,9 @@ public @interface Config {
      */
     String defaultVariableName() default "";
 
+    /**
+     * Create lazily initialized path accessors instead of eagerly initialized path fields
+     */
+    boolean lazyPaths() default false;
+
 }
@@ -186,7 +186,7 @@ public abstract class SerializerBase<S extends SerializerBase<S>> implements Vis
     }
 
     @Override
-    public final Void visit(Constant<?> expr, Void context) {
+    public Void visit(Constant<?> expr, Void context) {
         visitConstant(expr.getConstant());
         return null;
     }
@@ -138,7 +138,7 @@ public class ConstructorExpression<T> extends FactoryExpressionBase<T> {
             for (Function<Object[], Object[]> transformer : transformers) {
                 args = transformer.apply(args);
             }
-            return (T) constructor.newInstance(args);
+            return (T) create(constructor, args);
         } catch (SecurityException e) {
             throw new ExpressionException(e.getMessage(), e);
         } catch (InstantiationException e) {
@@ -150,6 +150,18 @@ public class ConstructorExpression<T> extends FactoryExpressionBase<T> {
         }
     }
 
+    /**
+     * Invoke the given constructor with the given transformed arguments
+     *
+     * @param constructor constructor
+     * @param args arguments
+     * @return new instance
+     */
+    Object create(Constructor<?> constructor, Object[] args)
+            throws InstantiationException, IllegalAccessException, InvocationTargetException {
+        return constructor.newInstance(args);
+    }
+
     private void readObject(ObjectInputStream ois)
             throws ClassNotFoundException, IOException {
         ois.readObject();
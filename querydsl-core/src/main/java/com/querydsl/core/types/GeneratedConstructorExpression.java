@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.annotation.Nullable;
+
+import net.sf.cglib.reflect.FastClass;
+
+/**
+ * {@code GeneratedConstructorExpression} is a {@link ConstructorExpression} which invokes the
+ * constructor via a generated accessor class
+ *
+ * @param <T> expression type
+ */
+final class GeneratedConstructorExpression<T> extends ConstructorExpression<T> {
+
+    private static final long serialVersionUID = -2863126433573834431L;
+
+    @Nullable
+    private transient volatile FastClass accessor;
+
+    private transient volatile boolean unavailable;
+
+    private transient int constructorIndex;
+
+    GeneratedConstructorExpression(Class<? extends T> type, Expression<?>... args) {
+        super(type, args);
+    }
+
+    GeneratedConstructorExpression(Class<? extends T> type, Class<?>[] paramTypes, Expression<?>... args) {
+        super(type, paramTypes, args);
+    }
+
+    @Nullable
+    private FastClass getAccessor(Constructor<?> constructor) {
+        if (accessor == null && !unavailable) {
+            try {
+                FastClass fastClass = FastClass.create(getType());
+                constructorIndex = fastClass.getIndex(constructor.getParameterTypes());
+                if (constructorIndex >= 0) {
+                    accessor = fastClass;
+                } else {
+                    unavailable = true;
+                }
+            } catch (RuntimeException e) {
+                unavailable = true;
+            } catch (LinkageError e) {
+                unavailable = true;
+            }
+        }
+        return accessor;
+    }
+
+    @Override
+    Object create(Constructor<?> constructor, Object[] args)
+            throws InstantiationException, IllegalAccessException, InvocationTargetException {
+        FastClass fastClass = getAccessor(constructor);
+        if (fastClass != null) {
+            return fastClass.newInstance(constructorIndex, args);
+        } else {
+            return super.create(constructor, args);
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types;
+
+import java.util.Map;
+
+/**
+ * Factory class for {@link FactoryExpression} instances which populate their results through
+ * generated accessor classes instead of reflection
+ *
+ * <p>The accessor classes are generated with cglib, which is an optional dependency of
+ * querydsl-core. If cglib is not available or no accessor class can be generated for the given
+ * type, the projections fall back to reflection like the ones created via {@link Projections}.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ * List&lt;UserDTO&gt; dtos = query.select(
+ *     GeneratedProjections.bean(UserDTO.class, user.firstName, user.lastName)).fetch();
+ * </pre>
+ */
+public final class GeneratedProjections {
+
+    /**
+     * Create a Bean populating projection for the given type and expressions
+     *
+     * @param <T> type of projection
+     * @param type type of the projection
+     * @param exprs arguments for the projection
+     * @return factory expression
+     */
+    public static <T> QBean<T> bean(Class<? extends T> type, Expression<?>... exprs) {
+        return new GeneratedQBean<T>(type, exprs);
+    }
+
+    /**
+     * Create a Bean populating projection for the given type and expressions
+     *
+     * @param <T> type of projection
+     * @param type type of the projection
+     * @param exprs arguments for the projection
+     * @return factory expression
+     */
+    public static <T> QBean<T> bean(Path<? extends T> type, Expression<?>... exprs) {
+        return new GeneratedQBean<T>(type.getType(), exprs);
+    }
+
+    /**
+     * Create a Bean populating projection for the given type and bindings
+     *
+     * @param <T> type of projection
+     * @param type type of the projection
+     * @param bindings property bindings
+     * @return factory expression
+     */
+    public static <T> QBean<T> bean(Path<? extends T> type, Map<String, ? extends Expression<?>> bindings) {
+        return new GeneratedQBean<T>(type.getType(), bindings);
+    }
+
+    /**
+     * Create a Bean populating projection for the given type and bindings
+     *
+     * @param <T> type of projection
+     * @param type type of the projection
+     * @param bindings property bindings
+     * @return factory expression
+     */
+    public static <T> QBean<T> bean(Class<? extends T> type, Map<String, ? extends Expression<?>> bindings) {
+        return new GeneratedQBean<T>(type, bindings);
+    }
+
+    /**
+     * Create a constructor invocation projection for the given type and expressions
+     *
+     * @param <T> type projection
+     * @param type type of the projection
+     * @param exprs arguments for the projection
+     * @return factory expression
+     */
+    public static <T> ConstructorExpression<T> constructor(Class<? extends T> type, Expression<?>... exprs) {
+        return new GeneratedConstructorExpression<T>(type, exprs);
+    }
+
+    /**
+     * Create a constructor invocation projection for given type, parameter types and expressions
+     *
+     * @param type type of the projection
+     * @param paramTypes constructor parameter types
+     * @param exprs constructor parameters
+     * @param <T> type of projection
+     * @return factory expression
+     */
+    public static <T> ConstructorExpression<T> constructor(Class<? extends T> type, Class<?>[] paramTypes, Expression<?>... exprs) {
+        return new GeneratedConstructorExpression<T>(type, paramTypes, exprs);
+    }
+
+    private GeneratedProjections() { }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import net.sf.cglib.reflect.FastClass;
+
+/**
+ * {@code GeneratedQBean} is a {@link QBean} which populates the bean via a generated accessor class
+ *
+ * @param <T> bean type
+ */
+final class GeneratedQBean<T> extends QBean<T> {
+
+    private static final long serialVersionUID = 4398291034788128137L;
+
+    @Nullable
+    private transient volatile FastClass accessor;
+
+    private transient volatile boolean unavailable;
+
+    private transient int constructorIndex;
+
+    private transient int[] setterIndices;
+
+    GeneratedQBean(Class<? extends T> type, Expression<?>... args) {
+        super(type, args);
+    }
+
+    GeneratedQBean(Class<? extends T> type, Map<String, ? extends Expression<?>> bindings) {
+        super(type, bindings);
+    }
+
+    @Nullable
+    private FastClass getAccessor() {
+        if (accessor == null && !unavailable) {
+            try {
+                FastClass fastClass = FastClass.create(getType());
+                List<Method> setters = getSetters();
+                int[] indices = new int[setters.size()];
+                for (int i = 0; i < indices.length; i++) {
+                    Method setter = setters.get(i);
+                    indices[i] = setter != null ? fastClass.getIndex(setter.getName(), setter.getParameterTypes()) : -1;
+                    if (setter != null && indices[i] < 0) {
+                        unavailable = true;
+                        return null;
+                    }
+                }
+                constructorIndex = fastClass.getIndex(new Class<?>[0]);
+                if (constructorIndex < 0) {
+                    unavailable = true;
+                    return null;
+                }
+                setterIndices = indices;
+                accessor = fastClass;
+            } catch (RuntimeException e) {
+                unavailable = true;
+            } catch (LinkageError e) {
+                unavailable = true;
+            }
+        }
+        return accessor;
+    }
+
+    /**
+     * Get whether the bean is populated via a generated accessor class
+     *
+     * @return true, if the accessor class is used
+     */
+    boolean isGenerated() {
+        return getAccessor() != null;
+    }
+
+    @Override
+    public T newInstance(Object... a) {
+        FastClass fastClass = getAccessor();
+        if (fastClass == null) {
+            return super.newInstance(a);
+        }
+        try {
+            T rv = create(getType());
+            Object[] arg = new Object[1];
+            for (int i = 0; i < a.length; i++) {
+                Object value = a[i];
+                if (value != null && setterIndices[i] >= 0) {
+                    arg[0] = value;
+                    fastClass.invoke(setterIndices[i], rv, arg);
+                }
+            }
+            return rv;
+        } catch (InstantiationException e) {
+            throw new ExpressionException(e.getMessage(), e);
+        } catch (IllegalAccessException e) {
+            throw new ExpressionException(e.getMessage(), e);
+        } catch (InvocationTargetException e) {
+            throw new ExpressionException(e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <U> U create(Class<U> type) throws IllegalAccessException, InstantiationException {
+        FastClass fastClass = getAccessor();
+        if (fastClass == null || !type.equals(getType())) {
+            return super.create(type);
+        }
+        try {
+            return (U) fastClass.newInstance(constructorIndex, null);
+        } catch (InvocationTargetException e) {
+            throw new ExpressionException(e.getMessage(), e);
+        }
+    }
+
+}
@@ -13,7 +13,6 @@
  */
 package com.querydsl.core.types;
 
-import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
@@ -23,7 +22,11 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Primitives;
@@ -52,6 +55,15 @@ public class QBean<T> extends FactoryExpressionBase<T> {
 
     private static final long serialVersionUID = -8210214512730989778L;
 
+    private static final LoadingCache<Class<?>, PropertyDescriptor[]> propertyDescriptors =
+        CacheBuilder.newBuilder().weakKeys().build(
+            new CacheLoader<Class<?>, PropertyDescriptor[]>() {
+                @Override
+                public PropertyDescriptor[] load(Class<?> beanType) throws IntrospectionException {
+                    return Introspector.getBeanInfo(beanType).getPropertyDescriptors();
+                }
+            });
+
     private static ImmutableMap<String,Expression<?>> createBindings(Expression<?>... args) {
         ImmutableMap.Builder<String, Expression<?>> rv = ImmutableMap.builder();
         for (Expression<?> expr : args) {
@@ -181,8 +193,7 @@ public class QBean<T> extends FactoryExpressionBase<T> {
     private List<Method> initMethods(Map<String, ? extends Expression<?>> args) {
         try {
             List<Method> methods = new ArrayList<Method>(args.size());
-            BeanInfo beanInfo = Introspector.getBeanInfo(getType());
-            PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
+            PropertyDescriptor[] propertyDescriptors = QBean.propertyDescriptors.get(getType());
             for (Map.Entry<String, ? extends Expression<?>> entry : args.entrySet()) {
                 String property = entry.getKey();
                 Expression<?> expr = entry.getValue();
@@ -202,11 +213,20 @@ public class QBean<T> extends FactoryExpressionBase<T> {
                 methods.add(setter);
             }
             return methods;
-        } catch (IntrospectionException e) {
-            throw new RuntimeException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
         }
     }
 
+    /**
+     * Get the setters of the bound properties, empty for field access
+     *
+     * @return setters
+     */
+    List<Method> getSetters() {
+        return setters;
+    }
+
     protected void propertyNotFound(Expression<?> expr, String property) {
         // do nothing
     }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core;
+
+import static org.junit.Assert.*;
+
+import java.sql.Timestamp;
+
+import org.junit.Test;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+
+public class KeysetTest {
+
+    private final StringPath name = Expressions.stringPath("name");
+
+    private final NumberPath<Long> id = Expressions.numberPath(Long.class, "id");
+
+    private final DateTimePath<Timestamp> created = Expressions.dateTimePath(Timestamp.class, "created");
+
+    @Test
+    public void initial() {
+        Keyset keyset = Keyset.of(name.asc(), id.asc());
+        assertTrue(keyset.isInitial());
+        assertNull(keyset.getPredicate());
+        assertEquals(2, keyset.getOrderBy().size());
+    }
+
+    @Test
+    public void expanded() {
+        Keyset keyset = Keyset.of(name.asc(), id.desc()).after("Bob", 3L);
+        assertFalse(keyset.isInitial());
+        assertEquals("name > Bob || name = Bob && id < 3", keyset.getPredicate().toString());
+        assertEquals("name > Bob || name = Bob && id < 3", keyset.getPredicate(true).toString());
+    }
+
+    @Test
+    public void rowValue() {
+        Keyset keyset = Keyset.of(name.asc(), id.asc()).after("Bob", 3L);
+        assertEquals("(name, id) > (Bob, 3)", keyset.getPredicate(true).toString());
+    }
+
+    @Test
+    public void single_key() {
+        assertEquals("id < 3", Keyset.of(id.desc()).after(3L).getPredicate(true).toString());
+    }
+
+    @Test
+    public void after_tuple() {
+        Tuple row = Projections.tuple(id, name).newInstance(3L, "Bob");
+        Keyset keyset = Keyset.of(name.asc(), id.asc()).after(row);
+        assertEquals("name > Bob || name = Bob && id > 3", keyset.getPredicate().toString());
+    }
+
+    @Test
+    public void token() {
+        Timestamp timestamp = new Timestamp(1000L);
+        timestamp.setNanos(123456789);
+        Keyset initial = Keyset.of(name.asc(), id.asc(), created.desc());
+        String token = initial.after("B/ob:ö", 3L, timestamp).getToken();
+        Keyset keyset = initial.afterToken(token);
+        assertEquals(initial.after("B/ob:ö", 3L, timestamp).getPredicate().toString(), keyset.getPredicate().toString());
+        assertEquals(token, keyset.getToken());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_token() {
+        Keyset.of(name.asc(), id.asc()).afterToken("abc");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void null_value() {
+        Keyset.of(name.asc(), id.asc()).after("Bob", null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void initial_token() {
+        Keyset.of(name.asc()).getToken();
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.querydsl.core.types.dsl.*;
+
+public class GeneratedProjectionsTest {
+
+    public static class Entity {
+
+        private String name;
+
+        private int age;
+
+        public Entity() { }
+
+        public Entity(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+    }
+
+    public static class ProtectedEntity {
+
+        private String name;
+
+        protected ProtectedEntity() { }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    private PathBuilder<Entity> entity = new PathBuilder<Entity>(Entity.class, "entity");
+
+    private StringPath name = entity.getString("name");
+
+    private NumberPath<Integer> age = entity.getNumber("age", Integer.class);
+
+    @Test
+    public void bean() {
+        QBean<Entity> projection = GeneratedProjections.bean(Entity.class, name, age);
+        assertTrue(((GeneratedQBean<Entity>) projection).isGenerated());
+        Entity bean = projection.newInstance("Fritz", 30);
+        assertEquals("Fritz", bean.getName());
+        assertEquals(30, bean.getAge());
+
+        bean = projection.newInstance(null, 31);
+        assertNull(bean.getName());
+        assertEquals(31, bean.getAge());
+    }
+
+    @Test
+    public void bean_with_protected_constructor() {
+        QBean<ProtectedEntity> projection = GeneratedProjections.bean(ProtectedEntity.class, name);
+        assertFalse(((GeneratedQBean<ProtectedEntity>) projection).isGenerated());
+        assertEquals("Fritz", projection.newInstance("Fritz").getName());
+    }
+
+    @Test
+    public void bean_with_bindings() {
+        Map<String, Expression<?>> bindings = new LinkedHashMap<String, Expression<?>>();
+        bindings.put("age", age);
+        bindings.put("name", name);
+        Entity bean = GeneratedProjections.bean(Entity.class, bindings).newInstance(30, "Fritz");
+        assertEquals("Fritz", bean.getName());
+        assertEquals(30, bean.getAge());
+    }
+
+    @Test
+    public void bean_with_unknown_property() {
+        StringPath other = entity.getString("other");
+        Entity bean = GeneratedProjections.bean(Entity.class, name, other).newInstance("Fritz", "x");
+        assertEquals("Fritz", bean.getName());
+    }
+
+    @Test
+    public void constructor() {
+        Entity bean = GeneratedProjections.constructor(Entity.class, name, age).newInstance("Fritz", 30);
+        assertEquals("Fritz", bean.getName());
+        assertEquals(30, bean.getAge());
+    }
+
+    @Test
+    public void constructor_with_param_types() {
+        Entity bean = GeneratedProjections.constructor(Entity.class, new Class<?>[]{String.class, int.class}, name, age)
+                .newInstance("Fritz", 30);
+        assertEquals("Fritz", bean.getName());
+        assertEquals(30, bean.getAge());
+    }
+
+}
@@ -33,6 +33,8 @@ import com.mysema.commons.lang.CloseableIterator;
 import com.querydsl.core.*;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.jpa.JPAQueryBase;
 import com.querydsl.jpa.JPQLSerializer;
 import com.querydsl.jpa.JPQLTemplates;
@@ -208,13 +210,21 @@ public abstract class AbstractJPAQuery<T, Q extends AbstractJPAQuery<T, Q>> exte
     @Override
     public QueryResults<T> fetchResults() {
         try {
-            Query countQuery = createQuery(null, true);
-            long total = (Long) countQuery.getSingleResult();
+            QueryModifiers modifiers = getMetadata().getModifiers();
+            Query query = createQuery(modifiers, false);
+            @SuppressWarnings("unchecked")
+            List<T> list = (List<T>) getResultList(query);
+            Long limit = modifiers.getLimit();
+            long offset = modifiers.getOffset() != null ? modifiers.getOffset() : 0L;
+            long total;
+            if (list.isEmpty() ? offset == 0 : (limit == null || list.size() < limit)) {
+                // the total can be derived from the page
+                total = offset + list.size();
+            } else {
+                Query countQuery = createQuery(null, true);
+                total = (Long) countQuery.getSingleResult();
+            }
             if (total > 0) {
-                QueryModifiers modifiers = getMetadata().getModifiers();
-                Query query = createQuery(modifiers, false);
-                @SuppressWarnings("unchecked")
-                List<T> list = (List<T>) getResultList(query);
                 return new QueryResults<T>(list, modifiers, total);
             } else {
                 return QueryResults.emptyResults();
@@ -279,6 +289,21 @@ public abstract class AbstractJPAQuery<T, Q extends AbstractJPAQuery<T, Q>> exte
         return (Q) this;
     }
 
+    /**
+     * Restrict the query to the rows after the given keyset and order it by the keyset order
+     *
+     * @param keyset keyset
+     * @return the current object
+     */
+    public Q seek(Keyset keyset) {
+        Predicate predicate = keyset.getPredicate();
+        if (predicate != null) {
+            queryMixin.where(predicate);
+        }
+        List<OrderSpecifier<?>> orderBy = keyset.getOrderBy();
+        return queryMixin.orderBy(orderBy.toArray(new OrderSpecifier<?>[orderBy.size()]));
+    }
+
     @Override
     protected JPQLSerializer createSerializer() {
         return new JPQLSerializer(getTemplates(), entityManager);
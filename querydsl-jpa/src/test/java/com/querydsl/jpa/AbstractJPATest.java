@@ -672,6 +672,39 @@ public abstract class AbstractJPATest {
         assertEquals(1, query().from(cat).distinct().select(cat.birthdate).fetch().size());
     }
 
+    @Test
+    public void fetchResults_partial_page() {
+        QueryResults<String> results = query().from(cat).orderBy(cat.id.asc())
+                .limit(10).select(cat.name).fetchResults();
+        assertEquals(6L, results.getTotal());
+        assertEquals(6, results.getResults().size());
+
+        results = query().from(cat).orderBy(cat.id.asc())
+                .offset(4).limit(10).select(cat.name).fetchResults();
+        assertEquals(6L, results.getTotal());
+        assertEquals(ImmutableList.of("Mary_123", "Some"), results.getResults());
+    }
+
+    @Test
+    public void fetchResults_full_page() {
+        QueryResults<String> results = query().from(cat).orderBy(cat.id.asc())
+                .offset(2).limit(2).select(cat.name).fetchResults();
+        assertEquals(6L, results.getTotal());
+        assertEquals(ImmutableList.of("Felix123", "Allen123"), results.getResults());
+    }
+
+    @Test
+    public void fetchResults_after_last_page() {
+        QueryResults<String> results = query().from(cat).orderBy(cat.id.asc())
+                .offset(10).limit(2).select(cat.name).fetchResults();
+        assertEquals(6L, results.getTotal());
+        assertTrue(results.getResults().isEmpty());
+
+        results = query().from(cat).where(cat.name.eq("none")).limit(2).select(cat.name).fetchResults();
+        assertEquals(0L, results.getTotal());
+        assertTrue(results.getResults().isEmpty());
+    }
+
     @Test
     public void date() {
         assertEquals(2000, query().from(cat).select(cat.birthdate.year()).fetchFirst().intValue());
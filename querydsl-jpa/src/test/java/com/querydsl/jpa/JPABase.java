@@ -35,6 +35,7 @@ import org.junit.runner.RunWith;
 
 import com.mysema.commons.lang.CloseableIterator;
 import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.Keyset;
 import com.querydsl.core.Target;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.testutil.ExcludeIn;
@@ -97,6 +98,24 @@ public class JPABase extends AbstractJPATest implements JPATest {
         assertNotNull(query().from(cat).select(cat).createQuery().unwrap(Connection.class));
     }
 
+    @Test
+    public void seek() {
+        Keyset keyset = Keyset.of(cat.name.asc(), cat.id.asc());
+        List<Tuple> page = query().from(cat).seek(keyset).limit(2).select(cat.name, cat.id).fetch();
+        assertEquals(2, page.size());
+        assertEquals("Allen123", page.get(0).get(cat.name));
+        assertEquals("Bob123", page.get(1).get(cat.name));
+
+        page = query().from(cat).seek(keyset.after(page.get(1))).limit(2).select(cat.name, cat.id).fetch();
+        assertEquals(2, page.size());
+        assertEquals("Felix123", page.get(0).get(cat.name));
+        assertEquals("Mary_123", page.get(1).get(cat.name));
+
+        page = query().from(cat).seek(keyset.after("Ruth123", 2)).limit(2).select(cat.name, cat.id).fetch();
+        assertEquals(1, page.size());
+        assertEquals("Some", page.get(0).get(cat.name));
+    }
+
     @Test
     @Ignore
     public void delete() {
@@ -28,8 +28,6 @@ import org.apache.lucene.search.Query;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableList;
-import com.mysema.commons.lang.CloseableIterator;
-import com.mysema.commons.lang.EmptyCloseableIterator;
 import com.mysema.commons.lang.IteratorAdapter;
 import com.querydsl.core.*;
 import com.querydsl.core.support.QueryMixin;
@@ -67,6 +65,11 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
     @Nullable
     private Sort querySort;
 
+    @Nullable
+    private ScoreDoc searchAfter;
+
+    private int fetchSize;
+
     @SuppressWarnings("unchecked")
     public AbstractLuceneQuery(LuceneSerializer serializer, IndexSearcher searcher,
             Function<Document, T> transformer) {
@@ -165,8 +168,40 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
         return queryMixin.limit(limit);
     }
 
+    /**
+     * Continue the search after the given hit, typically the last hit of the previous page
+     * obtained via {@link PagedResultIterator#getLastScoreDoc()}
+     *
+     * <p>The hit needs to originate from a search with the same query. Only unsorted
+     * searches can be continued with Lucene 3.</p>
+     *
+     * @param after hit to continue after
+     * @return the current object
+     */
+    @SuppressWarnings("unchecked")
+    public Q searchAfter(@Nullable ScoreDoc after) {
+        this.searchAfter = after;
+        return (Q) this;
+    }
+
+    /**
+     * Set the number of hits to fetch per search request. By default all hits within
+     * limit and offset are fetched with a single request.
+     *
+     * @param fetchSize fetch size
+     * @return the current object
+     */
+    @SuppressWarnings("unchecked")
+    public Q fetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be greater than 0.");
+        }
+        this.fetchSize = fetchSize;
+        return (Q) this;
+    }
+
     @Override
-    public CloseableIterator<T> iterate() {
+    public PagedResultIterator<T> iterate() {
         final QueryMetadata metadata = queryMixin.getMetadata();
         final List<OrderSpecifier<?>> orderBys = metadata.getOrderBy();
         final Integer queryLimit = metadata.getModifiers().getLimitAsInteger();
@@ -176,9 +211,6 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
         final int offset = queryOffset != null ? queryOffset : 0;
         try {
             limit = maxDoc();
-            if (limit == 0) {
-                return new EmptyCloseableIterator<T>();
-            }
         } catch (IOException e) {
             throw new QueryException(e);
         } catch (IllegalArgumentException e) {
@@ -191,24 +223,12 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
             sort = serializer.toSort(orderBys);
         }
 
-        try {
-            ScoreDoc[] scoreDocs;
-            int sumOfLimitAndOffset = limit + offset;
-            if (sumOfLimitAndOffset < 1) {
-                throw new QueryException("The given limit (" + limit + ") and offset (" + offset + ") cause an integer overflow.");
-            }
-            if (sort != null) {
-                scoreDocs = searcher.search(createQuery(), getFilter(), sumOfLimitAndOffset, sort).scoreDocs;
-            } else {
-                scoreDocs = searcher.search(createQuery(), getFilter(), sumOfLimitAndOffset).scoreDocs;
-            }
-            if (offset < scoreDocs.length) {
-                return new ResultIterator<T>(scoreDocs, offset, searcher, fieldSelector, transformer);
-            }
-            return new EmptyCloseableIterator<T>();
-        } catch (final IOException e) {
-            throw new QueryException(e);
+        int sumOfLimitAndOffset = limit + offset;
+        if (limit > 0 && sumOfLimitAndOffset < 1) {
+            throw new QueryException("The given limit (" + limit + ") and offset (" + offset + ") cause an integer overflow.");
         }
+        return new PagedResultIterator<T>(searcher, createQuery(), getFilter(), sort,
+                searchAfter, offset, limit, fetchSize > 0 ? fetchSize : limit, fieldSelector, transformer);
     }
 
     private List<T> innerList() {
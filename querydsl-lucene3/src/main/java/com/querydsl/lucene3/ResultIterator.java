@@ -32,7 +32,10 @@ import com.querydsl.core.QueryException;
  * @author tiwe
  *
  * @param <T>
+ * @deprecated No longer used by {@link AbstractLuceneQuery}, which iterates over the results
+ * with {@link PagedResultIterator}.
  */
+@Deprecated
 public final class ResultIterator<T> implements CloseableIterator<T> {
 
     private final ScoreDoc[] scoreDocs;
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.lucene4;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.search.*;
+
+import com.google.common.base.Function;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.QueryException;
+
+/**
+ * {@code PagedResultIterator} is a {@link CloseableIterator} implementation for Lucene query
+ * results, which fetches the hits in pages of the given size via
+ * {@link IndexSearcher#searchAfter(ScoreDoc, Query, Filter, int, Sort)}
+ *
+ * @param <T>
+ */
+public final class PagedResultIterator<T> implements CloseableIterator<T> {
+
+    private static final ScoreDoc[] EMPTY = new ScoreDoc[0];
+
+    private final IndexSearcher searcher;
+
+    private final Query query;
+
+    @Nullable
+    private final Filter filter;
+
+    private final Sort sort;
+
+    private final int pageSize;
+
+    @Nullable
+    private final Set<String> fieldsToLoad;
+
+    private final Function<Document, T> transformer;
+
+    @Nullable
+    private ScoreDoc after, last;
+
+    private ScoreDoc[] scoreDocs = EMPTY;
+
+    private int cursor, offset, remaining;
+
+    private boolean exhausted;
+
+    public PagedResultIterator(IndexSearcher searcher, Query query, @Nullable Filter filter, Sort sort,
+            @Nullable ScoreDoc after, int offset, int limit, int pageSize,
+            @Nullable Set<String> fieldsToLoad, Function<Document, T> transformer) {
+        this.searcher = searcher;
+        this.query = query;
+        this.filter = filter;
+        this.sort = sort;
+        this.after = after;
+        this.offset = offset;
+        this.remaining = limit;
+        this.pageSize = pageSize;
+        this.fieldsToLoad = fieldsToLoad;
+        this.transformer = transformer;
+    }
+
+    private void fetchPage() throws IOException {
+        // the first page covers the offset as well
+        int n = (int) Math.min(Integer.MAX_VALUE, (long) offset + Math.min(remaining, pageSize));
+        TopDocs topDocs;
+        if (after != null) {
+            topDocs = searcher.searchAfter(after, query, filter, n, sort);
+        } else {
+            topDocs = searcher.search(query, filter, n, sort, false, false);
+        }
+        scoreDocs = topDocs.scoreDocs;
+        exhausted = scoreDocs.length < n;
+        if (scoreDocs.length > 0) {
+            after = scoreDocs[scoreDocs.length - 1];
+        }
+        cursor = Math.min(offset, scoreDocs.length);
+        offset -= cursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (remaining <= 0) {
+            return false;
+        }
+        try {
+            while (cursor == scoreDocs.length) {
+                if (exhausted) {
+                    return false;
+                }
+                fetchPage();
+            }
+            return true;
+        } catch (IOException e) {
+            throw new QueryException(e);
+        } catch (IllegalArgumentException e) {
+            throw new QueryException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            last = scoreDocs[cursor++];
+            remaining--;
+            Document document;
+            if (fieldsToLoad != null) {
+                document = searcher.doc(last.doc, fieldsToLoad);
+            } else {
+                document = searcher.doc(last.doc);
+            }
+            return transformer.apply(document);
+        } catch (IOException e) {
+            throw new QueryException(e);
+        }
+    }
+
+    /**
+     * Get the hit of the last returned document, which can be used as the cursor of a
+     * following {@link AbstractLuceneQuery#searchAfter(ScoreDoc)} call
+     *
+     * @return last hit or null, if no documents have been returned
+     */
+    @Nullable
+    public ScoreDoc getLastScoreDoc() {
+        return last;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+        scoreDocs = EMPTY;
+        remaining = 0;
+    }
+
+}
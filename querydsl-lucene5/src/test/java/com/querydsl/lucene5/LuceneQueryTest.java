@@ -810,6 +810,43 @@ public class LuceneQueryTest {
         assertEquals(4, count);
     }
 
+    @Test
+    public void iterate_with_fetch_size() {
+        query.where(year.between(1800, 2000)).orderBy(year.asc());
+        List<Document> expected = query.fetch();
+        List<Document> documents = query.fetchSize(1).fetch();
+        assertEquals(4, documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            assertEquals(expected.get(i).get("title"), documents.get(i).get("title"));
+        }
+    }
+
+    @Test
+    public void iterate_with_fetch_size_and_offset() {
+        query.where(year.between(1800, 2000)).orderBy(year.asc());
+        List<Document> expected = query.fetch();
+        List<Document> documents = query.offset(1).limit(2).fetchSize(1).fetch();
+        assertEquals(2, documents.size());
+        assertEquals(expected.get(1).get("title"), documents.get(0).get("title"));
+        assertEquals(expected.get(2).get("title"), documents.get(1).get("title"));
+    }
+
+    @Test
+    public void search_after() {
+        query.where(year.between(1800, 2000)).orderBy(year.asc());
+        List<Document> expected = query.fetch();
+        PagedResultIterator<Document> iterator = query.limit(2).iterate();
+        assertNull(iterator.getLastScoreDoc());
+        assertEquals(expected.get(0).get("title"), iterator.next().get("title"));
+        assertEquals(expected.get(1).get("title"), iterator.next().get("title"));
+        assertFalse(iterator.hasNext());
+
+        List<Document> documents = query.searchAfter(iterator.getLastScoreDoc()).fetch();
+        assertEquals(2, documents.size());
+        assertEquals(expected.get(2).get("title"), documents.get(0).get("title"));
+        assertEquals(expected.get(3).get("title"), documents.get(1).get("title"));
+    }
+
     @Test
     public void all_by_excluding_where() {
         assertEquals(4, query.fetch().size());
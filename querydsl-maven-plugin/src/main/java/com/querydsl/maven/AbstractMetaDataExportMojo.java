@@ -19,6 +19,8 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Comparator;
 
+import javax.inject.Provider;
+
 import org.apache.maven.artifact.manager.WagonManager;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -223,6 +225,27 @@ public class AbstractMetaDataExportMojo extends AbstractMojo {
      */
     private boolean innerClassesForKeys;
 
+    /**
+     * initialize column paths and metadata lazily (default: false)
+     *
+     * @parameter default-value=false
+     */
+    private boolean lazyPaths;
+
+    /**
+     * fetch the columns of all tables with a single metadata query (default: false)
+     *
+     * @parameter default-value=false
+     */
+    private boolean bulkColumns;
+
+    /**
+     * number of threads used for metadata extraction and serialization (default: 1)
+     *
+     * @parameter default-value=1
+     */
+    private int threads = 1;
+
     /**
      * export validation annotations (default: false)
      *
@@ -420,6 +443,9 @@ public class AbstractMetaDataExportMojo extends AbstractMojo {
             exporter.setPackageName(packageName);
             exporter.setBeanPackageName(beanPackageName);
             exporter.setInnerClassesForKeys(innerClassesForKeys);
+            exporter.setLazyPaths(lazyPaths);
+            exporter.setBulkColumns(bulkColumns);
+            exporter.setThreads(threads);
             exporter.setTargetFolder(new File(targetFolder));
             exporter.setNamingStrategy(namingStrategy);
             exporter.setSchemaPattern(schemaPattern);
@@ -512,8 +538,8 @@ public class AbstractMetaDataExportMojo extends AbstractMojo {
             exporter.setConfiguration(configuration);
 
             Class.forName(jdbcDriver);
-            String user;
-            String password;
+            final String user;
+            final String password;
             if (server == null) {
                 user = jdbcUser;
                 password = jdbcPassword;
@@ -533,12 +559,25 @@ public class AbstractMetaDataExportMojo extends AbstractMojo {
                     throw new MojoExecutionException("Missing password from server " + server);
                 }
             }
-            Connection conn = DriverManager.getConnection(jdbcUrl, user, password);
-            try {
-                exporter.export(conn.getMetaData());
-            } finally {
-                if (conn != null) {
-                    conn.close();
+            if (threads > 1) {
+                exporter.export(new Provider<Connection>() {
+                    @Override
+                    public Connection get() {
+                        try {
+                            return DriverManager.getConnection(jdbcUrl, user, password);
+                        } catch (SQLException e) {
+                            throw new IllegalStateException(e.getMessage(), e);
+                        }
+                    }
+                });
+            } else {
+                Connection conn = DriverManager.getConnection(jdbcUrl, user, password);
+                try {
+                    exporter.export(conn.getMetaData());
+                } finally {
+                    if (conn != null) {
+                        conn.close();
+                    }
                 }
             }
         } catch (ClassNotFoundException e) {
@@ -641,6 +680,18 @@ public class AbstractMetaDataExportMojo extends AbstractMojo {
         this.innerClassesForKeys = innerClassesForKeys;
     }
 
+    public void setLazyPaths(boolean lazyPaths) {
+        this.lazyPaths = lazyPaths;
+    }
+
+    public void setBulkColumns(boolean bulkColumns) {
+        this.bulkColumns = bulkColumns;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     public void setValidationAnnotations(boolean validationAnnotations) {
         this.validationAnnotations = validationAnnotations;
     }
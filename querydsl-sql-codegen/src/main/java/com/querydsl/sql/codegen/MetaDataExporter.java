@@ -17,18 +17,24 @@ import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.*;
 
 import javax.annotation.Nullable;
+import javax.inject.Provider;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Function;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.io.Files;
 import com.mysema.codegen.CodeWriter;
 import com.mysema.codegen.JavaWriter;
@@ -123,6 +129,10 @@ public class MetaDataExporter {
     @Nullable
     private String tableTypesToExport;
 
+    private boolean bulkColumns = false;
+
+    private int threads = 1;
+
     public MetaDataExporter() { }
 
     protected EntityType createEntityType(SchemaAndTable schemaAndTable,
@@ -181,6 +191,26 @@ public class MetaDataExporter {
      * @throws SQLException
      */
     public void export(DatabaseMetaData md) throws SQLException {
+        export(md, null);
+    }
+
+    /**
+     * Export the tables based on the metadata of the given connections. If more than one thread
+     * is used, the table metadata is extracted concurrently with one connection per thread.
+     *
+     * @param connections connection provider
+     * @throws SQLException
+     */
+    public void export(Provider<Connection> connections) throws SQLException {
+        Connection conn = connections.get();
+        try {
+            export(conn.getMetaData(), connections);
+        } finally {
+            conn.close();
+        }
+    }
+
+    private void export(DatabaseMetaData md, @Nullable Provider<Connection> connections) throws SQLException {
         if (beanPackageName == null) {
             beanPackageName =  module.getPackageName();
         }
@@ -244,39 +274,154 @@ public class MetaDataExporter {
             tables = ImmutableList.copyOf(tableNamePattern.split(","));
         }
 
+        List<TableData> tableData = new ArrayList<TableData>();
         for (String schema : schemas) {
             schema = schema != null ? schema.trim() : null;
             for (String table : tables) {
                 table = table != null ? table.trim() : null;
-                handleTables(md, schema, table, typesArray);
+                handleTables(md, schema, table, typesArray, tableData);
+            }
+        }
+
+        // collect keys and columns
+        if (connections != null && threads > 1 && tableData.size() > 1) {
+            final Provider<Connection> provider = connections;
+            final Queue<TableData> queue = new ConcurrentLinkedQueue<TableData>(tableData);
+            List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+            for (int i = 0; i < Math.min(threads, tableData.size()); i++) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws SQLException {
+                        Connection conn = provider.get();
+                        try {
+                            DatabaseMetaData md = conn.getMetaData();
+                            TableData table;
+                            while ((table = queue.poll()) != null) {
+                                handleTableMetaData(md, table);
+                            }
+                        } finally {
+                            conn.close();
+                        }
+                        return null;
+                    }
+                });
+            }
+            execute(tasks);
+        } else {
+            for (TableData table : tableData) {
+                handleTableMetaData(md, table);
+            }
+        }
+
+        // create and serialize models
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (final TableData table : tableData) {
+            final EntityType classModel = handleTable(table);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    serialize(classModel, table.schemaAndTable);
+                    logger.info("Exported " + table.tableName + " successfully");
+                    return null;
+                }
+            });
+        }
+        if (threads > 1 && tasks.size() > 1) {
+            execute(tasks);
+        } else {
+            for (Callable<Void> task : tasks) {
+                try {
+                    task.call();
+                } catch (Exception e) {
+                    throw Throwables.propagate(e);
+                }
             }
         }
     }
 
-    private void handleTables(DatabaseMetaData md, String schemaPattern, String tablePattern, String[] types) throws SQLException {
+    private void execute(List<Callable<Void>> tasks) throws SQLException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), SQLException.class);
+            throw Throwables.propagate(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handleTables(DatabaseMetaData md, String schemaPattern, String tablePattern, String[] types,
+            List<TableData> tableData) throws SQLException {
+        int start = tableData.size();
         ResultSet tables = md.getTables(null, schemaPattern, tablePattern, types);
         try {
             while (tables.next()) {
-                handleTable(md, tables);
+                TableData table = createTableData(tables);
+                if (table != null) {
+                    tableData.add(table);
+                }
             }
         } finally {
             tables.close();
         }
+
+        if (bulkColumns && tableData.size() > start) {
+            // collect the columns of all matching tables at once
+            Map<List<String>, List<ColumnData>> columnData = Maps.newHashMap();
+            ResultSet columns = md.getColumns(null, schemaPattern, tablePattern != null ? tablePattern : "%", null);
+            try {
+                while (columns.next()) {
+                    List<String> key = Arrays.asList(columns.getString("TABLE_CAT"),
+                            columns.getString("TABLE_SCHEM"), columns.getString("TABLE_NAME"));
+                    List<ColumnData> tableColumns = columnData.get(key);
+                    if (tableColumns == null) {
+                        tableColumns = Lists.newArrayList();
+                        columnData.put(key, tableColumns);
+                    }
+                    tableColumns.add(createColumnData(columns));
+                }
+            } finally {
+                columns.close();
+            }
+            for (TableData table : tableData.subList(start, tableData.size())) {
+                List<ColumnData> tableColumns = columnData.get(
+                        Arrays.asList(table.catalog, table.schema, table.rawTableName));
+                table.columns = tableColumns != null ? tableColumns : new ArrayList<ColumnData>();
+            }
+        }
     }
 
     Set<String> getClasses() {
         return classes;
     }
 
-    private void handleColumn(EntityType classModel, String tableName, ResultSet columns) throws SQLException {
-        String columnName = normalize(columns.getString("COLUMN_NAME"));
+    private ColumnData createColumnData(ResultSet columns) throws SQLException {
+        ColumnData column = new ColumnData();
+        column.columnName = normalize(columns.getString("COLUMN_NAME"));
+        column.columnType = columns.getInt("DATA_TYPE");
+        column.typeName = columns.getString("TYPE_NAME");
+        column.columnSize = (Number) columns.getObject("COLUMN_SIZE");
+        column.columnDigits = (Number) columns.getObject("DECIMAL_DIGITS");
+        column.columnIndex = columns.getInt("ORDINAL_POSITION");
+        column.nullable = columns.getInt("NULLABLE");
+        return column;
+    }
+
+    private void handleColumn(EntityType classModel, String tableName, ColumnData columns) {
+        String columnName = columns.columnName;
         String normalizedColumnName = namingStrategy.normalizeColumnName(columnName);
-        int columnType = columns.getInt("DATA_TYPE");
-        String typeName = columns.getString("TYPE_NAME");
-        Number columnSize = (Number) columns.getObject("COLUMN_SIZE");
-        Number columnDigits = (Number) columns.getObject("DECIMAL_DIGITS");
-        int columnIndex = columns.getInt("ORDINAL_POSITION");
-        int nullable = columns.getInt("NULLABLE");
+        int columnType = columns.columnType;
+        String typeName = columns.typeName;
+        Number columnSize = columns.columnSize;
+        Number columnDigits = columns.columnDigits;
+        int columnIndex = columns.columnIndex;
+        int nullable = columns.nullable;
 
         String propertyName = namingStrategy.getPropertyName(normalizedColumnName, classModel);
         Class<?> clazz = configuration.getJavaType(columnType,
@@ -314,7 +459,7 @@ public class MetaDataExporter {
             if (nullable == DatabaseMetaData.columnNoNulls) {
                 property.addAnnotation(new NotNullImpl());
             }
-            int size = columns.getInt("COLUMN_SIZE");
+            int size = columnSize != null ? columnSize.intValue() : 0;
             if (size > 0 && clazz.equals(String.class)) {
                 property.addAnnotation(new SizeImpl(0, size));
             }
@@ -322,77 +467,94 @@ public class MetaDataExporter {
         classModel.addProperty(property);
     }
 
-    private void handleTable(DatabaseMetaData md, ResultSet tables) throws SQLException {
-        String catalog = tables.getString("TABLE_CAT");
-        String schema = tables.getString("TABLE_SCHEM");
-        String schemaName = normalize(tables.getString("TABLE_SCHEM"));
-        String tableName = normalize(tables.getString("TABLE_NAME"));
+    @Nullable
+    private TableData createTableData(ResultSet tables) throws SQLException {
+        TableData table = new TableData();
+        table.catalog = tables.getString("TABLE_CAT");
+        table.schema = tables.getString("TABLE_SCHEM");
+        table.rawTableName = tables.getString("TABLE_NAME");
+        String schemaName = normalize(table.schema);
+        table.tableName = normalize(table.rawTableName);
 
         String normalizedSchemaName = namingStrategy.normalizeSchemaName(schemaName);
-        String normalizedTableName = namingStrategy.normalizeTableName(tableName);
+        String normalizedTableName = namingStrategy.normalizeTableName(table.tableName);
 
-        SchemaAndTable schemaAndTable = new SchemaAndTable(
+        table.schemaAndTable = new SchemaAndTable(
             normalizedSchemaName, normalizedTableName);
 
-        if (!namingStrategy.shouldGenerateClass(schemaAndTable)) {
-            return;
+        if (!namingStrategy.shouldGenerateClass(table.schemaAndTable)) {
+            return null;
         }
+        return table;
+    }
 
-        String className = namingStrategy.getClassName(schemaAndTable);
-        EntityType classModel = createEntityType(schemaAndTable, className);
+    private void handleTableMetaData(DatabaseMetaData md, TableData table) throws SQLException {
+        String catalog = table.catalog;
+        String schema = table.schema;
+        String tableName = table.tableName;
 
         if (exportPrimaryKeys) {
             // collect primary keys
-            Map<String,PrimaryKeyData> primaryKeyData = keyDataFactory
-                    .getPrimaryKeys(md, catalog, schema, tableName);
-            if (!primaryKeyData.isEmpty()) {
-                classModel.getData().put(PrimaryKeyData.class, primaryKeyData.values());
-            }
+            table.primaryKeys = keyDataFactory.getPrimaryKeys(md, catalog, schema, tableName);
         }
 
         if (exportForeignKeys) {
             if (exportDirectForeignKeys) {
                 // collect foreign keys
-                Map<String,ForeignKeyData> foreignKeyData = keyDataFactory
-                        .getImportedKeys(md, catalog, schema, tableName);
-                if (!foreignKeyData.isEmpty()) {
-                    Collection<ForeignKeyData> foreignKeysToGenerate = new HashSet<ForeignKeyData>();
-                    for (ForeignKeyData fkd : foreignKeyData.values()) {
-                        if (namingStrategy.shouldGenerateForeignKey(schemaAndTable, fkd)) {
-                            foreignKeysToGenerate.add(fkd);
-                        }
-                    }
-
-                    if (!foreignKeysToGenerate.isEmpty()) {
-                        classModel.getData().put(ForeignKeyData.class, foreignKeysToGenerate);
-                    }
-                }
+                table.foreignKeys = keyDataFactory.getImportedKeys(md, catalog, schema, tableName);
             }
 
             if (exportInverseForeignKeys) {
                 // collect inverse foreign keys
-                Map<String,InverseForeignKeyData> inverseForeignKeyData = keyDataFactory
-                        .getExportedKeys(md, catalog, schema, tableName);
-                if (!inverseForeignKeyData.isEmpty()) {
-                    classModel.getData().put(InverseForeignKeyData.class, inverseForeignKeyData.values());
-                }
+                table.inverseForeignKeys = keyDataFactory.getExportedKeys(md, catalog, schema, tableName);
             }
         }
 
         // collect columns
-        ResultSet columns = md.getColumns(catalog, schema, tableName.replace("/", "//"), null);
-        try {
-            while (columns.next()) {
-                handleColumn(classModel, tableName, columns);
+        if (table.columns == null) {
+            List<ColumnData> columnData = new ArrayList<ColumnData>();
+            ResultSet columns = md.getColumns(catalog, schema, tableName.replace("/", "//"), null);
+            try {
+                while (columns.next()) {
+                    columnData.add(createColumnData(columns));
+                }
+            } finally {
+                columns.close();
+            }
+            table.columns = columnData;
+        }
+    }
+
+    private EntityType handleTable(TableData table) {
+        SchemaAndTable schemaAndTable = table.schemaAndTable;
+        String className = namingStrategy.getClassName(schemaAndTable);
+        EntityType classModel = createEntityType(schemaAndTable, className);
+
+        if (table.primaryKeys != null && !table.primaryKeys.isEmpty()) {
+            classModel.getData().put(PrimaryKeyData.class, table.primaryKeys.values());
+        }
+
+        if (table.foreignKeys != null && !table.foreignKeys.isEmpty()) {
+            Collection<ForeignKeyData> foreignKeysToGenerate = new HashSet<ForeignKeyData>();
+            for (ForeignKeyData fkd : table.foreignKeys.values()) {
+                if (namingStrategy.shouldGenerateForeignKey(schemaAndTable, fkd)) {
+                    foreignKeysToGenerate.add(fkd);
+                }
+            }
+
+            if (!foreignKeysToGenerate.isEmpty()) {
+                classModel.getData().put(ForeignKeyData.class, foreignKeysToGenerate);
             }
-        } finally {
-            columns.close();
         }
 
-        // serialize model
-        serialize(classModel, schemaAndTable);
+        if (table.inverseForeignKeys != null && !table.inverseForeignKeys.isEmpty()) {
+            classModel.getData().put(InverseForeignKeyData.class, table.inverseForeignKeys.values());
+        }
 
-        logger.info("Exported " + tableName + " successfully");
+        for (ColumnData column : table.columns) {
+            handleColumn(classModel, table.tableName, column);
+        }
+        return classModel;
     }
 
     private String normalize(String str) {
@@ -426,9 +588,11 @@ public class MetaDataExporter {
     }
 
     private void write(Serializer serializer, File targetFile, EntityType type) throws IOException {
-        if (!classes.add(targetFile.getPath())) {
-            throw new IllegalStateException("Attempted to write multiple times to " +
-                    targetFile.getPath() + ", please check your configuration");
+        synchronized (classes) {
+            if (!classes.add(targetFile.getPath())) {
+                throw new IllegalStateException("Attempted to write multiple times to " +
+                        targetFile.getPath() + ", please check your configuration");
+            }
         }
         StringWriter w = new StringWriter();
         CodeWriter writer = createScalaSources ? new ScalaWriter(w) : new JavaWriter(w);
@@ -603,6 +767,15 @@ public class MetaDataExporter {
         module.bind(SQLCodegenModule.INNER_CLASSES_FOR_KEYS, innerClassesForKeys);
     }
 
+    /**
+     * Set whether column paths and metadata should be initialized lazily
+     *
+     * @param lazyPaths
+     */
+    public void setLazyPaths(boolean lazyPaths) {
+        module.bind(SQLCodegenModule.LAZY_PATHS, lazyPaths);
+    }
+
     /**
      * Set the column comparator class
      *
@@ -774,4 +947,51 @@ public class MetaDataExporter {
         this.tableTypesToExport = tableTypesToExport;
     }
 
+    /**
+     * Set whether the columns of all tables matching the schema and table name patterns
+     * should be fetched with a single metadata query instead of one query per table
+     *
+     * @param bulkColumns
+     */
+    public void setBulkColumns(boolean bulkColumns) {
+        this.bulkColumns = bulkColumns;
+    }
+
+    /**
+     * Set the number of threads used for metadata extraction and serialization (default: 1)
+     *
+     * <p>Metadata is extracted concurrently only when exporting via {@link #export(Provider)}</p>
+     *
+     * @param threads
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    private static final class TableData {
+
+        String catalog, schema, rawTableName, tableName;
+
+        SchemaAndTable schemaAndTable;
+
+        Map<String, PrimaryKeyData> primaryKeys;
+
+        Map<String, ForeignKeyData> foreignKeys;
+
+        Map<String, InverseForeignKeyData> inverseForeignKeys;
+
+        List<ColumnData> columns;
+
+    }
+
+    private static final class ColumnData {
+
+        String columnName, typeName;
+
+        int columnType, columnIndex, nullable;
+
+        Number columnSize, columnDigits;
+
+    }
+
 }
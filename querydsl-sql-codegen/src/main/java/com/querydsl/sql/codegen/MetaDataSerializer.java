@@ -70,12 +70,35 @@ public class MetaDataSerializer extends EntitySerializer {
 
     private final Class<?> entityPathType;
 
+    private final boolean lazyPaths;
+
+    private final Set<String> reservedAccessorNames;
+
+    /**
+     * Create a new {@code MetaDataSerializer} instance
+     *
+     * @param namingStrategy naming strategy for table to class and column to property conversion
+     * @param innerClassesForKeys wrap key properties into inner classes (default: false)
+     * @param imports java user imports
+     */
+    public MetaDataSerializer(
+            TypeMappings typeMappings,
+            NamingStrategy namingStrategy,
+            boolean innerClassesForKeys,
+            Set<String> imports,
+            Comparator<Property> columnComparator,
+            Class<?> entityPathType) {
+        this(typeMappings, namingStrategy, innerClassesForKeys, imports, columnComparator,
+                entityPathType, false);
+    }
+
     /**
      * Create a new {@code MetaDataSerializer} instance
      *
      * @param namingStrategy naming strategy for table to class and column to property conversion
      * @param innerClassesForKeys wrap key properties into inner classes (default: false)
      * @param imports java user imports
+     * @param lazyPaths initialize column paths and metadata lazily (default: false)
      */
     @Inject
     public MetaDataSerializer(
@@ -84,13 +107,16 @@ public class MetaDataSerializer extends EntitySerializer {
             @Named(SQLCodegenModule.INNER_CLASSES_FOR_KEYS) boolean innerClassesForKeys,
             @Named(SQLCodegenModule.IMPORTS) Set<String> imports,
             @Named(SQLCodegenModule.COLUMN_COMPARATOR) Comparator<Property> columnComparator,
-            @Named(SQLCodegenModule.ENTITYPATH_TYPE) Class<?> entityPathType) {
+            @Named(SQLCodegenModule.ENTITYPATH_TYPE) Class<?> entityPathType,
+            @Named(SQLCodegenModule.LAZY_PATHS) boolean lazyPaths) {
         super(typeMappings,Collections.<String>emptyList());
         this.namingStrategy = namingStrategy;
         this.innerClassesForKeys = innerClassesForKeys;
         this.imports = new HashSet<String>(imports);
         this.columnComparator = columnComparator;
         this.entityPathType = entityPathType;
+        this.lazyPaths = lazyPaths;
+        this.reservedAccessorNames = getAccessorNames(entityPathType);
     }
 
     @Override
@@ -121,7 +147,22 @@ public class MetaDataSerializer extends EntitySerializer {
 
     @Override
     protected void constructorContent(CodeWriter writer, EntityType model) throws IOException {
-        writer.line("addMetadata();");
+        if (!lazyPaths) {
+            writer.line("addMetadata();");
+        }
+    }
+
+    @Override
+    protected boolean isLazy(EntityType model, Property field, SerializerConfig config) {
+        return isLazy(field.getEscapedName());
+    }
+
+    private boolean isLazy(String propertyName) {
+        return lazyPaths && !reservedAccessorNames.contains(propertyName);
+    }
+
+    private String getColumnPath(String propertyName) {
+        return isLazy(propertyName) ? propertyName + "()" : propertyName;
     }
 
     @Override
@@ -226,7 +267,7 @@ public class MetaDataSerializer extends EntitySerializer {
             Collections.sort(properties, columnComparator);
         }
         for (Property property : properties) {
-            String name = property.getEscapedName();
+            String name = getColumnPath(property.getEscapedName());
             ColumnMetadata metadata = (ColumnMetadata) property.getData().get("COLUMN");
             StringBuilder columnMeta = new StringBuilder();
             columnMeta.append("ColumnMetadata");
@@ -332,7 +373,7 @@ public class MetaDataSerializer extends EntitySerializer {
         Type queryType = typeMappings.getPathType(field.getType(), model, false);
         if (queryType.getPackageName().startsWith("com.querydsl")) {
             String localRawName = writer.getRawName(field.getType());
-            serialize(model, field, queryType, writer, "create" + field.getType().getSimpleName(),
+            serialize(model, field, queryType, writer, config, "create" + field.getType().getSimpleName(),
                     writer.getClassConstant(localRawName));
         } else {
             super.customField(model, field, config, writer);
@@ -349,7 +390,7 @@ public class MetaDataSerializer extends EntitySerializer {
                 if (!first) {
                     value.append(", ");
                 }
-                value.append(namingStrategy.getPropertyName(column, model));
+                value.append(getColumnPath(namingStrategy.getPropertyName(column, model)));
                 first = false;
             }
             value.append(")");
@@ -376,7 +417,7 @@ public class MetaDataSerializer extends EntitySerializer {
                 value.append("createForeignKey(");
             }
             if (foreignKey.getForeignColumns().size() == 1) {
-                value.append(namingStrategy.getPropertyName(foreignKey.getForeignColumns().get(0), model));
+                value.append(getColumnPath(namingStrategy.getPropertyName(foreignKey.getForeignColumns().get(0), model)));
                 value.append(", \"" + foreignKey.getParentColumns().get(0) + "\"");
             } else {
                 StringBuilder local = new StringBuilder();
@@ -386,7 +427,7 @@ public class MetaDataSerializer extends EntitySerializer {
                         local.append(", ");
                         foreign.append(", ");
                     }
-                    local.append(namingStrategy.getPropertyName(foreignKey.getForeignColumns().get(i), model));
+                    local.append(getColumnPath(namingStrategy.getPropertyName(foreignKey.getForeignColumns().get(i), model)));
                     foreign.append("\"" + foreignKey.getParentColumns().get(i) + "\"");
                 }
                 value.append("Arrays.asList(" + local + "), Arrays.asList(" + foreign + ")");
@@ -48,6 +48,8 @@ public class SQLCodegenModule extends CodegenModule {
 
     public static final String COLUMN_COMPARATOR = "columnComparator";
 
+    public static final String LAZY_PATHS = "lazyPaths";
+
     @Override
     protected void configure() {
         super.configure();
@@ -58,6 +60,7 @@ public class SQLCodegenModule extends CodegenModule {
         bind(BEAN_SERIALIZER, (Class<?>) null);
 
         bind(INNER_CLASSES_FOR_KEYS, false);
+        bind(LAZY_PATHS, false);
         bind(BEAN_PREFIX, "");
         bind(BEAN_SUFFIX, "");
         bind(BEAN_PACKAGE_NAME, "com.example");
@@ -163,6 +163,11 @@ public class AntMetaDataExporter extends Task {
      */
     private boolean innerClassesForKeys;
 
+    /**
+     * initialize column paths and metadata lazily (default: false)
+     */
+    private boolean lazyPaths;
+
     /**
      * export validation annotations (default: false)
      */
@@ -307,6 +312,7 @@ public class AntMetaDataExporter extends Task {
             exporter.setTargetFolder(new File(targetFolder));
             exporter.setNamingStrategy((NamingStrategy) Class.forName(namingStrategyClass).newInstance());
             exporter.setInnerClassesForKeys(innerClassesForKeys);
+            exporter.setLazyPaths(lazyPaths);
             exporter.setSchemaPattern(schemaPattern);
             exporter.setTableNamePattern(tableNamePattern);
             exporter.setColumnAnnotations(columnAnnotations);
@@ -575,6 +581,14 @@ public class AntMetaDataExporter extends Task {
         this.innerClassesForKeys = innerClassesForKeys;
     }
 
+    public boolean isLazyPaths() {
+        return lazyPaths;
+    }
+
+    public void setLazyPaths(boolean lazyPaths) {
+        this.lazyPaths = lazyPaths;
+    }
+
     public boolean isValidationAnnotations() {
         return validationAnnotations;
     }
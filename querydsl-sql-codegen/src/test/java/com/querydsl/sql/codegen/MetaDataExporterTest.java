@@ -20,17 +20,22 @@ import java.io.IOException;
 import java.sql.*;
 import java.util.Set;
 
+import javax.inject.Provider;
 import javax.tools.JavaCompiler;
 
 import org.junit.*;
 import org.junit.rules.TemporaryFolder;
 
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
 import com.mysema.codegen.SimpleCompiler;
 import com.querydsl.codegen.BeanSerializer;
 import com.querydsl.core.util.FileUtils;
 
 public class MetaDataExporterTest {
 
+    private static String url;
+
     private static Connection connection;
 
     private boolean clean = true;
@@ -49,7 +54,7 @@ public class MetaDataExporterTest {
     @BeforeClass
     public static void setUpClass() throws ClassNotFoundException, SQLException {
         Class.forName("org.h2.Driver");
-        String url = "jdbc:h2:mem:testdb" + System.currentTimeMillis();
+        url = "jdbc:h2:mem:testdb" + System.currentTimeMillis();
         connection = DriverManager.getConnection(url, "sa", "");
         createTables(connection);
     }
@@ -164,6 +169,42 @@ public class MetaDataExporterTest {
         assertTrue(new File(folder.getRoot(), "test2/DateTest.java").exists());
     }
 
+    @Test
+    public void concurrent_bulk_export() throws SQLException, IOException {
+        File serialFolder = folder.newFolder("serial");
+        MetaDataExporter exporter = new MetaDataExporter();
+        exporter.setSchemaPattern("PUBLIC");
+        exporter.setPackageName("test");
+        exporter.setTargetFolder(serialFolder);
+        exporter.export(metadata);
+
+        File concurrentFolder = folder.newFolder("concurrent");
+        exporter = new MetaDataExporter();
+        exporter.setSchemaPattern("PUBLIC");
+        exporter.setPackageName("test");
+        exporter.setTargetFolder(concurrentFolder);
+        exporter.setBulkColumns(true);
+        exporter.setThreads(4);
+        exporter.export(new Provider<Connection>() {
+            @Override
+            public Connection get() {
+                try {
+                    return DriverManager.getConnection(url, "sa", "");
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+
+        Set<String> classes = exporter.getClasses();
+        assertFalse(classes.isEmpty());
+        for (String path : classes) {
+            String relativePath = path.substring(concurrentFolder.getPath().length());
+            assertEquals(Files.toString(new File(serialFolder, relativePath), Charsets.UTF_8),
+                    Files.toString(new File(path), Charsets.UTF_8));
+        }
+    }
+
     @Test
     public void minimal_configuration() throws SQLException {
         MetaDataExporter exporter = new MetaDataExporter();
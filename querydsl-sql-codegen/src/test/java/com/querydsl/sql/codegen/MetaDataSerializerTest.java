@@ -164,6 +164,40 @@ public class MetaDataSerializerTest extends AbstractJDBCTest {
         }
     }
 
+    @Test
+    public void lazy_serialization() throws SQLException {
+        MetaDataExporter exporter = new MetaDataExporter();
+        exporter.setBeanSerializerClass(BeanSerializer.class);
+        exporter.setNamePrefix("Q");
+        exporter.setPackageName("test");
+        exporter.setTargetFolder(folder.getRoot());
+        exporter.setNamingStrategy(new DefaultNamingStrategy());
+        exporter.setLazyPaths(true);
+        exporter.export(connection.getMetaData());
+
+        compile(exporter);
+
+        // validation of output
+        try {
+            assertMethodsPresent("test/QEmployee.java",
+                    "    public NumberPath<Integer> id() {\n"
+                    + "        if (id == null) {\n"
+                    + "            id = createNumber(\"id\", Integer.class);\n"
+                    + "        }\n"
+                    + "        return id;\n"
+                    + "    }",
+                    " = createPrimaryKey(id());",
+                    " = createForeignKey(superiorId(), \"ID\");",
+                    "    public QEmployee(String variable, String schema) {\n"
+                    + "        super(Employee.class, forVariable(variable), schema, \"EMPLOYEE\");\n"
+                    + "    }",
+                    "        addMetadata(id(), ColumnMetadata.named(\"ID\")"
+            );
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     private void compile(MetaDataExporter exporter) {
         JavaCompiler compiler = new SimpleCompiler();
         Set<String> classes = exporter.getClasses();
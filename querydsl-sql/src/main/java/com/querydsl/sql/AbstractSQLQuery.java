@@ -13,15 +13,17 @@
  */
 package com.querydsl.sql;
 
-import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
 import javax.inject.Provider;
@@ -56,6 +58,8 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
 
     private static final QueryFlag rowCountFlag = new QueryFlag(QueryFlag.Position.AFTER_PROJECTION, ", count(*) over() ");
 
+    private static final Pattern ESTIMATED_ROWS = Pattern.compile("rows=(\\d+)");
+
     @Nullable
     private Provider<Connection> connProvider;
 
@@ -194,6 +198,23 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
         throw new QueryException("Using forShare() is not supported");
     }
 
+    /**
+     * Restrict the query to the rows after the given keyset and order it by the keyset order.
+     *
+     * Row value comparisons are used for the seek predicate, if the dialect supports them.
+     *
+     * @param keyset keyset
+     * @return the current object
+     */
+    public Q seek(Keyset keyset) {
+        Predicate predicate = keyset.getPredicate(configuration.getTemplates().isRowValueComparisonSupported());
+        if (predicate != null) {
+            queryMixin.where(predicate);
+        }
+        List<OrderSpecifier<?>> orderBy = keyset.getOrderBy();
+        return queryMixin.orderBy(orderBy.toArray(new OrderSpecifier<?>[orderBy.size()]));
+    }
+
     @Override
     protected SQLSerializer createSerializer() {
         SQLSerializer serializer = new SQLSerializer(configuration);
@@ -201,9 +222,14 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
         return serializer;
     }
 
-    @Nullable
-    private <U> U get(ResultSet rs, Expression<?> expr, int i, Class<U> type) throws SQLException {
-        return configuration.get(rs, expr instanceof Path ? (Path<?>) expr : null, i, type);
+    @Override
+    protected SQLSerializer serialize(boolean forCountRow) {
+        StatementShapeCache statementShapeCache = configuration.getStatementShapeCache();
+        if (statementShapeCache != null && !useLiterals) {
+            return statementShapeCache.serialize(this, forCountRow);
+        } else {
+            return super.serialize(forCountRow);
+        }
     }
 
     private void set(PreparedStatement stmt, Path<?> path, int i, Object value) throws SQLException {
@@ -315,6 +341,11 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
     }
 
     private PreparedStatement getPreparedStatement(String queryString) throws SQLException {
+        return getPreparedStatement(queryString, statementOptions);
+    }
+
+    private PreparedStatement getPreparedStatement(String queryString, StatementOptions statementOptions)
+            throws SQLException {
         PreparedStatement statement = connection().prepareStatement(queryString);
         if (statementOptions.getFetchSize() != null) {
             statement.setFetchSize(statementOptions.getFetchSize());
@@ -339,16 +370,49 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
     @Override
     public CloseableIterator<T> iterate() {
         Expression<T> expr = (Expression<T>) queryMixin.getMetadata().getProjection();
-        return iterateSingle(queryMixin.getMetadata(), expr);
+        return iterateSingle(queryMixin.getMetadata(), expr, statementOptions, false);
     }
 
+    /**
+     * Iterate over the results, streaming the rows from the database in chunks of the given size
+     *
+     * <p>The statement is closed when the iterator is closed or exhausted. Dialects which stream
+     * results only in a special mode are handled via {@link SQLTemplates#getStreamingFetchSize()}
+     * and {@link SQLTemplates#isStreamingRequiresTransaction()}: MySQL uses a fetch size of
+     * {@code Integer.MIN_VALUE} and for PostgreSQL auto commit is disabled until the iterator
+     * is closed.</p>
+     *
+     * @param fetchSize amount of rows to fetch per round trip
+     * @return result iterator
+     */
     @SuppressWarnings("unchecked")
-    private CloseableIterator<T> iterateSingle(QueryMetadata metadata, @Nullable final Expression<T> expr) {
-        SQLListenerContextImpl context = startContext(connection(), queryMixin.getMetadata());
+    public CloseableIterator<T> iterate(int fetchSize) {
+        Expression<T> expr = (Expression<T>) queryMixin.getMetadata().getProjection();
+        int streamingFetchSize = configuration.getTemplates().getStreamingFetchSize();
+        StatementOptions options = StatementOptions.builder()
+                .setMaxFieldSize(statementOptions.getMaxFieldSize())
+                .setMaxRows(statementOptions.getMaxRows())
+                .setQueryTimeout(statementOptions.getQueryTimeout())
+                .setFetchSize(streamingFetchSize != 0 ? streamingFetchSize : fetchSize)
+                .build();
+        return iterateSingle(queryMixin.getMetadata(), expr, options, true);
+    }
+
+    private CloseableIterator<T> iterateSingle(QueryMetadata metadata, @Nullable final Expression<T> expr,
+            StatementOptions options, boolean streaming) {
+        final Connection connection = connection();
+        SQLListenerContextImpl context = startContext(connection, queryMixin.getMetadata());
         String queryString = null;
         List<Object> constants = ImmutableList.of();
+        boolean autoCommitDisabled = false;
 
         try {
+            if (streaming && configuration.getTemplates().isStreamingRequiresTransaction()
+                    && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                autoCommitDisabled = true;
+            }
+
             listeners.preRender(context);
             SQLSerializer serializer = serialize(false);
             queryString = serializer.toString();
@@ -361,7 +425,7 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
             constants = serializer.getConstants();
 
             listeners.prePrepare(context);
-            final PreparedStatement stmt = getPreparedStatement(queryString);
+            final PreparedStatement stmt = getPreparedStatement(queryString, options);
             setParameters(stmt, constants, serializer.getConstantPaths(), metadata.getParams());
             context.addPreparedStatement(stmt);
             listeners.prepared(context);
@@ -370,36 +434,46 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
             final ResultSet rs = stmt.executeQuery();
             listeners.executed(context);
 
-            if (expr == null) {
+            final RowReader<T> reader = RowReader.create(configuration, expr);
+            if (streaming) {
+                final boolean restoreAutoCommit = autoCommitDisabled;
+                autoCommitDisabled = false;
                 return new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
+                    private boolean closed;
+
                     @Override
-                    public T produceNext(ResultSet rs) throws Exception {
-                        return (T) rs.getObject(1);
+                    public boolean hasNext() {
+                        boolean hasNext = !closed && super.hasNext();
+                        if (!hasNext) {
+                            close();
+                        }
+                        return hasNext;
                     }
-                };
-            } else if (expr instanceof FactoryExpression) {
-                return new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
+
                     @Override
                     public T produceNext(ResultSet rs) throws Exception {
-                        return newInstance((FactoryExpression<T>) expr, rs, 0);
+                        return reader.read(rs);
                     }
-                };
-            } else if (expr.equals(Wildcard.all)) {
-                return new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
+
                     @Override
-                    public T produceNext(ResultSet rs) throws Exception {
-                        Object[] rv = new Object[rs.getMetaData().getColumnCount()];
-                        for (int i = 0; i < rv.length; i++) {
-                            rv[i] = rs.getObject(i + 1);
+                    public void close() {
+                        if (!closed) {
+                            closed = true;
+                            try {
+                                super.close();
+                            } finally {
+                                if (restoreAutoCommit) {
+                                    restoreAutoCommit(connection);
+                                }
+                            }
                         }
-                        return (T) rv;
                     }
                 };
             } else {
                 return new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
                     @Override
                     public T produceNext(ResultSet rs) throws Exception {
-                        return get(rs, expr, 1, expr.getType());
+                        return reader.read(rs);
                     }
                 };
             }
@@ -412,14 +486,41 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
             logger.error("Caught " + e.getClass().getName() + " for " + queryString);
             throw e;
         } finally {
+            if (autoCommitDisabled) {
+                restoreAutoCommit(connection);
+            }
             reset();
         }
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public List<T> fetch() {
-        Expression<T> expr = (Expression<T>) queryMixin.getMetadata().getProjection();
+    private void restoreAutoCommit(Connection connection) {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            throw configuration.translate(e);
+        }
+    }
+
+    /**
+     * Callback for reading the result set of {@link #executeQuery(boolean, ResultSetHandler)}
+     *
+     * @param <R> result type
+     */
+    private interface ResultSetHandler<R> {
+
+        R handle(SQLListenerContextImpl context, ResultSet rs) throws SQLException;
+
+    }
+
+    /**
+     * Render, prepare and execute the query with the listener lifecycle and pass the result set
+     * to the given handler
+     *
+     * @param explain true, to execute the explain statement of the query instead
+     * @param handler result set handler
+     * @return result of the handler
+     */
+    private <R> R executeQuery(boolean explain, ResultSetHandler<R> handler) {
         SQLListenerContextImpl context = startContext(connection(), queryMixin.getMetadata());
         String queryString = null;
         List<Object> constants = ImmutableList.of();
@@ -427,12 +528,16 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
         try {
             listeners.preRender(context);
             SQLSerializer serializer = serialize(false);
-            queryString = serializer.toString();
+            queryString = explain
+                    ? configuration.getTemplates().getExplain() + serializer.toString()
+                    : serializer.toString();
             logQuery(queryString, serializer.getConstants());
             context.addSQL(queryString);
             listeners.rendered(context);
 
-            listeners.notifyQuery(queryMixin.getMetadata());
+            if (!explain) {
+                listeners.notifyQuery(queryMixin.getMetadata());
+            }
             constants = serializer.getConstants();
 
             listeners.prePrepare(context);
@@ -446,51 +551,7 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
                 final ResultSet rs = stmt.executeQuery();
                 listeners.executed(context);
                 try {
-                    lastCell = null;
-                    final List<T> rv = new ArrayList<T>();
-                    if (expr instanceof FactoryExpression) {
-                        FactoryExpression<T> fe = (FactoryExpression<T>) expr;
-                        while (rs.next()) {
-                            if (getLastCell) {
-                                lastCell = rs.getObject(fe.getArgs().size() + 1);
-                                getLastCell = false;
-                            }
-                            rv.add(newInstance(fe, rs, 0));
-                        }
-                    } else if (expr.equals(Wildcard.all)) {
-                        while (rs.next()) {
-                            Object[] row = new Object[rs.getMetaData().getColumnCount()];
-                            if (getLastCell) {
-                                lastCell = rs.getObject(row.length);
-                                getLastCell = false;
-                            }
-                            for (int i = 0; i < row.length; i++) {
-                                row[i] = rs.getObject(i + 1);
-                            }
-                            rv.add((T) row);
-                        }
-                    } else {
-                        while (rs.next()) {
-                            if (getLastCell) {
-                                lastCell = rs.getObject(2);
-                                getLastCell = false;
-                            }
-                            rv.add(get(rs, expr, 1, expr.getType()));
-                        }
-                    }
-                    return rv;
-                } catch (IllegalAccessException e) {
-                    onException(context, e);
-                    throw new QueryException(e);
-                } catch (InvocationTargetException e) {
-                    onException(context,e);
-                    throw new QueryException(e);
-                } catch (InstantiationException e) {
-                    onException(context,e);
-                    throw new QueryException(e);
-                } catch (SQLException e) {
-                    onException(context,e);
-                    throw configuration.translate(queryString, constants, e);
+                    return handler.handle(context, rs);
                 } finally {
                     rs.close();
                 }
@@ -507,42 +568,129 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
     }
 
     @SuppressWarnings("unchecked")
+    @Override
+    public List<T> fetch() {
+        final Expression<T> expr = (Expression<T>) queryMixin.getMetadata().getProjection();
+        return executeQuery(false, new ResultSetHandler<List<T>>() {
+            @Override
+            public List<T> handle(SQLListenerContextImpl context, ResultSet rs) throws SQLException {
+                lastCell = null;
+                final List<T> rv = new ArrayList<T>();
+                final RowReader<T> reader = RowReader.create(configuration, expr);
+                if (!listeners.hasFetchListeners()) {
+                    while (rs.next()) {
+                        readLastCell(expr, rs);
+                        rv.add(reader.read(rs));
+                    }
+                    return rv;
+                }
+                listeners.preFetch(context);
+                long fetchStart = System.nanoTime();
+                int columns = -1;
+                while (rs.next()) {
+                    long start = System.nanoTime();
+                    if (columns < 0) {
+                        context.setTimeToFirstRow(start - fetchStart);
+                        columns = rs.getMetaData().getColumnCount();
+                    }
+                    readLastCell(expr, rs);
+                    rv.add(reader.read(rs));
+                    context.addFetchedRow(columns, System.nanoTime() - start);
+                }
+                listeners.fetched(context, context);
+                return rv;
+            }
+        });
+    }
+
+    /**
+     * Get the projection as a columnar result. Integral and floating point columns are read
+     * into primitive arrays without boxing the individual values.
+     *
+     * @return columnar result
+     */
+    public ColumnarResult fetchColumns() {
+        Expression<?> expr = queryMixin.getMetadata().getProjection();
+        final List<Expression<?>> columns;
+        if (expr instanceof FactoryExpression) {
+            columns = ((FactoryExpression<?>) expr).getArgs();
+        } else if (expr != null && !expr.equals(Wildcard.all)) {
+            columns = ImmutableList.<Expression<?>>of(expr);
+        } else {
+            throw new IllegalArgumentException("Columnar results need explicit projections");
+        }
+        return executeQuery(false, new ResultSetHandler<ColumnarResult>() {
+            @Override
+            public ColumnarResult handle(SQLListenerContextImpl context, ResultSet rs) throws SQLException {
+                ColumnarResult.Reader reader = new ColumnarResult.Reader(configuration, columns);
+                while (rs.next()) {
+                    reader.read(rs);
+                }
+                return reader.build();
+            }
+        });
+    }
+
     @Override
     public QueryResults<T> fetchResults() {
         parentContext = startContext(connection(), queryMixin.getMetadata());
-        Expression<T> expr = (Expression<T>) queryMixin.getMetadata().getProjection();
-        QueryModifiers originalModifiers = queryMixin.getMetadata().getModifiers();
+        QueryMetadata metadata = queryMixin.getMetadata();
+        QueryModifiers originalModifiers = metadata.getModifiers();
         try {
-            if (configuration.getTemplates().isCountViaAnalytics()
-                && queryMixin.getMetadata().getGroupBy().isEmpty()) {
-                List<T> results;
+            PaginationCountStrategy strategy = configuration.getPaginationCountStrategy();
+            if (strategy == PaginationCountStrategy.DEFAULT) {
+                strategy = configuration.getTemplates().isCountViaAnalytics()
+                        ? PaginationCountStrategy.WINDOW : PaginationCountStrategy.COUNT_QUERY;
+            }
+            boolean countInline = metadata.getGroupBy().isEmpty() && !metadata.isDistinct();
+            if ((strategy == PaginationCountStrategy.WINDOW && !countInline)
+                || (strategy == PaginationCountStrategy.CTE && (!countInline || !metadata.getFlags().isEmpty()))) {
+                strategy = PaginationCountStrategy.COUNT_QUERY;
+            }
+
+            List<T> results;
+            Long total = null;
+            if (strategy == PaginationCountStrategy.WINDOW || strategy == PaginationCountStrategy.CTE) {
+                List<QueryFlag> countFlags = strategy == PaginationCountStrategy.WINDOW
+                        ? ImmutableList.of(rowCountFlag) : createCountCteFlags(metadata);
                 try {
-                    queryMixin.addFlag(rowCountFlag);
+                    for (QueryFlag flag : countFlags) {
+                        queryMixin.addFlag(flag);
+                    }
                     getLastCell = true;
                     results = fetch();
                 } finally {
-                    queryMixin.removeFlag(rowCountFlag);
+                    for (QueryFlag flag : countFlags) {
+                        queryMixin.removeFlag(flag);
+                    }
                 }
-                long total;
                 if (!results.isEmpty()) {
                     if (lastCell instanceof Number) {
                         total = ((Number) lastCell).longValue();
                     } else {
                         throw new IllegalStateException("Unsupported lastCell instance " + lastCell);
                     }
+                }
+            } else {
+                results = fetch();
+            }
+
+            if (total == null) {
+                Long limit = originalModifiers.getLimit();
+                long offset = originalModifiers.getOffset() != null ? originalModifiers.getOffset() : 0L;
+                if (results.isEmpty() ? offset == 0 : (limit == null || results.size() < limit)) {
+                    total = offset + results.size();
+                } else if (strategy == PaginationCountStrategy.ESTIMATE) {
+                    total = estimateCount(offset + results.size());
                 } else {
                     total = fetchCount();
                 }
-                return new QueryResults<T>(results, originalModifiers, total);
+            }
 
+            if (total > 0) {
+                return new QueryResults<T>(results, originalModifiers, total);
             } else {
-                queryMixin.setProjection(expr);
-                long total = fetchCount();
-                if (total > 0) {
-                    return new QueryResults<T>(fetch(), originalModifiers, total);
-                } else {
-                    return QueryResults.emptyResults();
-                }
+                return QueryResults.emptyResults();
             }
 
         } finally {
@@ -553,13 +701,80 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
         }
     }
 
-    private <RT> RT newInstance(FactoryExpression<RT> c, ResultSet rs, int offset)
-        throws InstantiationException, IllegalAccessException, InvocationTargetException, SQLException {
-        Object[] args = new Object[c.getArgs().size()];
-        for (int i = 0; i < args.length; i++) {
-            args[i] = get(rs, c.getArgs().get(i), offset + i + 1, c.getArgs().get(i).getType());
+    private List<QueryFlag> createCountCteFlags(QueryMetadata metadata) {
+        QueryMetadata countMetadata = metadata.clone();
+        countMetadata.setModifiers(QueryModifiers.EMPTY);
+        countMetadata.clearOrderBy();
+        countMetadata.setProjection(Wildcard.count);
+        Path<Long> alias = ExpressionUtils.path(Long.class, "querydsl_total");
+        Expression<?> with = ExpressionUtils.operation(Long.class, SQLOps.WITH_ALIAS, alias,
+                new SubQueryExpressionImpl<Long>(Long.class, countMetadata));
+        Expression<?> count = ExpressionUtils.template(Long.class, ", (select * from {0}) ", alias);
+        return ImmutableList.of(
+                new QueryFlag(QueryFlag.Position.WITH, with),
+                new QueryFlag(QueryFlag.Position.AFTER_PROJECTION, count));
+    }
+
+    private long estimateCount(long minimum) {
+        if (!configuration.getTemplates().isExplainRowEstimateSupported()) {
+            return fetchCount();
+        }
+        QueryModifiers modifiers = queryMixin.getMetadata().getModifiers();
+        Connection connection = connection();
+        Savepoint savepoint = null;
+        Long estimate = null;
+        try {
+            // a failed statement aborts the transaction in PostgreSQL
+            if (!connection.getAutoCommit()) {
+                savepoint = connection.setSavepoint();
+            }
+            queryMixin.getMetadata().setModifiers(QueryModifiers.EMPTY);
+            estimate = executeQuery(true, new ResultSetHandler<Long>() {
+                @Override
+                public Long handle(SQLListenerContextImpl context, ResultSet rs) throws SQLException {
+                    Matcher matcher = rs.next() ? ESTIMATED_ROWS.matcher(String.valueOf(rs.getObject(1))) : null;
+                    return matcher != null && matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+                }
+            });
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
+            }
+        } catch (SQLException e) {
+            throw configuration.translate(e);
+        } catch (RuntimeException e) {
+            logger.debug("Row estimate failed, falling back to count query", e);
+            rollback(connection, savepoint);
+        } finally {
+            queryMixin.getMetadata().setModifiers(modifiers);
+        }
+        return estimate != null ? Math.max(minimum, estimate) : fetchCount();
+    }
+
+    private void rollback(Connection connection, @Nullable Savepoint savepoint) {
+        if (savepoint != null) {
+            try {
+                connection.rollback(savepoint);
+            } catch (SQLException e) {
+                throw configuration.translate(e);
+            }
+        }
+    }
+
+    private void readLastCell(Expression<?> expr, ResultSet rs) throws SQLException {
+        if (getLastCell) {
+            lastCell = rs.getObject(getLastCellIndex(expr, rs));
+            getLastCell = false;
+        }
+    }
+
+    private int getLastCellIndex(Expression<?> expr, ResultSet rs) throws SQLException {
+        if (expr instanceof FactoryExpression) {
+            return ((FactoryExpression<?>) expr).getArgs().size() + 1;
+        } else if (expr.equals(Wildcard.all)) {
+            return rs.getMetaData().getColumnCount();
+        } else {
+            return 2;
         }
-        return c.newInstance(args);
     }
 
     private void reset() {
@@ -13,17 +13,27 @@
  */
 package com.querydsl.sql;
 
+import java.math.BigInteger;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import javax.inject.Provider;
 
+import com.mysema.commons.lang.CloseableIterator;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.util.MathUtils;
 import com.querydsl.sql.dml.SQLDeleteClause;
 import com.querydsl.sql.dml.SQLInsertClause;
 import com.querydsl.sql.dml.SQLMergeClause;
+import com.querydsl.sql.dml.SQLRowWriter;
 import com.querydsl.sql.dml.SQLUpdateClause;
 
 /**
@@ -83,6 +93,18 @@ public abstract class AbstractSQLQueryFactory<Q extends SQLCommonQuery<?>> imple
         return new SQLUpdateClause(connection, configuration, path);
     }
 
+    /**
+     * Create a writer which bulk loads rows into the given table. PostgreSQL COPY and MySQL
+     * LOAD DATA are used where available, other databases use batched inserts.
+     *
+     * @param path table
+     * @param columns columns to load, all columns of the table are used if none are given
+     * @return row writer
+     */
+    public final SQLRowWriter copyInto(RelationalPath<?> path, Path<?>... columns) {
+        return insert(path).columns(columns).copyWriter();
+    }
+
     public final Configuration getConfiguration() {
         return configuration;
     }
@@ -91,6 +113,118 @@ public abstract class AbstractSQLQueryFactory<Q extends SQLCommonQuery<?>> imple
         return connection.get();
     }
 
+    /**
+     * Read the results of the given query in partitions which are executed concurrently
+     *
+     * <p>The value range of the split column is divided into equally sized ranges based on its
+     * minimum and maximum value. Each range is queried on its own connection from the connection
+     * provider of this factory, so the provider should hand out a new connection per call.
+     * The connections are obtained when the partitions are read and closed afterwards.</p>
+     *
+     * @param query query to be partitioned, without limit and offset
+     * @param splitColumn integral column to split the query on, usually the primary key
+     * @param partitions maximum amount of partitions
+     * @param executor executor for the partition queries
+     * @param ordered true, to return the partitions one after another in the order of the split
+     *                column ranges, false, to return the rows in the order they arrive
+     * @param <T> result type
+     * @param <N> type of the split column
+     * @return merged results of the partitions
+     */
+    public <T, N extends Number & Comparable<?>> CloseableIterator<T> fetchPartitioned(
+            AbstractSQLQuery<T, ?> query, NumberExpression<N> splitColumn, int partitions,
+            ExecutorService executor, boolean ordered) {
+        return fetchPartitioned(query, splitColumn, partitions, connection, executor, ordered);
+    }
+
+    /**
+     * Read the results of the given query in partitions which are executed concurrently
+     *
+     * <p>The value range of the split column is divided into equally sized ranges based on its
+     * minimum and maximum value. Each range is queried on its own connection from the given
+     * connection provider, so the provider should hand out a new connection per call.
+     * The connections are obtained when the partitions are read and closed afterwards.</p>
+     *
+     * @param query query to be partitioned, without limit and offset
+     * @param splitColumn integral column to split the query on, usually the primary key
+     * @param partitions maximum amount of partitions
+     * @param connProvider connection provider for the partition queries
+     * @param executor executor for the partition queries
+     * @param ordered true, to return the partitions one after another in the order of the split
+     *                column ranges, false, to return the rows in the order they arrive
+     * @param <T> result type
+     * @param <N> type of the split column
+     * @return merged results of the partitions
+     */
+    public <T, N extends Number & Comparable<?>> CloseableIterator<T> fetchPartitioned(
+            AbstractSQLQuery<T, ?> query, NumberExpression<N> splitColumn, int partitions,
+            Provider<Connection> connProvider, ExecutorService executor, boolean ordered) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partitions must be greater than 0");
+        }
+        if (query.getMetadata().getModifiers().isRestricting()) {
+            throw new IllegalArgumentException("Partitioned queries can't have limit or offset");
+        }
+        Class<? extends N> type = splitColumn.getType();
+        if (!type.equals(Long.class) && !type.equals(Integer.class)
+            && !type.equals(Short.class) && !type.equals(Byte.class)) {
+            throw new IllegalArgumentException("Unsupported split column type " + type.getName());
+        }
+
+        Number min, max;
+        Connection boundsConnection = connProvider.get();
+        try {
+            AbstractSQLQuery<T, ?> boundsQuery = query.clone(boundsConnection);
+            boundsQuery.getMetadata().clearOrderBy();
+            Tuple bounds = boundsQuery.select(splitColumn.min(), splitColumn.max()).fetchOne();
+            min = bounds != null ? bounds.get(0, Number.class) : null;
+            max = bounds != null ? bounds.get(1, Number.class) : null;
+        } finally {
+            close(boundsConnection);
+        }
+
+        // the partition queries get their connections when they are executed
+        List<AbstractSQLQuery<T, ?>> queries = new ArrayList<AbstractSQLQuery<T, ?>>();
+        if (min == null || max == null) {
+            queries.add(query.clone((Connection) null));
+        } else {
+            BigInteger lower = BigInteger.valueOf(min.longValue());
+            BigInteger span = BigInteger.valueOf(max.longValue()).subtract(lower).add(BigInteger.ONE);
+            int count = span.min(BigInteger.valueOf(partitions)).intValue();
+            List<N> splits = new ArrayList<N>();
+            for (int i = 1; i < count; i++) {
+                BigInteger split = lower.add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count)));
+                splits.add(MathUtils.cast(split.longValue(), type));
+            }
+            for (int i = 0; i < count; i++) {
+                AbstractSQLQuery<T, ?> partition = query.clone((Connection) null);
+                Predicate range;
+                if (count == 1) {
+                    range = null;
+                } else if (i == 0) {
+                    range = splitColumn.lt(splits.get(0)).or(splitColumn.isNull());
+                } else if (i == count - 1) {
+                    range = splitColumn.goe(splits.get(i - 1));
+                } else {
+                    range = splitColumn.goe(splits.get(i - 1)).and(splitColumn.lt(splits.get(i)));
+                }
+                if (range != null) {
+                    partition.where(range);
+                }
+                queries.add(partition);
+            }
+        }
+        return new PartitionedResultIterator<T>(queries, connProvider, executor, ordered);
+    }
+
+    private void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw configuration.translate(e);
+        }
+    }
+
     /**
      * Create a new SQL query with the given projection
      *
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.types.PrimitiveType;
+import com.querydsl.sql.types.Type;
+
+/**
+ * {@code ColumnarResult} holds the rows of a query result column by column
+ *
+ * <p>Integral columns are stored in {@code long[]} and floating point columns in
+ * {@code double[]} arrays, which are filled directly via the primitive getters of
+ * {@link PrimitiveType} implementations. All other columns are stored as objects.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ * ColumnarResult result = query.select(employee.id, employee.salary).from(employee).fetchColumns();
+ * long[] ids = result.getLongs(employee.id);
+ * double[] salaries = result.getDoubles(employee.salary);
+ * </pre>
+ */
+public final class ColumnarResult {
+
+    private static final int LONG = 0, DOUBLE = 1, OBJECT = 2;
+
+    private final List<Expression<?>> columns;
+
+    private final int size;
+
+    private final int[] kinds;
+
+    private final Object[] values;
+
+    private final BitSet[] nulls;
+
+    private ColumnarResult(List<Expression<?>> columns, int size, int[] kinds, Object[] values, BitSet[] nulls) {
+        this.columns = columns;
+        this.size = size;
+        this.kinds = kinds;
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    /**
+     * Get the projected columns
+     *
+     * @return columns
+     */
+    public List<Expression<?>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get the amount of rows
+     *
+     * @return row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the values of the given integral column, SQL NULL values are represented as zero
+     *
+     * @param column projected column
+     * @return values
+     */
+    public long[] getLongs(Expression<?> column) {
+        return (long[]) values[indexOf(column, LONG)];
+    }
+
+    /**
+     * Get the values of the given floating point column, SQL NULL values are represented as zero
+     *
+     * @param column projected column
+     * @return values
+     */
+    public double[] getDoubles(Expression<?> column) {
+        return (double[]) values[indexOf(column, DOUBLE)];
+    }
+
+    /**
+     * Get the values of the given non-numeric column
+     *
+     * @param column projected column
+     * @return values
+     */
+    public Object[] getObjects(Expression<?> column) {
+        return (Object[]) values[indexOf(column, OBJECT)];
+    }
+
+    /**
+     * Get whether the value of the given column in the given row is SQL NULL
+     *
+     * @param column projected column
+     * @param row zero based row index
+     * @return true, if null
+     */
+    public boolean isNull(Expression<?> column, int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(row));
+        }
+        return nulls[indexOf(column)].get(row);
+    }
+
+    private int indexOf(Expression<?> column) {
+        int index = columns.indexOf(column);
+        if (index < 0) {
+            throw new IllegalArgumentException(column + " is not projected");
+        }
+        return index;
+    }
+
+    private int indexOf(Expression<?> column, int kind) {
+        int index = indexOf(column);
+        if (kinds[index] != kind) {
+            throw new IllegalArgumentException(column + " is of type " + column.getType().getName());
+        }
+        return index;
+    }
+
+    /**
+     * {@code Reader} appends the rows of a result set to column buffers
+     */
+    static final class Reader {
+
+        private final List<Expression<?>> columns;
+
+        private final Type<?>[] types;
+
+        private final int[] kinds;
+
+        private final Object[] values;
+
+        private final BitSet[] nulls;
+
+        private int size;
+
+        private int capacity = 16;
+
+        Reader(Configuration configuration, List<Expression<?>> columns) {
+            this.columns = ImmutableList.copyOf(columns);
+            this.types = new Type<?>[columns.size()];
+            this.kinds = new int[columns.size()];
+            this.values = new Object[columns.size()];
+            this.nulls = new BitSet[columns.size()];
+            for (int i = 0; i < types.length; i++) {
+                Expression<?> column = columns.get(i);
+                types[i] = configuration.getType(column instanceof Path ? (Path<?>) column : null, column.getType());
+                kinds[i] = getKind(types[i], column.getType());
+                nulls[i] = new BitSet();
+                if (kinds[i] == LONG) {
+                    values[i] = new long[capacity];
+                } else if (kinds[i] == DOUBLE) {
+                    values[i] = new double[capacity];
+                } else {
+                    values[i] = new Object[capacity];
+                }
+            }
+        }
+
+        private static int getKind(Type<?> type, Class<?> javaType) {
+            if (type instanceof PrimitiveType) {
+                if (javaType.equals(Long.class) || javaType.equals(Integer.class)
+                    || javaType.equals(Short.class) || javaType.equals(Byte.class)) {
+                    return LONG;
+                } else if (javaType.equals(Double.class) || javaType.equals(Float.class)) {
+                    return DOUBLE;
+                }
+            }
+            return OBJECT;
+        }
+
+        /**
+         * Append the current row of the given result set
+         *
+         * @param rs result set
+         * @throws SQLException
+         */
+        void read(ResultSet rs) throws SQLException {
+            if (size == capacity) {
+                grow();
+            }
+            for (int i = 0; i < types.length; i++) {
+                if (kinds[i] == LONG) {
+                    ((long[]) values[i])[size] = ((PrimitiveType<?>) types[i]).getLong(rs, i + 1);
+                    if (rs.wasNull()) {
+                        nulls[i].set(size);
+                    }
+                } else if (kinds[i] == DOUBLE) {
+                    ((double[]) values[i])[size] = ((PrimitiveType<?>) types[i]).getDouble(rs, i + 1);
+                    if (rs.wasNull()) {
+                        nulls[i].set(size);
+                    }
+                } else {
+                    Object value = types[i].getValue(rs, i + 1);
+                    ((Object[]) values[i])[size] = value;
+                    if (value == null) {
+                        nulls[i].set(size);
+                    }
+                }
+            }
+            size++;
+        }
+
+        private void grow() {
+            capacity *= 2;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = copyOf(values[i], capacity);
+            }
+        }
+
+        private static Object copyOf(Object array, int length) {
+            if (array instanceof long[]) {
+                return Arrays.copyOf((long[]) array, length);
+            } else if (array instanceof double[]) {
+                return Arrays.copyOf((double[]) array, length);
+            } else {
+                return Arrays.copyOf((Object[]) array, length);
+            }
+        }
+
+        /**
+         * Create the result from the rows read so far
+         *
+         * @return result
+         */
+        ColumnarResult build() {
+            Object[] trimmed = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                trimmed[i] = copyOf(values[i], size);
+            }
+            return new ColumnarResult(columns, size, kinds, trimmed, nulls);
+        }
+
+    }
+
+}
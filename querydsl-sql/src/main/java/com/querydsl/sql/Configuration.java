@@ -64,6 +64,13 @@ public final class Configuration {
 
     private boolean useLiterals = false;
 
+    @Nullable
+    private StatementShapeCache statementShapeCache;
+
+    private PaginationCountStrategy paginationCountStrategy = PaginationCountStrategy.DEFAULT;
+
+    private InListStrategy inListStrategy = InListStrategy.DEFAULT;
+
     /**
      * Create a new Configuration instance
      *
@@ -119,6 +126,19 @@ public final class Configuration {
         }
     }
 
+    /**
+     * Get the unquoted literal representation of the given value using the type registered
+     * for the given column
+     *
+     * @param path column
+     * @param value value
+     * @return literal representation
+     */
+    @SuppressWarnings("unchecked")
+    public String getLiteral(@Nullable Path<?> path, Object value) {
+        return getType(path, (Class) value.getClass()).getLiteral(value);
+    }
+
     public SQLTemplates getTemplates() {
         return templates;
     }
@@ -241,7 +261,7 @@ public final class Configuration {
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
-    private <T> Type<T> getType(@Nullable Path<?> path, Class<T> clazz) {
+    <T> Type<T> getType(@Nullable Path<?> path, Class<T> clazz) {
         if (hasTableColumnTypes && path != null && !clazz.equals(Null.class)
                 && path.getMetadata().getParent() instanceof RelationalPath) {
             String table = ((RelationalPath) path.getMetadata().getParent()).getTableName();
@@ -290,6 +310,7 @@ public final class Configuration {
      * @return previous override value
      */
     public String registerSchemaOverride(String oldSchema, String newSchema) {
+        clearStatementShapes();
         return nameMapping.registerSchemaOverride(oldSchema, newSchema);
     }
 
@@ -301,6 +322,7 @@ public final class Configuration {
      * @return previous override value
      */
     public String registerTableOverride(String oldTable, String newTable) {
+        clearStatementShapes();
         return nameMapping.registerTableOverride(oldTable, newTable);
     }
 
@@ -338,6 +360,7 @@ public final class Configuration {
      * @return previous override
      */
     public SchemaAndTable registerTableOverride(SchemaAndTable from, SchemaAndTable to) {
+        clearStatementShapes();
         return nameMapping.registerTableOverride(from, to);
     }
 
@@ -351,6 +374,7 @@ public final class Configuration {
      * @return previous override
      */
     public String registerColumnOverride(String schema, String table, String oldColumn, String newColumn) {
+        clearStatementShapes();
         return nameMapping.registerColumnOverride(schema, table, oldColumn, newColumn);
     }
 
@@ -363,6 +387,7 @@ public final class Configuration {
      * @return previous override
      */
     public String registerColumnOverride(String table, String oldColumn, String newColumn) {
+        clearStatementShapes();
         return nameMapping.registerColumnOverride(table, oldColumn, newColumn);
     }
 
@@ -372,6 +397,7 @@ public final class Configuration {
      * @param type type
      */
     public void register(Type<?> type) {
+        clearStatementShapes();
         jdbcTypeMapping.register(type.getSQLTypes()[0], type.getReturnedClass());
         javaTypeMapping.register(type);
     }
@@ -383,6 +409,7 @@ public final class Configuration {
      * @param clazz java type
      */
     public void registerType(String typeName, Class<?> clazz) {
+        clearStatementShapes();
         typeToName.put(typeName.toLowerCase(), clazz);
     }
 
@@ -394,6 +421,7 @@ public final class Configuration {
      * @param javaType java type
      */
     public void registerNumeric(int total, int decimal, Class<?> javaType) {
+        clearStatementShapes();
         jdbcTypeMapping.registerNumeric(total, decimal, javaType);
     }
 
@@ -433,6 +461,7 @@ public final class Configuration {
      * @param type type
      */
     public void register(String table, String column, Type<?> type) {
+        clearStatementShapes();
         javaTypeMapping.setType(table, column, type);
         hasTableColumnTypes = true;
     }
@@ -514,6 +543,74 @@ public final class Configuration {
      */
     public void setTemplates(SQLTemplates templates) {
         this.templates = templates;
+        clearStatementShapes();
+    }
+
+    /**
+     * Get the cache for serialized query shapes
+     *
+     * @return statement shape cache or null, if not used
+     */
+    @Nullable
+    public StatementShapeCache getStatementShapeCache() {
+        return statementShapeCache;
+    }
+
+    /**
+     * Set the cache for serialized query shapes (default: none)
+     *
+     * <p>When a cache is set, queries of the same structure reuse the rendered SQL string and only
+     * bind their constants. The cache is cleared when the mappings of this configuration change.</p>
+     *
+     * @param statementShapeCache cache to be used or null to disable caching
+     */
+    public void setStatementShapeCache(@Nullable StatementShapeCache statementShapeCache) {
+        this.statementShapeCache = statementShapeCache;
+    }
+
+    /**
+     * Get the strategy for counting the total rows in fetchResults()
+     *
+     * @return pagination count strategy
+     */
+    public PaginationCountStrategy getPaginationCountStrategy() {
+        return paginationCountStrategy;
+    }
+
+    /**
+     * Set the strategy for counting the total rows in fetchResults()
+     * (default: {@link PaginationCountStrategy#DEFAULT})
+     *
+     * @param paginationCountStrategy pagination count strategy
+     */
+    public void setPaginationCountStrategy(PaginationCountStrategy paginationCountStrategy) {
+        this.paginationCountStrategy = paginationCountStrategy;
+    }
+
+    /**
+     * Get the strategy for binding the collection arguments of IN predicates
+     *
+     * @return in list strategy
+     */
+    public InListStrategy getInListStrategy() {
+        return inListStrategy;
+    }
+
+    /**
+     * Set the strategy for binding the collection arguments of IN predicates
+     * (default: {@link InListStrategy#DEFAULT})
+     *
+     * @param inListStrategy in list strategy
+     */
+    public void setInListStrategy(InListStrategy inListStrategy) {
+        this.inListStrategy = inListStrategy;
+        clearStatementShapes();
+    }
+
+    private void clearStatementShapes() {
+        if (statementShapeCache != null) {
+            statementShapeCache.clear();
+        }
     }
 
 }
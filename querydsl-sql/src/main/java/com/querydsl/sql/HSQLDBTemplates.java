@@ -52,6 +52,7 @@ public class HSQLDBTemplates extends SQLTemplates {
         setDefaultValues("\ndefault values");
         setFunctionJoinsWrapped(true);
         setUnionsWrapped(false);
+        setArrayInListSupported(true);
 
         setPrecedence(Precedence.ARITH_HIGH, Ops.CONCAT);
         setPrecedence(Precedence.ARITH_LOW + 1, Ops.NOT);
@@ -65,6 +66,8 @@ public class HSQLDBTemplates extends SQLTemplates {
         add(Ops.NEGATE, "{0} * -1", Precedence.ARITH_HIGH);
 
         add(SQLOps.NEXTVAL, "next value for {0s}");
+        add(SQLOps.IN_ARRAY, "{0} in (unnest({1}))", Precedence.COMPARISON + 1);
+        add(SQLOps.NOT_IN_ARRAY, "{0} not in (unnest({1}))", Precedence.COMPARISON + 1);
 
         add(Ops.MathOps.POWER, "power({0},{1s})");
         add(Ops.MathOps.ROUND, "round({0},0)");
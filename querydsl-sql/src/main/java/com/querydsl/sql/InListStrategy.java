@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+/**
+ * {@code InListStrategy} defines how collection arguments of IN and NOT IN predicates are bound
+ *
+ * <p>Binding one parameter per element produces a different SQL string for each list size, which
+ * defeats the statement caches of drivers and databases. The strategies other than
+ * {@link #DEFAULT} limit the amount of distinct statements.</p>
+ */
+public enum InListStrategy {
+
+    /**
+     * Bind one parameter per element
+     */
+    DEFAULT,
+
+    /**
+     * Pad the list to the next power of two by repeating the last element, but not beyond
+     * {@link SQLTemplates#getListMaxSize()}
+     */
+    PADDED,
+
+    /**
+     * Bind the whole list as a single array parameter, falls back to {@link #PADDED} if the
+     * templates don't support {@link SQLTemplates#isArrayInListSupported()} or no array type is
+     * registered for the element type. Supported for PostgreSQL and HSQLDB.
+     */
+    ARRAY
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code LatencyHistogram} is a lock-free histogram for nanosecond durations.
+ *
+ * <p>Values are counted in log-linear buckets with eight sub-buckets per power of two, which
+ * bounds the relative error of the reported percentiles to 12.5%. Values above
+ * {@link #MAX_VALUE} are counted in the highest bucket.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private static final int MAX_BITS = 42;
+
+    /**
+     * Highest value, which is tracked with full precision (about 73 minutes in nanoseconds)
+     */
+    public static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+
+    private static final int BUCKETS = (MAX_BITS - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record the given value
+     *
+     * @param value value, negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(index(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        long current = min.get();
+        while (value < current && !min.compareAndSet(current, value)) {
+            current = min.get();
+        }
+        current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Get the number of recorded values
+     *
+     * @return count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get a snapshot of the recorded values. Values recorded concurrently to the snapshot
+     * creation may be partially included.
+     *
+     * @return snapshot
+     */
+    public Snapshot getSnapshot() {
+        long[] counts = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            n += counts[i];
+        }
+        return new Snapshot(counts, n, total.get(), n > 0 ? min.get() : 0, max.get());
+    }
+
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        } else if (value > MAX_VALUE) {
+            return BUCKETS - 1;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) & (SUB_COUNT - 1));
+    }
+
+    static long highestValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lowest = (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * {@code Snapshot} is an immutable view of the values of a {@link LatencyHistogram}
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+
+        private final long count, total, min, max;
+
+        Snapshot(long[] counts, long count, long total, long min, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * Get the number of values
+         *
+         * @return count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Get the sum of the values
+         *
+         * @return total
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * Get the smallest value
+         *
+         * @return min value or 0, if empty
+         */
+        public long getMin() {
+            return min;
+        }
+
+        /**
+         * Get the largest value
+         *
+         * @return max value or 0, if empty
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Get the mean of the values
+         *
+         * @return mean or 0, if empty
+         */
+        public double getMean() {
+            return count > 0 ? (double) total / count : 0.0;
+        }
+
+        /**
+         * Get the value at the given percentile. The result is the highest value of the bucket
+         * containing the percentile, capped by the largest recorded value.
+         *
+         * @param percentile percentile between 0 and 100
+         * @return value or 0, if empty
+         */
+        public long getPercentile(double percentile) {
+            if (percentile < 0.0 || percentile > 100.0) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100, but was " + percentile);
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), max);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", mean=" + (long) getMean() + ", p50=" + getPercentile(50)
+                    + ", p99=" + getPercentile(99) + ", max=" + max;
+        }
+
+    }
+
+}
@@ -14,13 +14,17 @@
 package com.querydsl.sql;
 
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.google.common.collect.ImmutableList;
 import com.querydsl.core.QueryFlag;
 import com.querydsl.core.QueryFlag.Position;
+import com.querydsl.core.QueryMetadata;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
 
 /**
  * {@code MySQLTemplates} is an SQL dialect for MySQL
@@ -57,9 +61,13 @@ public class MySQLTemplates extends SQLTemplates {
 
     public MySQLTemplates(char escape, boolean quote) {
         super(Keywords.MYSQL, "`", escape, quote, false);
+        setUpsertSupported(true);
+        setCopySupported(true);
         setArraysSupported(false);
         setParameterMetadataAvailable(false);
         setLimitRequired(true);
+        setStreamingFetchSize(Integer.MIN_VALUE);
+        setRowValueComparisonSupported(true);
         setSupportsUnquotedReservedWordsAsIdentifier(true);
         setNullsFirst(null);
         setNullsLast(null);
@@ -182,4 +190,70 @@ public class MySQLTemplates extends SQLTemplates {
         }
     }
 
+
+    @Override
+    public void serializeCopy(QueryMetadata metadata, RelationalPath<?> entity,
+            List<Path<?>> columns, SQLSerializer context) {
+        // the file name is ignored, since the data is given as a stream
+        context.append("load data local infile 'stream' into table ");
+        context.serializeForCopyTarget(entity);
+        context.append(" character set utf8mb4 (");
+        List<Integer> binaryColumns = new ArrayList<Integer>();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                context.append(", ");
+            }
+            if (byte[].class.equals(columns.get(i).getType())) {
+                // binary values are given hex encoded
+                context.append("@c" + i);
+                binaryColumns.add(i);
+            } else {
+                context.appendAsColumnName(columns.get(i), false);
+            }
+        }
+        context.append(")");
+        for (int i = 0; i < binaryColumns.size(); i++) {
+            int index = binaryColumns.get(i);
+            context.append(i == 0 ? "\nset " : ", ");
+            context.appendAsColumnName(columns.get(index), false);
+            context.append(" = unhex(@c" + index + ")");
+        }
+    }
+
+    /**
+     * Serializes the upsert as {@code insert ... on duplicate key update}. MySQL can't restrict
+     * the conflict check to given columns, so the keys are only used to exclude columns from the
+     * update and the update happens on a duplicate value in the primary key or any unique index
+     * of the table.
+     */
+    @Override
+    public void serializeUpsert(QueryMetadata metadata, RelationalPath<?> entity,
+            List<? extends Path<?>> keys, List<Path<?>> columns, List<Expression<?>> values,
+            SQLSerializer context) {
+        context.serializeForInsert(metadata, entity, columns, values, null);
+        context.append("\non duplicate key update ");
+        List<Path<?>> updates = new ArrayList<Path<?>>();
+        for (Path<?> column : columns) {
+            if (!keys.contains(column)) {
+                updates.add(column);
+            }
+        }
+        if (updates.isEmpty()) {
+            updates.add(keys.get(0));
+        }
+        for (int i = 0; i < updates.size(); i++) {
+            if (i > 0) {
+                context.append(", ");
+            }
+            context.appendAsColumnName(updates.get(i), false);
+            context.append(" = values(");
+            context.appendAsColumnName(updates.get(i), false);
+            context.append(")");
+        }
+
+        if (!metadata.getFlags().isEmpty()) {
+            context.serialize(Position.END, metadata.getFlags());
+        }
+    }
+
 }
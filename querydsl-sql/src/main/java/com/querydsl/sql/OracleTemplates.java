@@ -73,6 +73,7 @@ public class OracleTemplates extends SQLTemplates {
 
     public OracleTemplates(char escape, boolean quote) {
         super(Keywords.ORACLE, "\"", escape, quote, false);
+        setUpsertSupported(true);
         setParameterMetadataAvailable(false);
         setBatchCountViaGetUpdateCount(true);
         setWithRecursive("with ");
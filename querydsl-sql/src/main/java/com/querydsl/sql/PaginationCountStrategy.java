@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+/**
+ * {@code PaginationCountStrategy} defines how {@link AbstractSQLQuery#fetchResults()} obtains
+ * the total row count of a paged query
+ *
+ * <p>With all strategies the count is skipped if it can be derived from the fetched page, which
+ * is the case when the page is not empty and smaller than the limit, or when the page is empty
+ * and there is no offset.</p>
+ */
+public enum PaginationCountStrategy {
+
+    /**
+     * Use {@link #WINDOW} for templates with {@link SQLTemplates#isCountViaAnalytics()} and
+     * {@link #COUNT_QUERY} otherwise
+     */
+    DEFAULT,
+
+    /**
+     * Execute a separate {@code count(*)} query
+     */
+    COUNT_QUERY,
+
+    /**
+     * Add {@code count(*) over()} to the projection of the page query, falls back to
+     * {@link #COUNT_QUERY} for grouped and distinct queries
+     */
+    WINDOW,
+
+    /**
+     * Compute the count in a common table expression which is referenced from the projection of
+     * the page query, falls back to {@link #COUNT_QUERY} for grouped, distinct and flagged
+     * queries
+     */
+    CTE,
+
+    /**
+     * Use the row estimate of the query plan instead of an exact count, falls back to
+     * {@link #COUNT_QUERY} if no estimate is available. Supported for PostgreSQL.
+     */
+    ESTIMATE
+
+}
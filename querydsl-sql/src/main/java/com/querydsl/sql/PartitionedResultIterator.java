@@ -0,0 +1,202 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import javax.annotation.Nullable;
+import javax.inject.Provider;
+
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.QueryException;
+
+/**
+ * {@code PartitionedResultIterator} merges the results of partition queries which are executed
+ * concurrently
+ *
+ * <p>Each partition is read by a task on the given executor into a bounded buffer. If the order
+ * is preserved, the partitions are returned one after another, otherwise the rows are returned
+ * in the order they arrive.</p>
+ *
+ * <p>Each task obtains its own connection from the connection provider and closes it when the
+ * partition has been read. Connections of unfinished tasks are closed when the iterator is closed.</p>
+ *
+ * @param <T> result type
+ */
+final class PartitionedResultIterator<T> implements CloseableIterator<T> {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private static final Object NULL = new Object();
+
+    private static final Object END = new Object();
+
+    /**
+     * Wrapper for failures of partition queries
+     */
+    private static final class Failure {
+
+        private final RuntimeException exception;
+
+        Failure(RuntimeException exception) {
+            this.exception = exception;
+        }
+
+    }
+
+    private final List<BlockingQueue<Object>> buffers = new ArrayList<BlockingQueue<Object>>();
+
+    private final List<Future<?>> tasks = new ArrayList<Future<?>>();
+
+    private final Set<Connection> connections =
+            Collections.newSetFromMap(new ConcurrentHashMap<Connection, Boolean>());
+
+    private final Provider<Connection> connProvider;
+
+    private final int partitions;
+
+    private final boolean ordered;
+
+    private int finished;
+
+    private Object next;
+
+    private volatile boolean closed;
+
+    PartitionedResultIterator(List<? extends AbstractSQLQuery<T, ?>> queries, Provider<Connection> connProvider,
+            ExecutorService executor, boolean ordered) {
+        this.connProvider = connProvider;
+        this.partitions = queries.size();
+        this.ordered = ordered;
+        BlockingQueue<Object> shared = ordered ? null : new ArrayBlockingQueue<Object>(BUFFER_SIZE);
+        try {
+            for (final AbstractSQLQuery<T, ?> query : queries) {
+                final BlockingQueue<Object> buffer = ordered ? new ArrayBlockingQueue<Object>(BUFFER_SIZE) : shared;
+                if (ordered || buffers.isEmpty()) {
+                    buffers.add(buffer);
+                }
+                tasks.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        read(query, buffer);
+                    }
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void read(AbstractSQLQuery<T, ?> query, BlockingQueue<Object> buffer) {
+        try {
+            Object result = END;
+            Connection connection = null;
+            try {
+                connection = connProvider.get();
+                connections.add(connection);
+                if (closed) {
+                    return;
+                }
+                CloseableIterator<T> rows = query.clone(connection).iterate();
+                try {
+                    while (rows.hasNext() && !Thread.currentThread().isInterrupted()) {
+                        T row = rows.next();
+                        buffer.put(row != null ? row : NULL);
+                    }
+                } finally {
+                    rows.close();
+                }
+            } catch (RuntimeException e) {
+                result = new Failure(e);
+            } catch (Error e) {
+                result = new Failure(new QueryException(e));
+            } finally {
+                release(connection);
+            }
+            buffer.put(result);
+        } catch (InterruptedException e) {
+            // closed by the consumer
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !closed && finished < partitions) {
+            Object value;
+            try {
+                value = buffers.get(ordered ? finished : 0).take();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new QueryException(e);
+            }
+            if (value == END) {
+                finished++;
+            } else if (value instanceof Failure) {
+                close();
+                throw ((Failure) value).exception;
+            } else {
+                next = value;
+            }
+        }
+        return next != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T next() {
+        if (hasNext()) {
+            Object value = next;
+            next = null;
+            return value != NULL ? (T) value : null;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            for (Future<?> task : tasks) {
+                task.cancel(true);
+            }
+            buffers.clear();
+            for (Connection connection : connections) {
+                release(connection);
+            }
+        }
+    }
+
+    private void release(@Nullable Connection connection) {
+        if (connection != null && connections.remove(connection)) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // the query failure is more relevant
+            }
+        }
+    }
+
+}
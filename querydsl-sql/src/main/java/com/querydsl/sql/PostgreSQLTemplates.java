@@ -14,8 +14,13 @@
 package com.querydsl.sql;
 
 import java.sql.Types;
+import java.util.List;
 
+import com.querydsl.core.QueryFlag.Position;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
 
 /**
  * {@code PostgreSQLTemplates} is an SQL dialect for PostgreSQL
@@ -49,9 +54,14 @@ public class PostgreSQLTemplates extends SQLTemplates {
 
     public PostgreSQLTemplates(char escape, boolean quote) {
         super(Keywords.POSTGRESQL, "\"", escape, quote, false);
+        setCopySupported(true);
         setDummyTable(null);
         setCountDistinctMultipleColumns(true);
         setCountViaAnalytics(true);
+        setStreamingRequiresTransaction(true);
+        setRowValueComparisonSupported(true);
+        setArrayInListSupported(true);
+        setExplainRowEstimateSupported(true);
         setDefaultValues("\ndefault values");
         setSupportsUnquotedReservedWordsAsIdentifier(true);
 
@@ -173,4 +183,53 @@ public class PostgreSQLTemplates extends SQLTemplates {
         }
     }
 
+
+    @Override
+    public void serializeCopy(QueryMetadata metadata, RelationalPath<?> entity,
+            List<Path<?>> columns, SQLSerializer context) {
+        context.append("copy ");
+        context.serializeForCopyTarget(entity);
+        context.append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                context.append(", ");
+            }
+            context.appendAsColumnName(columns.get(i), false);
+        }
+        context.append(") from stdin");
+    }
+
+    @Override
+    public void serializeUpsert(QueryMetadata metadata, RelationalPath<?> entity,
+            List<? extends Path<?>> keys, List<Path<?>> columns, List<Expression<?>> values,
+            SQLSerializer context) {
+        // requires PostgreSQL 9.5 or later
+        context.serializeForInsert(metadata, entity, columns, values, null);
+        context.append("\non conflict (");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                context.append(", ");
+            }
+            context.appendAsColumnName(keys.get(i), false);
+        }
+        context.append(") do ");
+        boolean first = true;
+        for (Path<?> column : columns) {
+            if (!keys.contains(column)) {
+                context.append(first ? "update set " : ", ");
+                context.appendAsColumnName(column, false);
+                context.append(" = excluded.");
+                context.appendAsColumnName(column, true);
+                first = false;
+            }
+        }
+        if (first) {
+            context.append("nothing");
+        }
+
+        if (!metadata.getFlags().isEmpty()) {
+            context.serialize(Position.END, metadata.getFlags());
+        }
+    }
+
 }
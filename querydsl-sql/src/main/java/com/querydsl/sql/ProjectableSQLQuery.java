@@ -466,9 +466,14 @@ public abstract class ProjectableSQLQuery<T, Q extends ProjectableSQLQuery<T, Q>
         }
     }
 
-    @SuppressWarnings("unchecked")
     protected SQLSerializer serialize(boolean forCountRow) {
         SQLSerializer serializer = createSerializer();
+        serialize(serializer, forCountRow);
+        return serializer;
+    }
+
+    @SuppressWarnings("unchecked")
+    void serialize(SQLSerializer serializer, boolean forCountRow) {
         if (union != null) {
             if (queryMixin.getMetadata().getProjection() == null ||
                 expandProjection(queryMixin.getMetadata().getProjection())
@@ -489,7 +494,6 @@ public abstract class ProjectableSQLQuery<T, Q extends ProjectableSQLQuery<T, Q>
         } else {
             serializer.serialize(queryMixin.getMetadata(), forCountRow);
         }
-        return serializer;
     }
 
     /**
@@ -46,6 +46,8 @@ public class RelationalPathBase<T> extends BeanPath<T> implements RelationalPath
 
     private final Map<Path<?>, ColumnMetadata> columnMetadata = Maps.newLinkedHashMap();
 
+    private volatile boolean metadataInitialized;
+
     private final List<ForeignKey<?>> foreignKeys = Lists.newArrayList();
 
     private final List<ForeignKey<?>> inverseForeignKeys = Lists.newArrayList();
@@ -105,6 +107,28 @@ public class RelationalPathBase<T> extends BeanPath<T> implements RelationalPath
         return path;
     }
 
+    /**
+     * Register the column metadata of this path. Invoked on first metadata access, if no
+     * columns have been registered by then, to support lazily initialized query types.
+     */
+    protected void addMetadata() {
+        // override in subclasses
+    }
+
+    private Map<Path<?>, ColumnMetadata> getColumnMetadata() {
+        if (!metadataInitialized) {
+            synchronized (columnMetadata) {
+                if (!metadataInitialized) {
+                    if (columnMetadata.isEmpty()) {
+                        addMetadata();
+                    }
+                    metadataInitialized = true;
+                }
+            }
+        }
+        return columnMetadata;
+    }
+
     @Override
     public NumberExpression<Long> count() {
         if (count == null) {
@@ -216,8 +240,9 @@ public class RelationalPathBase<T> extends BeanPath<T> implements RelationalPath
     }
 
     public Path<?>[] all() {
-        Path<?>[] all = new Path[columnMetadata.size()];
-        columnMetadata.keySet().toArray(all);
+        Map<Path<?>, ColumnMetadata> columns = getColumnMetadata();
+        Path<?>[] all = new Path[columns.size()];
+        columns.keySet().toArray(all);
         return all;
     }
 
@@ -228,7 +253,7 @@ public class RelationalPathBase<T> extends BeanPath<T> implements RelationalPath
 
     @Override
     public List<Path<?>> getColumns() {
-        return Lists.newArrayList(this.columnMetadata.keySet());
+        return Lists.newArrayList(getColumnMetadata().keySet());
     }
 
     @Override
@@ -263,7 +288,7 @@ public class RelationalPathBase<T> extends BeanPath<T> implements RelationalPath
 
     @Override
     public ColumnMetadata getMetadata(Path<?> column) {
-        return columnMetadata.get(column);
+        return getColumnMetadata().get(column);
     }
 
 }
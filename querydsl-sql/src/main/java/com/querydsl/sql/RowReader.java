@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.sql.types.Type;
+
+/**
+ * {@code RowReader} reads projection rows from a JDBC result set
+ *
+ * <p>The {@link Type} of each projected column is resolved once when the reader is created,
+ * so that reading a row only indexes into the resolved types.</p>
+ *
+ * @param <T> row type
+ */
+abstract class RowReader<T> {
+
+    /**
+     * Create a reader for the given projection
+     *
+     * @param configuration configuration
+     * @param expr projection or null for the first column
+     * @param <T> row type
+     * @return row reader
+     */
+    @SuppressWarnings("unchecked")
+    static <T> RowReader<T> create(Configuration configuration, @Nullable Expression<T> expr) {
+        if (expr == null) {
+            return new FirstColumnReader<T>();
+        } else if (expr instanceof FactoryExpression) {
+            FactoryExpression<T> factoryExpr = (FactoryExpression<T>) expr;
+            List<Expression<?>> args = factoryExpr.getArgs();
+            Type<?>[] types = new Type<?>[args.size()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = getType(configuration, args.get(i));
+            }
+            return new FactoryExpressionReader<T>(factoryExpr, types);
+        } else if (expr.equals(Wildcard.all)) {
+            return (RowReader<T>) new AllColumnsReader();
+        } else {
+            return new ExpressionReader<T>((Type<T>) getType(configuration, expr));
+        }
+    }
+
+    private static Type<?> getType(Configuration configuration, Expression<?> expr) {
+        return configuration.getType(expr instanceof Path ? (Path<?>) expr : null, expr.getType());
+    }
+
+    /**
+     * Read the current row of the given result set
+     *
+     * @param rs result set
+     * @return row
+     * @throws SQLException
+     */
+    @Nullable
+    abstract T read(ResultSet rs) throws SQLException;
+
+    private static final class FirstColumnReader<T> extends RowReader<T> {
+
+        @SuppressWarnings("unchecked")
+        @Override
+        T read(ResultSet rs) throws SQLException {
+            return (T) rs.getObject(1);
+        }
+
+    }
+
+    private static final class ExpressionReader<T> extends RowReader<T> {
+
+        private final Type<T> type;
+
+        ExpressionReader(Type<T> type) {
+            this.type = type;
+        }
+
+        @Override
+        T read(ResultSet rs) throws SQLException {
+            return type.getValue(rs, 1);
+        }
+
+    }
+
+    private static final class FactoryExpressionReader<T> extends RowReader<T> {
+
+        private final FactoryExpression<T> expr;
+
+        private final Type<?>[] types;
+
+        FactoryExpressionReader(FactoryExpression<T> expr, Type<?>[] types) {
+            this.expr = expr;
+            this.types = types;
+        }
+
+        @Override
+        T read(ResultSet rs) throws SQLException {
+            Object[] args = new Object[types.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = types[i].getValue(rs, i + 1);
+            }
+            return expr.newInstance(args);
+        }
+
+    }
+
+    private static final class AllColumnsReader extends RowReader<Object[]> {
+
+        private int columnCount = -1;
+
+        @Override
+        Object[] read(ResultSet rs) throws SQLException {
+            if (columnCount < 0) {
+                columnCount = rs.getMetaData().getColumnCount();
+            }
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+/**
+ * A detailed listener which is also notified about the reading of query results
+ *
+ * <p>Fetch statistics are only collected, if at least one registered listener implements
+ * this interface.</p>
+ */
+public interface SQLFetchListener extends SQLDetailedListener {
+
+    /**
+     * Called before the first row of the query results is read.
+     *
+     * @param context a context object that is progressively filled out as the query executes
+     */
+    void preFetch(SQLListenerContext context);
+
+    /**
+     * Called after the rows of the query results have been read.
+     *
+     * @param context a context object that is progressively filled out as the query executes
+     * @param statistics statistics of the fetched rows
+     */
+    void fetched(SQLListenerContext context, SQLFetchStatistics statistics);
+
+}
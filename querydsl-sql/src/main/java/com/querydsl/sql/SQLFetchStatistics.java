@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+/**
+ * Statistics of the rows read from query results, see {@link SQLFetchListener}
+ */
+public interface SQLFetchStatistics {
+
+    /**
+     * Return the number of rows read from the query results
+     *
+     * @return the number of fetched rows
+     */
+    long getFetchedRows();
+
+    /**
+     * Return the number of result set columns of the fetched rows
+     *
+     * @return the number of columns read
+     */
+    long getColumnsRead();
+
+    /**
+     * Return the time spent mapping the fetched rows into objects in nanoseconds
+     *
+     * @return the mapping time
+     */
+    long getMappingTime();
+
+    /**
+     * Return the time between the start of the fetch and the availability of the first row in nanoseconds
+     *
+     * @return the time to the first row or -1, if no rows have been fetched
+     */
+    long getTimeToFirstRow();
+
+}
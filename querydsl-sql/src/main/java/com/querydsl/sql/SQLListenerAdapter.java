@@ -27,13 +27,15 @@ import com.querydsl.sql.dml.SQLUpdateBatch;
 /**
  * A simple adapter class that knows if the underlying listener is a simple or detailed SQL listener
  */
-class SQLListenerAdapter implements SQLDetailedListener {
+class SQLListenerAdapter implements SQLFetchListener {
 
     private final SQLListener sqlListener;
     private final SQLDetailedListener detailedListener;
+    private final SQLFetchListener fetchListener;
 
     SQLListenerAdapter(final SQLListener sqlListener) {
         this.detailedListener = sqlListener instanceof SQLDetailedListener ? (SQLDetailedListener) sqlListener : null;
+        this.fetchListener = sqlListener instanceof SQLFetchListener ? (SQLFetchListener) sqlListener : null;
         this.sqlListener = sqlListener;
     }
 
@@ -90,6 +92,20 @@ class SQLListenerAdapter implements SQLDetailedListener {
         }
     }
 
+    @Override
+    public void preFetch(final SQLListenerContext context) {
+        if (fetchListener != null) {
+            fetchListener.preFetch(context);
+        }
+    }
+
+    @Override
+    public void fetched(final SQLListenerContext context, final SQLFetchStatistics statistics) {
+        if (fetchListener != null) {
+            fetchListener.fetched(context, statistics);
+        }
+    }
+
     @Override
     public void end(final SQLListenerContext context) {
         if (detailedListener != null) {
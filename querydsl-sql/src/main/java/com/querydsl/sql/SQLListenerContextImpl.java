@@ -29,7 +29,7 @@ import com.querydsl.core.QueryMetadata;
  * INTERNAL USE ONLY - {@link com.querydsl.sql.SQLDetailedListener} implementations are not expected to use this
  * class directly
  */
-public class SQLListenerContextImpl implements SQLListenerContext {
+public class SQLListenerContextImpl implements SQLListenerContext, SQLFetchStatistics {
     private final Map<String, Object> contextMap;
 
     private final QueryMetadata md;
@@ -44,6 +44,10 @@ public class SQLListenerContextImpl implements SQLListenerContext {
 
     private Exception exception;
 
+    private long fetchedRows, columnsRead, mappingTime;
+
+    private long timeToFirstRow = -1;
+
     public SQLListenerContextImpl(final QueryMetadata metadata, final Connection connection, final RelationalPath<?> entity) {
         this.contextMap = Maps.newHashMap();
         this.preparedStatements = Lists.newArrayList();
@@ -81,6 +85,16 @@ public class SQLListenerContextImpl implements SQLListenerContext {
         this.preparedStatements.add(preparedStatement);
     }
 
+    public void setTimeToFirstRow(final long timeToFirstRow) {
+        this.timeToFirstRow = timeToFirstRow;
+    }
+
+    public void addFetchedRow(final int columns, final long mappingTime) {
+        this.fetchedRows++;
+        this.columnsRead += columns;
+        this.mappingTime += mappingTime;
+    }
+
     @Override
     public QueryMetadata getMetadata() {
         return md;
@@ -121,6 +135,26 @@ public class SQLListenerContextImpl implements SQLListenerContext {
         return preparedStatements.isEmpty() ? null : preparedStatements.get(0);
     }
 
+    @Override
+    public long getFetchedRows() {
+        return fetchedRows;
+    }
+
+    @Override
+    public long getColumnsRead() {
+        return columnsRead;
+    }
+
+    @Override
+    public long getMappingTime() {
+        return mappingTime;
+    }
+
+    @Override
+    public long getTimeToFirstRow() {
+        return timeToFirstRow;
+    }
+
     @Override
     public Object getData(final String dataKey) {
         return contextMap.get(dataKey);
@@ -34,10 +34,10 @@ import com.querydsl.sql.dml.SQLUpdateBatch;
  *
  * @author tiwe
  */
-public class SQLListeners implements SQLDetailedListener {
+public class SQLListeners implements SQLFetchListener {
 
     @Nullable
-    private final SQLDetailedListener parent;
+    private final SQLListenerAdapter parent;
 
     private final Set<SQLDetailedListener> listeners = Sets.newLinkedHashSet();
 
@@ -226,6 +226,57 @@ public class SQLListeners implements SQLDetailedListener {
         }
     }
 
+    @Override
+    public void preFetch(final SQLListenerContext context) {
+        if (parent != null) {
+            parent.preFetch(context);
+        }
+        for (SQLDetailedListener listener : listeners) {
+            if (listener instanceof SQLFetchListener) {
+                ((SQLFetchListener) listener).preFetch(context);
+            }
+        }
+    }
+
+    @Override
+    public void fetched(final SQLListenerContext context, final SQLFetchStatistics statistics) {
+        if (parent != null) {
+            parent.fetched(context, statistics);
+        }
+        for (SQLDetailedListener listener : listeners) {
+            if (listener instanceof SQLFetchListener) {
+                ((SQLFetchListener) listener).fetched(context, statistics);
+            }
+        }
+    }
+
+    /**
+     * Get whether any of the listeners is a {@link SQLFetchListener}
+     *
+     * @return true, if fetch statistics need to be collected
+     */
+    public boolean hasFetchListeners() {
+        if (parent != null && isFetchListener(parent.getSqlListener())) {
+            return true;
+        }
+        for (SQLDetailedListener listener : listeners) {
+            if (isFetchListener(listener)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFetchListener(SQLListener listener) {
+        if (listener instanceof SQLListeners) {
+            return ((SQLListeners) listener).hasFetchListeners();
+        } else if (listener instanceof SQLListenerAdapter) {
+            return isFetchListener(((SQLListenerAdapter) listener).getSqlListener());
+        } else {
+            return listener instanceof SQLFetchListener;
+        }
+    }
+
     @Override
     public void end(final SQLListenerContext context) {
         if (parent != null) {
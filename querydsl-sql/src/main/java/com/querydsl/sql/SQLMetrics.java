@@ -0,0 +1,167 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import javax.annotation.Nullable;
+
+import com.querydsl.sql.LatencyHistogram.Snapshot;
+
+/**
+ * {@code SQLMetrics} is a snapshot of the measurements of {@link SQLMetricsListener} for a single
+ * statement shape. All durations are in nanoseconds.
+ */
+public class SQLMetrics {
+
+    private final String sql;
+
+    @Nullable
+    private final String entity;
+
+    private final long count, errorCount, rowCount;
+
+    private final Snapshot render, prepare, execute, fetch, mapping, firstRow, total;
+
+    SQLMetrics(String sql, @Nullable String entity, long count, long errorCount, long rowCount,
+            Snapshot render, Snapshot prepare, Snapshot execute, Snapshot fetch, Snapshot mapping,
+            Snapshot firstRow, Snapshot total) {
+        this.sql = sql;
+        this.entity = entity;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.rowCount = rowCount;
+        this.render = render;
+        this.prepare = prepare;
+        this.execute = execute;
+        this.fetch = fetch;
+        this.mapping = mapping;
+        this.firstRow = firstRow;
+        this.total = total;
+    }
+
+    /**
+     * Get the normalized SQL
+     *
+     * @return sql
+     */
+    public String getSQL() {
+        return sql;
+    }
+
+    /**
+     * Get the name of the target table of DML clauses
+     *
+     * @return table name or null for queries
+     */
+    @Nullable
+    public String getEntity() {
+        return entity;
+    }
+
+    /**
+     * Get the number of executions
+     *
+     * @return count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the number of failed executions
+     *
+     * @return error count
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Get the number of rows fetched by all executions
+     *
+     * @return row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Get the durations of SQL rendering
+     *
+     * @return render durations
+     */
+    public Snapshot getRender() {
+        return render;
+    }
+
+    /**
+     * Get the durations of statement preparation
+     *
+     * @return prepare durations
+     */
+    public Snapshot getPrepare() {
+        return prepare;
+    }
+
+    /**
+     * Get the durations of statement execution
+     *
+     * @return execute durations
+     */
+    public Snapshot getExecute() {
+        return execute;
+    }
+
+    /**
+     * Get the durations of result set iteration and row mapping of queries
+     *
+     * @return fetch durations
+     */
+    public Snapshot getFetch() {
+        return fetch;
+    }
+
+    /**
+     * Get the durations of row mapping of queries
+     *
+     * @return mapping durations
+     */
+    public Snapshot getMapping() {
+        return mapping;
+    }
+
+    /**
+     * Get the durations until the first row of queries was available
+     *
+     * @return time to first row durations
+     */
+    public Snapshot getFirstRow() {
+        return firstRow;
+    }
+
+    /**
+     * Get the total durations
+     *
+     * @return total durations
+     */
+    public Snapshot getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return (entity != null ? entity + ": " : "") + sql + " [count=" + count
+                + ", errors=" + errorCount + ", rows=" + rowCount + ", total: " + total + "]";
+    }
+
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Objects;
+
+/**
+ * {@code SQLMetricsListener} records the durations of the phases of query and DML execution.
+ *
+ * <p>The measurements are grouped by the normalized SQL of the statement and the target table
+ * and kept in lock-free histograms, so the listener can be shared by concurrently executed
+ * statements. Besides the execution and error counts and the number of fetched rows, the following
+ * phases are measured:</p>
+ *
+ * <ul>
+ *     <li>render: SQL serialization</li>
+ *     <li>prepare: statement preparation and parameter binding</li>
+ *     <li>execute: statement execution in the database</li>
+ *     <li>fetch: result set iteration and row mapping of queries</li>
+ *     <li>mapping: row mapping of queries</li>
+ *     <li>first row: time to the first row of queries</li>
+ *     <li>total: from the start to the end of the query</li>
+ * </ul>
+ *
+ * <p>Usage:</p>
+ * <pre>{@code
+ * SQLMetricsListener metrics = new SQLMetricsListener();
+ * configuration.addListener(metrics);
+ * ...
+ * for (SQLMetrics m : metrics.getSnapshot()) {
+ *     System.out.println(m);
+ * }
+ * }</pre>
+ */
+public class SQLMetricsListener extends SQLBaseListener implements SQLFetchListener {
+
+    public static final int DEFAULT_MAX_SHAPES = 1000;
+
+    /**
+     * SQL of the measurements which exceed the shape limit
+     */
+    public static final String OTHER = "<other>";
+
+    private static final String TIMER_KEY = SQLMetricsListener.class.getName();
+
+    private static final class Key {
+
+        private final String sql;
+
+        @Nullable
+        private final String entity;
+
+        private final int hashCode;
+
+        Key(String sql, @Nullable String entity) {
+            this.sql = sql;
+            this.entity = entity;
+            this.hashCode = 31 * sql.hashCode() + (entity != null ? entity.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (o instanceof Key) {
+                Key other = (Key) o;
+                return other.sql.equals(sql) && Objects.equal(other.entity, entity);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+    private static final class Stats {
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private final AtomicLong rows = new AtomicLong();
+
+        private final LatencyHistogram render = new LatencyHistogram();
+
+        private final LatencyHistogram prepare = new LatencyHistogram();
+
+        private final LatencyHistogram execute = new LatencyHistogram();
+
+        private final LatencyHistogram fetch = new LatencyHistogram();
+
+        private final LatencyHistogram mapping = new LatencyHistogram();
+
+        private final LatencyHistogram firstRow = new LatencyHistogram();
+
+        private final LatencyHistogram total = new LatencyHistogram();
+
+    }
+
+    /**
+     * Per execution state, which is kept in the listener context
+     */
+    private static final class Timer {
+
+        private final long start = System.nanoTime();
+
+        private long phaseStart, executed;
+
+        private long render, prepare, execute, fetch, mapping, rows;
+
+        private long firstRow = -1;
+
+        private boolean rendered, prepared, fetched, failed;
+
+    }
+
+    private final ConcurrentMap<Key, Stats> stats = new ConcurrentHashMap<Key, Stats>();
+
+    private final int maxShapes;
+
+    private long slowQueryThreshold = -1;
+
+    public SQLMetricsListener() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * Create a new listener
+     *
+     * @param maxShapes maximum number of distinct statement shapes, further shapes are recorded
+     *                  under {@link #OTHER}
+     */
+    public SQLMetricsListener(int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * Set the duration after which {@link #slowQuery(SQLListenerContext, long)} is invoked
+     *
+     * @param threshold threshold
+     * @param unit time unit of threshold
+     */
+    public void setSlowQueryThreshold(long threshold, TimeUnit unit) {
+        this.slowQueryThreshold = unit.toNanos(threshold);
+    }
+
+    @Override
+    public void start(SQLListenerContext context) {
+        context.setData(TIMER_KEY, new Timer());
+    }
+
+    @Override
+    public void preRender(SQLListenerContext context) {
+        begin(context);
+    }
+
+    @Override
+    public void rendered(SQLListenerContext context) {
+        Timer timer = getTimer(context);
+        if (timer != null) {
+            timer.render += System.nanoTime() - timer.phaseStart;
+            timer.rendered = true;
+        }
+    }
+
+    @Override
+    public void prePrepare(SQLListenerContext context) {
+        begin(context);
+    }
+
+    @Override
+    public void prepared(SQLListenerContext context) {
+        Timer timer = getTimer(context);
+        if (timer != null) {
+            timer.prepare += System.nanoTime() - timer.phaseStart;
+            timer.prepared = true;
+        }
+    }
+
+    @Override
+    public void preExecute(SQLListenerContext context) {
+        begin(context);
+    }
+
+    @Override
+    public void executed(SQLListenerContext context) {
+        Timer timer = getTimer(context);
+        if (timer != null) {
+            timer.executed = System.nanoTime();
+            timer.execute += timer.executed - timer.phaseStart;
+        }
+    }
+
+    @Override
+    public void preFetch(SQLListenerContext context) {
+        begin(context);
+    }
+
+    @Override
+    public void fetched(SQLListenerContext context, SQLFetchStatistics statistics) {
+        Timer timer = getTimer(context);
+        if (timer != null) {
+            timer.fetch += System.nanoTime() - timer.phaseStart;
+            timer.mapping = statistics.getMappingTime();
+            timer.rows = statistics.getFetchedRows();
+            timer.firstRow = statistics.getTimeToFirstRow();
+            timer.fetched = true;
+        }
+    }
+
+    @Override
+    public void exception(SQLListenerContext context) {
+        Timer timer = getTimer(context);
+        if (timer != null) {
+            timer.failed = true;
+        }
+    }
+
+    @Override
+    public void end(SQLListenerContext context) {
+        Timer timer = getTimer(context);
+        if (timer == null) {
+            return;
+        }
+        context.setData(TIMER_KEY, null);
+        long end = System.nanoTime();
+        long total = end - timer.start;
+        Stats s = getStats(context);
+        if (timer.failed) {
+            s.errors.incrementAndGet();
+        }
+        if (timer.rendered) {
+            s.render.record(timer.render);
+        }
+        if (timer.prepared) {
+            s.prepare.record(timer.prepare);
+        }
+        if (timer.executed != 0) {
+            s.execute.record(timer.execute);
+        }
+        if (timer.fetched) {
+            s.fetch.record(timer.fetch);
+            s.mapping.record(timer.mapping);
+            s.rows.addAndGet(timer.rows);
+            if (timer.firstRow >= 0) {
+                s.firstRow.record(timer.firstRow);
+            }
+        } else if (timer.executed != 0 && context.getMetadata().getProjection() != null) {
+            // results consumed as a plain result set
+            s.fetch.record(end - timer.executed);
+        }
+        s.total.record(total);
+        if (slowQueryThreshold >= 0 && total >= slowQueryThreshold) {
+            slowQuery(context, total);
+        }
+    }
+
+    /**
+     * Called at the end of queries, which took longer than the slow query threshold
+     *
+     * @param context context of the query
+     * @param nanos total duration in nanoseconds
+     */
+    protected void slowQuery(SQLListenerContext context, long nanos) {
+
+    }
+
+    /**
+     * Normalize the given SQL. Lists of consecutive parameters are collapsed, so that for example
+     * IN expressions with different numbers of arguments share the same statement shape.
+     *
+     * @param sql sql
+     * @return normalized sql
+     */
+    protected String normalize(String sql) {
+        int i = sql.indexOf("?, ?");
+        if (i < 0) {
+            return sql;
+        }
+        StringBuilder builder = new StringBuilder(sql.length());
+        int last = 0;
+        while (i >= 0) {
+            builder.append(sql, last, i + 1).append(", ...");
+            last = i + 1;
+            while (sql.startsWith(", ?", last)) {
+                last += 3;
+            }
+            i = sql.indexOf("?, ?", last);
+        }
+        return builder.append(sql, last, sql.length()).toString();
+    }
+
+    private static void begin(SQLListenerContext context) {
+        Timer timer = getTimer(context);
+        if (timer != null) {
+            timer.phaseStart = System.nanoTime();
+        }
+    }
+
+    @Nullable
+    private static Timer getTimer(SQLListenerContext context) {
+        return (Timer) context.getData(TIMER_KEY);
+    }
+
+    private Stats getStats(SQLListenerContext context) {
+        String sql = context.getSQL();
+        RelationalPath<?> entity = context.getEntity();
+        Key key = new Key(sql != null ? normalize(sql) : "", entity != null ? entity.getTableName() : null);
+        Stats s = stats.get(key);
+        if (s == null) {
+            if (stats.size() >= maxShapes) {
+                key = new Key(OTHER, null);
+                s = stats.get(key);
+            }
+            if (s == null) {
+                s = new Stats();
+                Stats existing = stats.putIfAbsent(key, s);
+                if (existing != null) {
+                    s = existing;
+                }
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Get a snapshot of the measurements of all statement shapes
+     *
+     * @return measurements
+     */
+    public List<SQLMetrics> getSnapshot() {
+        List<SQLMetrics> rv = new ArrayList<SQLMetrics>(stats.size());
+        for (Map.Entry<Key, Stats> entry : stats.entrySet()) {
+            Key key = entry.getKey();
+            Stats s = entry.getValue();
+            LatencyHistogram.Snapshot total = s.total.getSnapshot();
+            rv.add(new SQLMetrics(key.sql, key.entity, total.getCount(), s.errors.get(), s.rows.get(),
+                    s.render.getSnapshot(), s.prepare.getSnapshot(), s.execute.getSnapshot(),
+                    s.fetch.getSnapshot(), s.mapping.getSnapshot(), s.firstRow.getSnapshot(), total));
+        }
+        return rv;
+    }
+
+    /**
+     * Remove all measurements
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+}
@@ -81,7 +81,9 @@ public enum SQLOps implements Operator {
     GROUP_CONCAT(String.class),
     GROUP_CONCAT2(String.class),
     SET_PATH(Object.class),
-    SET_LITERAL(Object.class);
+    SET_LITERAL(Object.class),
+    IN_ARRAY(Boolean.class),
+    NOT_IN_ARRAY(Boolean.class);
 
     private final Class<?> type;
 
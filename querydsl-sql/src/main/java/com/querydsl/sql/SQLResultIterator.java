@@ -45,6 +45,19 @@ public abstract class SQLResultIterator<T> implements CloseableIterator<T> {
 
     private final SQLListenerContext context;
 
+    // set only if a listener consumes fetch statistics
+    @Nullable
+    private final SQLFetchListener fetchListener;
+
+    @Nullable
+    private final SQLListenerContextImpl fetchContext;
+
+    private boolean fetching, closed;
+
+    private long fetchStart;
+
+    private int columns = -1;
+
     public SQLResultIterator(Configuration conf, Statement stmt, ResultSet rs) {
         this(conf, stmt, rs, null, null);
     }
@@ -56,10 +69,23 @@ public abstract class SQLResultIterator<T> implements CloseableIterator<T> {
         this.rs = rs;
         this.listener = listener;
         this.context = context;
+        boolean fetchStatistics = listener instanceof SQLListeners
+                ? ((SQLListeners) listener).hasFetchListeners() : listener instanceof SQLFetchListener;
+        if (fetchStatistics && context instanceof SQLListenerContextImpl) {
+            this.fetchListener = (SQLFetchListener) listener;
+            this.fetchContext = (SQLListenerContextImpl) context;
+        } else {
+            this.fetchListener = null;
+            this.fetchContext = null;
+        }
     }
 
     @Override
     public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
         try {
             try {
                 if (rs != null) {
@@ -74,7 +100,13 @@ public abstract class SQLResultIterator<T> implements CloseableIterator<T> {
             throw configuration.translate(e);
         } finally {
             if (listener != null) {
-                listener.end(context);
+                try {
+                    if (fetching && fetchListener != null) {
+                        fetchListener.fetched(context, fetchContext);
+                    }
+                } finally {
+                    listener.end(context);
+                }
             }
         }
     }
@@ -83,7 +115,18 @@ public abstract class SQLResultIterator<T> implements CloseableIterator<T> {
     public boolean hasNext() {
         if (next == null) {
             try {
+                if (!fetching) {
+                    fetching = true;
+                    if (fetchListener != null) {
+                        fetchListener.preFetch(context);
+                        fetchStart = System.nanoTime();
+                    }
+                }
                 next = rs.next();
+                if (next && columns < 0 && fetchContext != null) {
+                    fetchContext.setTimeToFirstRow(System.nanoTime() - fetchStart);
+                    columns = rs.getMetaData().getColumnCount();
+                }
             } catch (SQLException e) {
                 close();
                 throw configuration.translate(e);
@@ -97,7 +140,14 @@ public abstract class SQLResultIterator<T> implements CloseableIterator<T> {
         if (hasNext()) {
             next = null;
             try {
-                return produceNext(rs);
+                if (fetchContext != null) {
+                    long start = System.nanoTime();
+                    T rv = produceNext(rs);
+                    fetchContext.addFetchedRow(columns, System.nanoTime() - start);
+                    return rv;
+                } else {
+                    return produceNext(rs);
+                }
             } catch (SQLException e) {
                 close();
                 throw configuration.translate(e);
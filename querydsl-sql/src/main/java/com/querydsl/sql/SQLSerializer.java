@@ -33,6 +33,7 @@ import com.querydsl.core.types.*;
 import com.querydsl.core.types.Template.Element;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.sql.dml.SQLInsertBatch;
+import com.querydsl.sql.types.ArrayType;
 import com.querydsl.sql.types.Null;
 
 /**
@@ -76,6 +77,17 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
 
     private boolean useLiterals = false;
 
+    private boolean padInList = false;
+
+    @Nullable
+    private List<Object> constantOrigins;
+
+    @Nullable
+    private List<Integer> constantOriginElements;
+
+    @Nullable
+    private Constant<?> currentConstant;
+
     public SQLSerializer(Configuration conf) {
         this(conf, false);
     }
@@ -116,6 +128,46 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
         return constantPaths;
     }
 
+    /**
+     * Record the origin of each bound constant, see {@link #getConstantOrigins()}
+     */
+    void trackConstantOrigins() {
+        constantOrigins = new ArrayList<Object>();
+        constantOriginElements = new ArrayList<Integer>();
+    }
+
+    /**
+     * Get the origins of the bound constants. The origin is the {@link Constant} expression
+     * the value was taken from, or the value itself if it was not taken directly from a constant
+     * expression
+     *
+     * @return constant origins
+     */
+    List<Object> getConstantOrigins() {
+        return constantOrigins;
+    }
+
+    /**
+     * Get the collection element indices of the bound constants, -1 is used for constants
+     * which are not collection elements
+     *
+     * @return element indices
+     */
+    List<Integer> getConstantOriginElements() {
+        return constantOriginElements;
+    }
+
+    private void addConstantOrigin(Object constant, Object value, int element) {
+        if (constantOrigins != null) {
+            if (currentConstant != null && currentConstant.getConstant() == constant) {
+                constantOrigins.add(currentConstant);
+            } else {
+                constantOrigins.add(value);
+            }
+            constantOriginElements.add(element);
+        }
+    }
+
     /**
      * Return a list of expressions that can be used to uniquely define the query sources
      *
@@ -541,6 +593,97 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
         }
     }
 
+    public void serializeCopy(QueryMetadata metadata, RelationalPath<?> entity, List<Path<?>> columns) {
+        this.entity = entity;
+        templates.serializeCopy(metadata, entity, columns, this);
+    }
+
+    void serializeForCopyTarget(RelationalPath<?> entity) {
+        dmlWithSchema = true;
+        handle(entity);
+        dmlWithSchema = false;
+    }
+
+    public void serializeUpsert(QueryMetadata metadata, RelationalPath<?> entity, List<? extends Path<?>> keys,
+            List<Path<?>> columns, List<Expression<?>> values) {
+        this.entity = entity;
+        templates.serializeUpsert(metadata, entity, keys, columns, values, this);
+    }
+
+    void serializeForMergeUsing(QueryMetadata metadata, RelationalPath<?> entity, List<? extends Path<?>> keys,
+            List<Path<?>> columns, List<Expression<?>> values) {
+        serialize(Position.START, metadata.getFlags());
+
+        if (!serialize(Position.START_OVERRIDE, metadata.getFlags())) {
+            append(templates.getMergeInto());
+        }
+        serialize(Position.AFTER_SELECT, metadata.getFlags());
+
+        dmlWithSchema = true;
+        handle(entity);
+        dmlWithSchema = false;
+
+        if (!useLiterals) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (values.get(i) instanceof Constant<?>) {
+                    constantPaths.add(columns.get(i));
+                }
+            }
+        }
+
+        // source
+        append("\nusing (").append(templates.getSelect());
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                append(COMMA);
+            }
+            handle(values.get(i));
+            append(" ");
+            appendAsColumnName(columns.get(i), false);
+        }
+        serializeSources(ImmutableList.<JoinExpression>of());
+        append(") src");
+
+        // keys
+        append("\non (");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                append(" and ");
+            }
+            handle(keys.get(i));
+            append(" = src.");
+            appendAsColumnName(keys.get(i), true);
+        }
+        append(")");
+
+        // update
+        boolean first = true;
+        for (Path<?> column : columns) {
+            if (!keys.contains(column)) {
+                append(first ? "\nwhen matched then update set " : COMMA);
+                appendAsColumnName(column, false);
+                append(" = src.");
+                appendAsColumnName(column, true);
+                first = false;
+            }
+        }
+
+        // insert
+        append("\nwhen not matched then insert (");
+        skipParent = true;
+        handle(COMMA, columns);
+        skipParent = false;
+        append(")").append(templates.getValues()).append("(");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                append(COMMA);
+            }
+            append("src.");
+            appendAsColumnName(columns.get(i), true);
+        }
+        append(")");
+    }
+
     public void serializeInsert(QueryMetadata metadata, RelationalPath<?> entity, List<Path<?>> columns,
             List<Expression<?>> values, @Nullable SubQueryExpression<?> subQuery) {
         this.entity = entity;
@@ -793,24 +936,36 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
                 append(configuration.asLiteral(constant));
             }
         } else if (constant instanceof Collection) {
+            Collection<?> coll = (Collection<?>) constant;
+            int size = padInList ? getPaddedSize(coll.size()) : coll.size();
             append("(");
             boolean first = true;
-            for (Object o : ((Collection) constant)) {
+            int element = 0;
+            Object last = null;
+            for (Object o : coll) {
                 if (!first) {
                     append(COMMA);
                 }
                 append("?");
                 constants.add(o);
+                addConstantOrigin(constant, o, element);
                 if (first && (constantPaths.size() < constants.size())) {
                     constantPaths.add(null);
                 }
                 first = false;
+                element++;
+                last = o;
+            }
+            // padding repeats the last element
+            for (; element < size; element++) {
+                append(COMMA).append("?");
+                constants.add(last);
+                addConstantOrigin(constant, last, coll.size() - 1);
             }
             append(")");
 
-            int size = ((Collection) constant).size() - 1;
             Path<?> lastPath = constantPaths.peekLast();
-            for (int i = 0; i < size; i++) {
+            for (int i = 0; i < size - 1; i++) {
                 constantPaths.add(lastPath);
             }
         } else {
@@ -824,16 +979,60 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
                 append("?");
             }
             constants.add(constant);
+            addConstantOrigin(constant, constant, -1);
             if (constantPaths.size() < constants.size()) {
                 constantPaths.add(null);
             }
         }
     }
 
+    private int getPaddedSize(int size) {
+        int padded = Integer.highestOneBit(size);
+        if (padded < size) {
+            padded <<= 1;
+        }
+        int max = templates.getListMaxSize();
+        return max > 0 && padded > max ? Math.max(size, max) : padded;
+    }
+
+    @Nullable
+    private Object toArray(Collection<?> coll) {
+        if (!templates.isArrayInListSupported()) {
+            return null;
+        }
+        Class<?> elementType = null;
+        for (Object o : coll) {
+            if (o == null || (elementType != null && !elementType.equals(o.getClass()))) {
+                return null;
+            }
+            elementType = o.getClass();
+        }
+        Object[] array = (Object[]) java.lang.reflect.Array.newInstance(elementType, coll.size());
+        if (configuration.getType(null, array.getClass()) instanceof ArrayType) {
+            return coll.toArray(array);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public Void visit(Constant<?> expr, Void context) {
+        if (constantOrigins != null) {
+            Constant<?> oldConstant = currentConstant;
+            currentConstant = expr;
+            super.visit(expr, context);
+            currentConstant = oldConstant;
+            return null;
+        } else {
+            return super.visit(expr, context);
+        }
+    }
+
     @Override
     public Void visit(ParamExpression<?> param, Void context) {
         append("?");
         constants.add(param);
+        addConstantOrigin(param, param, -1);
         if (constantPaths.size() < constants.size()) {
             constantPaths.add(null);
         }
@@ -982,8 +1181,20 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
                 super.visitOperation(type, operator == Ops.IN ? Ops.EQ : Ops.NE,
                         ImmutableList.of(Expressions.ONE, Expressions.TWO));
             } else {
-                if (templates.getListMaxSize() == 0 || coll.size() <= templates.getListMaxSize()) {
+                InListStrategy strategy = useLiterals ? InListStrategy.DEFAULT : configuration.getInListStrategy();
+                Object array = strategy == InListStrategy.ARRAY ? toArray(coll) : null;
+                if (array != null) {
+                    // the array is bound without the column type of the path
+                    if (pathAdded) {
+                        constantPaths.removeLast();
+                    }
+                    super.visitOperation(type, operator == Ops.IN ? SQLOps.IN_ARRAY : SQLOps.NOT_IN_ARRAY,
+                            ImmutableList.of(args.get(0), ConstantImpl.create(array)));
+                } else if (templates.getListMaxSize() == 0 || coll.size() <= templates.getListMaxSize()) {
+                    boolean oldPadInList = padInList;
+                    padInList = strategy != InListStrategy.DEFAULT;
                     super.visitOperation(type, operator, args);
+                    padInList = oldPadInList;
                 } else {
                     //The type of the path is compatible with the constant
                     //expression, since the compile time checking mandates it to be
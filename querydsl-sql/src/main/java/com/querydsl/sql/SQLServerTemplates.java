@@ -14,6 +14,7 @@
 package com.querydsl.sql;
 
 import java.sql.Types;
+import java.util.List;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
@@ -24,6 +25,7 @@ import com.querydsl.core.QueryModifiers;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
 import com.querydsl.core.types.dsl.Expressions;
 
 /**
@@ -241,6 +243,16 @@ public class SQLServerTemplates extends SQLTemplates {
         }
     }
 
+    @Override
+    public void serializeUpsert(QueryMetadata metadata, RelationalPath<?> entity,
+            List<? extends Path<?>> keys, List<Path<?>> columns, List<Expression<?>> values,
+            SQLSerializer context) {
+        super.serializeUpsert(metadata, entity, keys, columns, values, context);
+        // MERGE statements need to be terminated
+        context.append(";");
+    }
+
+
     @Override
     protected void serializeModifiers(QueryMetadata metadata, SQLSerializer context) {
         // do nothing
@@ -77,7 +77,7 @@ public class SQLTemplates extends Templates {
      */
     public abstract static class Builder {
 
-        protected boolean printSchema, quote, newLineToSingleSpace;
+        protected boolean printSchema, quote, newLineToSingleSpace, upsert;
 
         protected char escape = '\\';
 
@@ -101,6 +101,17 @@ public class SQLTemplates extends Templates {
             return this;
         }
 
+        /**
+         * Execute MERGE batches as set-based upserts. This is for dialects whose upsert
+         * syntax needs a minimum database version, namely PostgreSQL 9.5 and SQLite 3.24.
+         *
+         * @return the current object
+         */
+        public Builder upsert() {
+            upsert = true;
+            return this;
+        }
+
         protected abstract SQLTemplates build(char escape, boolean quote);
 
         public SQLTemplates build() {
@@ -109,6 +120,9 @@ public class SQLTemplates extends Templates {
                 templates.newLineToSingleSpace();
             }
             templates.setPrintSchema(printSchema);
+            if (upsert) {
+                templates.setUpsertSupported(true);
+            }
             return templates;
         }
 
@@ -180,6 +194,10 @@ public class SQLTemplates extends Templates {
 
     private boolean nativeMerge;
 
+    private boolean upsertSupported;
+
+    private boolean copySupported;
+
     private String notNull = " not null";
 
     private String offsetTemplate = "\noffset {0}";
@@ -216,6 +234,8 @@ public class SQLTemplates extends Templates {
 
     private String nullsLast = " nulls last";
 
+    private String explain = "explain ";
+
     private boolean parameterMetadataAvailable = true;
 
     private boolean batchCountViaGetUpdateCount = false;
@@ -244,6 +264,16 @@ public class SQLTemplates extends Templates {
 
     private int maxLimit = Integer.MAX_VALUE;
 
+    private int streamingFetchSize = 0;
+
+    private boolean streamingRequiresTransaction = false;
+
+    private boolean rowValueComparisonSupported = false;
+
+    private boolean arrayInListSupported = false;
+
+    private boolean explainRowEstimateSupported = false;
+
     private QueryFlag forShareFlag = new QueryFlag(Position.END, FOR_SHARE);
 
     private QueryFlag forUpdateFlag = new QueryFlag(Position.END, FOR_UPDATE);
@@ -356,6 +386,8 @@ public class SQLTemplates extends Templates {
         add(SQLOps.UNION, "{0}\nunion\n{1}", Precedence.OR + 1);
         add(SQLOps.UNION_ALL, "{0}\nunion all\n{1}", Precedence.OR + 1);
         add(SQLOps.NEXTVAL, "nextval('{0s}')");
+        add(SQLOps.IN_ARRAY, "{0} = any({1})", Precedence.COMPARISON);
+        add(SQLOps.NOT_IN_ARRAY, "{0} <> all({1})", Precedence.COMPARISON);
 
         // analytic functions
         add(SQLOps.CORR, "corr({0},{1})");
@@ -761,6 +793,10 @@ public class SQLTemplates extends Templates {
         return nullsLast;
     }
 
+    public final String getExplain() {
+        return explain;
+    }
+
     public final boolean isCountViaAnalytics() {
         return countViaAnalytics;
     }
@@ -785,6 +821,61 @@ public class SQLTemplates extends Templates {
         return batchToBulkSupported;
     }
 
+    public final boolean isUpsertSupported() {
+        return upsertSupported;
+    }
+
+    /**
+     * Get whether rows can be bulk loaded with the statement of
+     * {@link #serializeCopy(QueryMetadata, RelationalPath, List, SQLSerializer)}
+     *
+     * @return true, if native bulk loads are supported
+     */
+    public final boolean isCopySupported() {
+        return copySupported;
+    }
+
+    /**
+     * Get the fetch size to be used for streamed results instead of the requested one
+     *
+     * @return fetch size or 0 to use the requested fetch size
+     */
+    public final int getStreamingFetchSize() {
+        return streamingFetchSize;
+    }
+
+    /**
+     * Get whether results are streamed by the driver only with auto commit disabled
+     *
+     * @return true, if auto commit needs to be disabled for streaming
+     */
+    public final boolean isStreamingRequiresTransaction() {
+        return streamingRequiresTransaction;
+    }
+
+    /**
+     * Get whether the plan returned for {@link #getExplain()} starts with a row estimate
+     * of the form {@code rows=N}
+     *
+     * @return true, if row estimates can be read from the query plan
+     */
+    public final boolean isExplainRowEstimateSupported() {
+        return explainRowEstimateSupported;
+    }
+
+    public final boolean isRowValueComparisonSupported() {
+        return rowValueComparisonSupported;
+    }
+
+    /**
+     * Get whether IN lists can be bound as a single array parameter
+     *
+     * @return true, if {@link SQLOps#IN_ARRAY} is supported
+     */
+    public final boolean isArrayInListSupported() {
+        return arrayInListSupported;
+    }
+
     public final QueryFlag getForShareFlag() {
         return forShareFlag;
     }
@@ -936,6 +1027,40 @@ public class SQLTemplates extends Templates {
         }
     }
 
+    /**
+     * template method for bulk load serialization
+     *
+     * @param metadata
+     * @param entity
+     * @param columns
+     * @param context
+     */
+    public void serializeCopy(QueryMetadata metadata, RelationalPath<?> entity,
+            List<Path<?>> columns, SQLSerializer context) {
+        throw new UnsupportedOperationException("Bulk load is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * template method for the set-based MERGE emulation, which is used for MERGE batches
+     * on databases without native MERGE support
+     *
+     * @param metadata
+     * @param entity
+     * @param keys
+     * @param columns
+     * @param values
+     * @param context
+     */
+    public void serializeUpsert(QueryMetadata metadata, RelationalPath<?> entity,
+            List<? extends Path<?>> keys, List<Path<?>> columns, List<Expression<?>> values,
+            SQLSerializer context) {
+        context.serializeForMergeUsing(metadata, entity, keys, columns, values);
+
+        if (!metadata.getFlags().isEmpty()) {
+            context.serialize(Position.END, metadata.getFlags());
+        }
+    }
+
     /**
      * template method for UPDATE serialization
      *
@@ -1076,6 +1201,14 @@ public class SQLTemplates extends Templates {
         this.nativeMerge = nativeMerge;
     }
 
+    protected void setUpsertSupported(boolean upsertSupported) {
+        this.upsertSupported = upsertSupported;
+    }
+
+    protected void setCopySupported(boolean copySupported) {
+        this.copySupported = copySupported;
+    }
+
     protected void setNotNull(String notNull) {
         this.notNull = notNull;
     }
@@ -1180,6 +1313,10 @@ public class SQLTemplates extends Templates {
         this.countDistinctMultipleColumns = countDistinctMultipleColumns;
     }
 
+    protected void setExplain(String explain) {
+        this.explain = explain;
+    }
+
     protected void setCountViaAnalytics(boolean countViaAnalytics) {
         this.countViaAnalytics = countViaAnalytics;
     }
@@ -1208,6 +1345,26 @@ public class SQLTemplates extends Templates {
         this.batchToBulkSupported = b;
     }
 
+    protected void setStreamingFetchSize(int i) {
+        this.streamingFetchSize = i;
+    }
+
+    protected void setStreamingRequiresTransaction(boolean b) {
+        this.streamingRequiresTransaction = b;
+    }
+
+    protected void setRowValueComparisonSupported(boolean b) {
+        this.rowValueComparisonSupported = b;
+    }
+
+    protected void setArrayInListSupported(boolean b) {
+        this.arrayInListSupported = b;
+    }
+
+    protected void setExplainRowEstimateSupported(boolean b) {
+        this.explainRowEstimateSupported = b;
+    }
+
     protected void setForShareFlag(QueryFlag flag) {
         forShareFlag = flag;
     }
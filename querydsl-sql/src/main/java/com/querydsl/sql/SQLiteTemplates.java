@@ -14,11 +14,16 @@
 package com.querydsl.sql;
 
 import java.sql.Types;
+import java.util.List;
 
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
+import com.querydsl.core.QueryFlag.Position;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
 import com.querydsl.sql.types.BigDecimalAsDoubleType;
 import com.querydsl.sql.types.BigIntegerAsLongType;
 
@@ -129,4 +134,38 @@ public class SQLiteTemplates extends SQLTemplates {
         }
     }
 
+
+    @Override
+    public void serializeUpsert(QueryMetadata metadata, RelationalPath<?> entity,
+            List<? extends Path<?>> keys, List<Path<?>> columns, List<Expression<?>> values,
+            SQLSerializer context) {
+        // requires SQLite 3.24 or later
+        context.serializeForInsert(metadata, entity, columns, values, null);
+        context.append("\non conflict (");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                context.append(", ");
+            }
+            context.appendAsColumnName(keys.get(i), false);
+        }
+        context.append(") do ");
+        boolean first = true;
+        for (Path<?> column : columns) {
+            if (!keys.contains(column)) {
+                context.append(first ? "update set " : ", ");
+                context.appendAsColumnName(column, false);
+                context.append(" = excluded.");
+                context.appendAsColumnName(column, true);
+                first = false;
+            }
+        }
+        if (first) {
+            context.append("nothing");
+        }
+
+        if (!metadata.getFlags().isEmpty()) {
+            context.serialize(Position.END, metadata.getFlags());
+        }
+    }
+
 }
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinFlag;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.*;
+
+/**
+ * {@code StatementShapeCache} caches the serialized form of SQL queries by their structure
+ *
+ * <p>The cache key is a structural fingerprint of the query metadata in which bound constants are
+ * only represented by their type. Executions of the same query shape with different constants
+ * reuse the rendered SQL string and the layout of the constant paths and only rebind the
+ * parameters.</p>
+ *
+ * <p>Query shapes whose constants can't be mapped unambiguously to the bindings of the serialized
+ * query, e.g. because they are transformed or inlined during serialization, are serialized as
+ * usual.</p>
+ *
+ * <p>A cache instance should be used only with a single {@link Configuration}.</p>
+ */
+public final class StatementShapeCache {
+
+    private enum Node { CONSTANT, VALUE, FACTORY, OPERATION, PARAM, PATH, SUBQUERY, TEMPLATE }
+
+    private static final int LIMIT = -1, OFFSET = -2, LITERAL = -3;
+
+    private static final Shape UNCACHEABLE = new Shape(null, null, null, null, null);
+
+    private final Cache<List<Object>, Shape> shapes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Create a new StatementShapeCache instance
+     *
+     * @param maximumSize maximum amount of cached query shapes
+     */
+    public StatementShapeCache(int maximumSize) {
+        this.shapes = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Get the amount of serializations which were served from the cache
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the amount of serializations which were not served from the cache
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get the amount of cached query shapes
+     *
+     * @return size
+     */
+    public long size() {
+        return shapes.size();
+    }
+
+    /**
+     * Remove all cached query shapes
+     */
+    public void clear() {
+        shapes.invalidateAll();
+    }
+
+    SQLSerializer serialize(ProjectableSQLQuery<?, ?> query, boolean forCountRow) {
+        QueryMetadata metadata = query.getMetadata();
+        ShapeVisitor visitor = new ShapeVisitor(query.configuration.getTemplates());
+        visitor.visit(query, forCountRow);
+
+        SQLSerializer serializer = query.createSerializer();
+        Shape shape = shapes.getIfPresent(visitor.key);
+        if (shape == UNCACHEABLE) {
+            missCount.incrementAndGet();
+            query.serialize(serializer, forCountRow);
+        } else if (shape != null) {
+            hitCount.incrementAndGet();
+            shape.bind(serializer, visitor.sources, metadata.getModifiers());
+        } else {
+            missCount.incrementAndGet();
+            // the modifiers are boxed again to be able to identify their bindings
+            QueryModifiers modifiers = metadata.getModifiers();
+            Long limit = null, offset = null;
+            if (modifiers.isRestricting()) {
+                limit = modifiers.getLimit() != null ? new Long(modifiers.getLimit()) : null;
+                offset = modifiers.getOffset() != null ? new Long(modifiers.getOffset()) : null;
+                metadata.setModifiers(new QueryModifiers(limit, offset));
+            }
+            serializer.trackConstantOrigins();
+            try {
+                query.serialize(serializer, forCountRow);
+            } finally {
+                metadata.setModifiers(modifiers);
+            }
+            if (!visitor.ambiguous) {
+                shapes.put(visitor.key, createShape(serializer, visitor, limit, offset));
+            }
+        }
+        return serializer;
+    }
+
+    private static Shape createShape(SQLSerializer serializer, ShapeVisitor visitor,
+            @Nullable Long limit, @Nullable Long offset) {
+        List<Object> origins = serializer.getConstantOrigins();
+        List<Integer> originElements = serializer.getConstantOriginElements();
+        int[] sources = new int[origins.size()];
+        int[] elements = new int[origins.size()];
+        Object[] literals = new Object[origins.size()];
+        boolean[] bound = new boolean[visitor.sources.size()];
+        boolean limitBound = limit == null, offsetBound = offset == null;
+        for (int i = 0; i < origins.size(); i++) {
+            Object origin = origins.get(i);
+            Integer source = visitor.sourceIndices.get(origin);
+            if (source != null) {
+                sources[i] = source;
+                elements[i] = originElements.get(i);
+                bound[source] = true;
+            } else if (origin instanceof ParamExpression) {
+                sources[i] = LITERAL;
+                literals[i] = origin;
+            } else if (limit != null && origin == limit) {
+                sources[i] = LIMIT;
+                limitBound = true;
+            } else if (offset != null && origin == offset) {
+                sources[i] = OFFSET;
+                offsetBound = true;
+            } else {
+                // derived constant
+                return UNCACHEABLE;
+            }
+        }
+        for (boolean b : bound) {
+            if (!b) {
+                // inlined constant
+                return UNCACHEABLE;
+            }
+        }
+        if (!limitBound || !offsetBound) {
+            return UNCACHEABLE;
+        }
+        return new Shape(serializer.toString(),
+                Collections.unmodifiableList(new ArrayList<Path<?>>(serializer.getConstantPaths())),
+                sources, elements, literals);
+    }
+
+    /**
+     * Serialized form of a query shape
+     */
+    private static final class Shape {
+
+        private final String sql;
+
+        private final List<Path<?>> constantPaths;
+
+        private final int[] sources, elements;
+
+        private final Object[] literals;
+
+        Shape(String sql, List<Path<?>> constantPaths, int[] sources, int[] elements, Object[] literals) {
+            this.sql = sql;
+            this.constantPaths = constantPaths;
+            this.sources = sources;
+            this.elements = elements;
+            this.literals = literals;
+        }
+
+        void bind(SQLSerializer serializer, List<Constant<?>> constants, QueryModifiers modifiers) {
+            serializer.append(sql);
+            List<Object> values = serializer.getConstants();
+            Object[][] collections = null;
+            for (int i = 0; i < sources.length; i++) {
+                int source = sources[i];
+                if (source == LIMIT) {
+                    values.add(modifiers.getLimit());
+                } else if (source == OFFSET) {
+                    values.add(modifiers.getOffset());
+                } else if (source == LITERAL) {
+                    values.add(literals[i]);
+                } else if (elements[i] < 0) {
+                    values.add(constants.get(source).getConstant());
+                } else {
+                    if (collections == null) {
+                        collections = new Object[constants.size()][];
+                    }
+                    if (collections[source] == null) {
+                        collections[source] = ((Collection<?>) constants.get(source).getConstant()).toArray();
+                    }
+                    values.add(collections[source][elements[i]]);
+                }
+            }
+            serializer.getConstantPaths().addAll(constantPaths);
+        }
+
+    }
+
+    /**
+     * Collects the structural fingerprint and the bindable constants of a query
+     */
+    private static final class ShapeVisitor implements Visitor<Void, Void> {
+
+        private final SQLTemplates templates;
+
+        private final List<Object> key = new ArrayList<Object>();
+
+        private final List<Constant<?>> sources = new ArrayList<Constant<?>>();
+
+        private final Map<Object, Integer> sourceIndices = new IdentityHashMap<Object, Integer>();
+
+        private boolean ambiguous;
+
+        private boolean inline;
+
+        ShapeVisitor(SQLTemplates templates) {
+            this.templates = templates;
+        }
+
+        void visit(ProjectableSQLQuery<?, ?> query, boolean forCountRow) {
+            key.add(query.getClass());
+            key.add(forCountRow);
+            if (query.union != null) {
+                key.add(query.unionAll);
+                query.union.accept(this, null);
+            }
+            visit(query.getMetadata());
+        }
+
+        private void visit(QueryMetadata metadata) {
+            key.add(metadata.isDistinct());
+            Set<QueryFlag> flags = metadata.getFlags();
+            key.add(flags.size());
+            for (QueryFlag flag : flags) {
+                key.add(flag.getPosition());
+                handle(flag.getFlag());
+            }
+            List<JoinExpression> joins = metadata.getJoins();
+            key.add(joins.size());
+            for (JoinExpression join : joins) {
+                key.add(join.getType());
+                handle(join.getTarget());
+                handle(join.getCondition());
+                key.add(join.getFlags().size());
+                for (JoinFlag flag : join.getFlags()) {
+                    key.add(flag.getPosition());
+                    handle(flag.getFlag());
+                }
+            }
+            handle(metadata.getProjection());
+            handle(metadata.getWhere());
+            key.add(metadata.getGroupBy().size());
+            for (Expression<?> expr : metadata.getGroupBy()) {
+                handle(expr);
+            }
+            handle(metadata.getHaving());
+            key.add(metadata.getOrderBy().size());
+            for (OrderSpecifier<?> order : metadata.getOrderBy()) {
+                key.add(order.getOrder());
+                key.add(order.getNullHandling());
+                handle(order.getTarget());
+            }
+            QueryModifiers modifiers = metadata.getModifiers();
+            key.add(modifiers.getLimit() != null);
+            key.add(modifiers.getOffset() != null);
+        }
+
+        private void handle(@Nullable Expression<?> expr) {
+            if (expr != null) {
+                expr.accept(this, null);
+            } else {
+                key.add(null);
+            }
+        }
+
+        private void handleArgs(@Nullable Template template, List<?> args) {
+            boolean oldInline = inline;
+            if (template != null && !inline) {
+                for (Template.Element element : template.getElements()) {
+                    if (element.isString() && !(element instanceof Template.StaticText)) {
+                        // arguments are rendered into the SQL string
+                        inline = true;
+                        break;
+                    }
+                }
+            }
+            key.add(args.size());
+            for (Object arg : args) {
+                if (arg instanceof Expression) {
+                    ((Expression<?>) arg).accept(this, null);
+                } else {
+                    key.add(arg);
+                }
+            }
+            inline = oldInline;
+        }
+
+        private static boolean isBindable(Object constant) {
+            if (constant instanceof Collection) {
+                Iterator<?> elements = ((Collection<?>) constant).iterator();
+                return !elements.hasNext() || isBindable(elements.next());
+            } else {
+                return !(constant instanceof Expression
+                      || constant instanceof OrderSpecifier
+                      || constant instanceof Class);
+            }
+        }
+
+        @Override
+        public Void visit(Constant<?> expr, Void context) {
+            Object constant = expr.getConstant();
+            if (inline || !isBindable(constant)) {
+                key.add(Node.VALUE);
+                key.add(constant.getClass());
+                key.add(expr);
+            } else {
+                key.add(Node.CONSTANT);
+                key.add(constant.getClass());
+                if (constant instanceof Collection) {
+                    key.add(((Collection<?>) constant).size());
+                }
+                if (sourceIndices.containsKey(expr)) {
+                    ambiguous = true;
+                } else {
+                    sourceIndices.put(expr, sources.size());
+                }
+                sources.add(expr);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(FactoryExpression<?> expr, Void context) {
+            key.add(Node.FACTORY);
+            key.add(expr.getArgs().size());
+            for (Expression<?> arg : expr.getArgs()) {
+                handle(arg);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Operation<?> expr, Void context) {
+            key.add(Node.OPERATION);
+            key.add(expr.getOperator());
+            key.add(expr.getType());
+            handleArgs(templates.getTemplate(expr.getOperator()), expr.getArgs());
+            return null;
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> expr, Void context) {
+            key.add(Node.PARAM);
+            key.add(expr);
+            return null;
+        }
+
+        @Override
+        public Void visit(Path<?> expr, Void context) {
+            PathMetadata metadata = expr.getMetadata();
+            key.add(Node.PATH);
+            key.add(expr.getClass());
+            key.add(expr.getType());
+            key.add(metadata.getPathType());
+            key.add(metadata.getElement());
+            if (expr instanceof RelationalPath) {
+                key.add(((RelationalPath<?>) expr).getSchemaAndTable());
+            }
+            if (metadata.getParent() instanceof RelationalPath) {
+                key.add(ColumnMetadata.getName(expr));
+            }
+            handle(metadata.getParent());
+            return null;
+        }
+
+        @Override
+        public Void visit(SubQueryExpression<?> expr, Void context) {
+            key.add(Node.SUBQUERY);
+            visit(expr.getMetadata());
+            return null;
+        }
+
+        @Override
+        public Void visit(TemplateExpression<?> expr, Void context) {
+            key.add(Node.TEMPLATE);
+            key.add(expr.getClass());
+            key.add(expr.getTemplate());
+            key.add(expr.getType());
+            handleArgs(expr.getTemplate(), expr.getArgs());
+            return null;
+        }
+
+    }
+
+}
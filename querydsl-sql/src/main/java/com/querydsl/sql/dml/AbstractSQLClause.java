@@ -138,6 +138,36 @@ public abstract class AbstractSQLClause<C extends AbstractSQLClause<C>> implemen
         return new SQLBindings(queryString, args.build());
     }
 
+    /**
+     * Prepare the rendered statement of the given serializer and create a batch writer for it
+     *
+     * @param context listener context of the writer
+     * @param serializer serializer with rendered statement
+     * @param metadata metadata of the statement
+     * @param rowParams parameters which are bound per row
+     * @param paramPaths paths of parameters, which are not directly related to a path
+     * @return batch writer
+     * @throws SQLException
+     */
+    protected SQLBatchWriter createBatchWriter(SQLListenerContextImpl context, SQLSerializer serializer,
+            QueryMetadata metadata, List<? extends ParamExpression<?>> rowParams,
+            Map<ParamExpression<?>, Path<?>> paramPaths) throws SQLException {
+        listeners.prePrepare(context);
+        String queryString = serializer.toString();
+        PreparedStatement stmt = connection().prepareStatement(queryString);
+        try {
+            SQLBatchWriter writer = new SQLBatchWriter(this, context, stmt, queryString,
+                    serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams(),
+                    rowParams, paramPaths);
+            context.addPreparedStatement(stmt);
+            listeners.prepared(context);
+            return writer;
+        } catch (RuntimeException e) {
+            stmt.close();
+            throw e;
+        }
+    }
+
     protected SQLSerializer createSerializer() {
         SQLSerializer serializer = new SQLSerializer(configuration, true);
         serializer.setUseLiterals(useLiterals);
@@ -184,7 +214,21 @@ public abstract class AbstractSQLClause<C extends AbstractSQLClause<C>> implemen
     private long executeBatch(PreparedStatement stmt) throws SQLException {
         if (configuration.getUseLiterals()) {
             return stmt.executeUpdate();
-        } else if (configuration.getTemplates().isBatchCountViaGetUpdateCount()) {
+        } else {
+            return executeBatch(configuration.getTemplates(), stmt);
+        }
+    }
+
+    /**
+     * Execute the batch of the given statement
+     *
+     * @param templates templates of the statement
+     * @param stmt statement
+     * @return affected rows
+     * @throws SQLException
+     */
+    static long executeBatch(SQLTemplates templates, PreparedStatement stmt) throws SQLException {
+        if (templates.isBatchCountViaGetUpdateCount()) {
             stmt.executeBatch();
             return stmt.getUpdateCount();
         } else {
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.ParamNotSetException;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLListenerContextImpl;
+
+/**
+ * {@code SQLBatchWriter} streams rows into a DML statement, which is rendered and prepared only once.
+ * The values of each row are bound directly to the {@link PreparedStatement} and the batch is
+ * executed every {@code batchSize} rows or {@code batchBytes} bytes, so memory usage stays
+ * constant regardless of the number of rows written.
+ *
+ * <p>Usage:</p>
+ * <pre>{@code
+ * SQLBatchWriter writer = queryFactory.insert(survey).columns(survey.id, survey.name).batchWriter();
+ * try {
+ *     for (Survey s : surveys) {
+ *         writer.add(s.getId(), s.getName());
+ *     }
+ * } finally {
+ *     writer.close();
+ * }
+ * }</pre>
+ *
+ * @see SQLInsertClause#batchWriter()
+ * @see SQLUpdateClause#batchWriter(ParamExpression...)
+ */
+public class SQLBatchWriter implements SQLRowWriter {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final AbstractSQLClause<?> clause;
+
+    private final Configuration configuration;
+
+    private final SQLListenerContextImpl context;
+
+    private final PreparedStatement stmt;
+
+    private final String queryString;
+
+    private final int rowSize;
+
+    private final Object[] constants;
+
+    private final Path<?>[] constantPaths;
+
+    private final int[] rowIndexes;
+
+    private final List<Long> chunkCounts = new ArrayList<Long>();
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private long batchBytes;
+
+    private long commitInterval;
+
+    private int rows;
+
+    private long bytes, uncommittedRows, rowCount, updateCount;
+
+    private boolean closed, failed;
+
+    SQLBatchWriter(AbstractSQLClause<?> clause, SQLListenerContextImpl context,
+            PreparedStatement stmt, String queryString, List<Object> constants,
+            List<Path<?>> constantPaths, Map<ParamExpression<?>, ?> params,
+            List<? extends ParamExpression<?>> rowParams, Map<ParamExpression<?>, Path<?>> paramPaths) {
+        this.clause = clause;
+        this.configuration = clause.configuration;
+        this.context = context;
+        this.stmt = stmt;
+        this.queryString = queryString;
+        this.rowSize = rowParams.size();
+        this.constants = new Object[constants.size()];
+        this.constantPaths = new Path<?>[constants.size()];
+        this.rowIndexes = new int[constants.size()];
+        for (int i = 0; i < constants.size(); i++) {
+            Object o = constants.get(i);
+            Path<?> path = constantPaths.get(i);
+            int index = -1;
+            if (o instanceof ParamExpression) {
+                index = rowParams.indexOf(o);
+                if (path == null) {
+                    path = paramPaths.get(o);
+                }
+                if (index < 0) {
+                    if (!params.containsKey(o)) {
+                        throw new ParamNotSetException((ParamExpression<?>) o);
+                    }
+                    o = params.get(o);
+                }
+            }
+            this.constants[i] = index < 0 ? o : null;
+            this.constantPaths[i] = path;
+            this.rowIndexes[i] = index;
+        }
+    }
+
+    /**
+     * Set the number of rows after which the batch is executed (default: 1000)
+     *
+     * @param batchSize batch size in rows
+     * @return the current object
+     */
+    public SQLBatchWriter setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be greater than 0.");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Set the estimated size of the bound values in bytes after which the batch is executed
+     * (default: unlimited)
+     *
+     * @param batchBytes batch size in bytes
+     * @return the current object
+     */
+    public SQLBatchWriter setBatchBytes(long batchBytes) {
+        this.batchBytes = batchBytes;
+        return this;
+    }
+
+    /**
+     * Set the number of rows after which the transaction is committed. Commits are
+     * only done at batch boundaries and for connections not in auto-commit mode.
+     * (default: no commits)
+     *
+     * @param commitInterval commit interval in rows
+     * @return the current object
+     */
+    public SQLBatchWriter setCommitInterval(long commitInterval) {
+        this.commitInterval = commitInterval;
+        return this;
+    }
+
+    /**
+     * Bind the given values as a new row. The values need to be given in the order
+     * of the columns or parameters the writer was created for.
+     *
+     * @param values row values
+     * @return the current object
+     */
+    @Override
+    public SQLBatchWriter add(Object... values) {
+        if (closed) {
+            throw new IllegalStateException("Batch writer has already been closed");
+        }
+        if (values.length != rowSize) {
+            throw new IllegalArgumentException("Expected " + rowSize + " values, " +
+                    "but got " + values.length);
+        }
+        try {
+            for (int i = 0; i < rowIndexes.length; i++) {
+                Object value = rowIndexes[i] < 0 ? constants[i] : values[rowIndexes[i]];
+                configuration.set(stmt, constantPaths[i], i + 1, value);
+                if (batchBytes > 0) {
+                    bytes += getSize(value);
+                }
+            }
+            stmt.addBatch();
+        } catch (SQLException e) {
+            throw fail(e);
+        }
+        rows++;
+        rowCount++;
+        if (rows >= batchSize || (batchBytes > 0 && bytes >= batchBytes)) {
+            flush();
+        }
+        return this;
+    }
+
+    /**
+     * Execute the pending rows
+     *
+     * @return update count of the executed batch
+     */
+    @Override
+    public long flush() {
+        if (rows == 0) {
+            return 0;
+        }
+        try {
+            clause.listeners.preExecute(context);
+            long rv = AbstractSQLClause.executeBatch(configuration.getTemplates(), stmt);
+            clause.listeners.executed(context);
+            chunkCounts.add(rv);
+            updateCount += rv;
+            uncommittedRows += rows;
+            rows = 0;
+            bytes = 0;
+            if (commitInterval > 0 && uncommittedRows >= commitInterval) {
+                commit();
+            }
+            return rv;
+        } catch (SQLException e) {
+            throw fail(e);
+        }
+    }
+
+    private void commit() throws SQLException {
+        Connection conn = stmt.getConnection();
+        if (!conn.getAutoCommit()) {
+            conn.commit();
+        }
+        uncommittedRows = 0;
+    }
+
+    private RuntimeException fail(SQLException e) {
+        failed = true;
+        clause.onException(context, e);
+        return configuration.translate(queryString, Collections.emptyList(), e);
+    }
+
+    private static long getSize(@Nullable Object value) {
+        if (value instanceof CharSequence) {
+            return 2L * ((CharSequence) value).length();
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        } else {
+            return 8;
+        }
+    }
+
+    /**
+     * Execute the pending rows, commit if a commit interval has been set and release the
+     * underlying statement
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!failed) {
+                flush();
+                if (commitInterval > 0 && uncommittedRows > 0) {
+                    commit();
+                }
+            }
+        } catch (SQLException e) {
+            throw fail(e);
+        } finally {
+            clause.close(stmt);
+            clause.reset();
+            clause.endContext(context);
+        }
+    }
+
+    /**
+     * Get the SQL of the statement
+     *
+     * @return sql
+     */
+    @Override
+    public String getSQL() {
+        return queryString;
+    }
+
+    /**
+     * Get the number of rows added
+     *
+     * @return row count
+     */
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Get the sum of the update counts of the executed batches
+     *
+     * @return update count
+     */
+    @Override
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * Get the update counts of the executed batches
+     *
+     * @return update counts per batch
+     */
+    public List<Long> getChunkUpdateCounts() {
+        return Collections.unmodifiableList(chunkCounts);
+    }
+
+}
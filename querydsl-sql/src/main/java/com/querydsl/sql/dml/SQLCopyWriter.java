@@ -0,0 +1,269 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.BaseEncoding;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLListenerContextImpl;
+
+/**
+ * {@code SQLCopyWriter} streams rows into a table using the native bulk load protocol of the
+ * database. On PostgreSQL {@code COPY ... FROM STDIN} is used via the {@code CopyManager} of the
+ * JDBC driver and on MySQL {@code LOAD DATA LOCAL INFILE} with the data given as a stream.
+ *
+ * <p>The rows are encoded in the text format of the bulk load statement using the literal
+ * representation of the {@link com.querydsl.sql.types.Type} registered for each column and
+ * sent every {@code chunkSize} rows, so memory usage is bound by the chunk size.</p>
+ *
+ * <p>For MySQL the {@code allowLoadLocalInfile} property needs to be enabled in the connection
+ * properties for newer driver versions.</p>
+ *
+ * @see SQLInsertClause#copyWriter()
+ */
+public class SQLCopyWriter implements SQLRowWriter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 10000;
+
+    private static final String POSTGRESQL_CONNECTION = "org.postgresql.PGConnection";
+
+    private static final String[] MYSQL_STATEMENTS = {
+        "com.mysql.cj.jdbc.JdbcStatement", "com.mysql.jdbc.Statement" };
+
+    private static final BaseEncoding HEX = BaseEncoding.base16().lowerCase();
+
+    private final AbstractSQLClause<?> clause;
+
+    private final Configuration configuration;
+
+    private final SQLListenerContextImpl context;
+
+    private final Connection connection;
+
+    private final String queryString;
+
+    private final Path<?>[] columns;
+
+    private final boolean postgresql;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private int rows;
+
+    private long rowCount, updateCount;
+
+    private boolean closed, failed;
+
+    SQLCopyWriter(AbstractSQLClause<?> clause, SQLListenerContextImpl context, Connection connection,
+            String queryString, List<Path<?>> columns) {
+        this.clause = clause;
+        this.configuration = clause.configuration;
+        this.context = context;
+        this.connection = connection;
+        this.queryString = queryString;
+        this.columns = columns.toArray(new Path<?>[columns.size()]);
+        this.postgresql = configuration.getTemplates() instanceof PostgreSQLTemplates;
+    }
+
+    /**
+     * Set the number of rows which are sent per bulk load statement (default: 10000)
+     *
+     * @param chunkSize chunk size in rows
+     * @return the current object
+     */
+    public SQLCopyWriter setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0.");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    @Override
+    public SQLCopyWriter add(Object... values) {
+        if (closed) {
+            throw new IllegalStateException("Copy writer has already been closed");
+        }
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values, " +
+                    "but got " + values.length);
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                buffer.append('\t');
+            }
+            append(columns[i], values[i]);
+        }
+        buffer.append('\n');
+        rows++;
+        rowCount++;
+        if (rows >= chunkSize) {
+            flush();
+        }
+        return this;
+    }
+
+    private void append(Path<?> column, @Nullable Object value) {
+        if (value == null) {
+            buffer.append("\\N");
+        } else if (value instanceof byte[]) {
+            if (postgresql) {
+                buffer.append("\\\\x");
+            }
+            buffer.append(HEX.encode((byte[]) value));
+        } else {
+            String literal = configuration.getLiteral(column, value);
+            for (int i = 0; i < literal.length(); i++) {
+                char ch = literal.charAt(i);
+                switch (ch) {
+                    case '\\': buffer.append("\\\\"); break;
+                    case '\n': buffer.append("\\n"); break;
+                    case '\r': buffer.append("\\r"); break;
+                    case '\t': buffer.append("\\t"); break;
+                    default: buffer.append(ch);
+                }
+            }
+        }
+    }
+
+    @Override
+    public long flush() {
+        if (rows == 0) {
+            return 0;
+        }
+        try {
+            clause.listeners.preExecute(context);
+            String data = buffer.toString();
+            buffer.setLength(0);
+            long rv = postgresql ? copyIn(data) : loadData(data);
+            clause.listeners.executed(context);
+            updateCount += rv;
+            rows = 0;
+            return rv;
+        } catch (SQLException e) {
+            throw fail(e);
+        }
+    }
+
+    private long copyIn(String data) throws SQLException {
+        Class<?> pgConnection = getDriverClass(POSTGRESQL_CONNECTION);
+        Object copyManager = invoke(pgConnection, "getCopyAPI", new Class<?>[0],
+                connection.unwrap(pgConnection));
+        return (Long) invoke(copyManager.getClass(), "copyIn", new Class<?>[]{String.class, Reader.class},
+                copyManager, queryString, new StringReader(data));
+    }
+
+    private long loadData(String data) throws SQLException {
+        Statement stmt = connection.createStatement();
+        try {
+            Class<?> mysqlStatement = getDriverClass(MYSQL_STATEMENTS);
+            invoke(mysqlStatement, "setLocalInfileInputStream", new Class<?>[]{InputStream.class},
+                    stmt.unwrap(mysqlStatement), new ByteArrayInputStream(data.getBytes(Charsets.UTF_8)));
+            return stmt.executeUpdate(queryString);
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private Class<?> getDriverClass(String... names) throws SQLException {
+        ClassLoader classLoader = connection.getClass().getClassLoader();
+        for (String name : names) {
+            try {
+                return Class.forName(name, true, classLoader);
+            } catch (ClassNotFoundException e) {
+                // try next
+            }
+        }
+        throw new SQLException("None of " + Arrays.toString(names) + " is available");
+    }
+
+    private static Object invoke(Class<?> cl, String name, Class<?>[] parameterTypes, Object target,
+            Object... args) throws SQLException {
+        try {
+            return cl.getMethod(name, parameterTypes).invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            } else if (cause instanceof IOException) {
+                throw new SQLException(cause.getMessage(), cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new SQLException(cause);
+            }
+        } catch (NoSuchMethodException e) {
+            throw new SQLException(e);
+        } catch (IllegalAccessException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private RuntimeException fail(SQLException e) {
+        failed = true;
+        clause.onException(context, e);
+        return configuration.translate(queryString, Collections.emptyList(), e);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!failed) {
+                flush();
+            }
+        } finally {
+            clause.reset();
+            clause.endContext(context);
+        }
+    }
+
+    @Override
+    public String getSQL() {
+        return queryString;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+}
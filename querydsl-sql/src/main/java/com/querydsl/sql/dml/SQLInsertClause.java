@@ -31,6 +31,7 @@ import com.querydsl.core.QueryFlag.Position;
 import com.querydsl.core.QueryMetadata;
 import com.querydsl.core.dml.InsertClause;
 import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.Param;
 import com.querydsl.core.util.ResultSetAdapter;
 import com.querydsl.sql.*;
 import com.querydsl.sql.types.Null;
@@ -252,6 +253,83 @@ public class SQLInsertClause extends AbstractSQLClause<SQLInsertClause> implemen
         }
     }
 
+    /**
+     * Create a writer which bulk loads rows into the given columns of this clause, or into all
+     * columns of the table, if no columns have been given. The native bulk load protocol of the
+     * database is used where available, otherwise the rows are written as batched inserts.
+     *
+     * @return row writer
+     * @see SQLCopyWriter
+     */
+    public SQLRowWriter copyWriter() {
+        if (!values.isEmpty() || subQuery != null || subQueryBuilder != null || !batches.isEmpty()) {
+            throw new IllegalStateException("Copy writers can only be created for clauses with columns only");
+        }
+        if (columns.isEmpty()) {
+            columns.addAll(entity.getColumns());
+        }
+        if (!configuration.getTemplates().isCopySupported()) {
+            return batchWriter();
+        }
+        SQLListenerContextImpl writerContext = startContext(connection(), metadata, entity);
+        try {
+            listeners.preRender(writerContext);
+            SQLSerializer serializer = createSerializer();
+            serializer.serializeCopy(metadata, entity, columns);
+            queryString = serializer.toString();
+            constants = serializer.getConstants();
+            logQuery(logger, queryString, constants);
+            writerContext.addSQL(queryString);
+            listeners.rendered(writerContext);
+            return new SQLCopyWriter(this, writerContext, connection(), queryString, columns);
+        } catch (RuntimeException e) {
+            onException(writerContext, e);
+            reset();
+            endContext(writerContext);
+            throw e;
+        }
+    }
+
+    /**
+     * Create a batch writer for the given columns of this clause. The statement is rendered once
+     * and the rows are given to the writer in the order of the columns.
+     *
+     * @return batch writer
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SQLBatchWriter batchWriter() {
+        if (columns.isEmpty() || !values.isEmpty() || subQuery != null || subQueryBuilder != null
+                || !batches.isEmpty()) {
+            throw new IllegalStateException("Batch writers can only be created for clauses with columns only");
+        }
+        List<Param<?>> params = new ArrayList<Param<?>>(columns.size());
+        Map<ParamExpression<?>, Path<?>> paramPaths = Maps.newHashMap();
+        for (Path<?> column : columns) {
+            Param<?> param = new Param(column.getType());
+            params.add(param);
+            paramPaths.put(param, column);
+        }
+        SQLListenerContextImpl writerContext = startContext(connection(), metadata, entity);
+        try {
+            listeners.preRender(writerContext);
+            SQLSerializer serializer = createSerializer();
+            serializer.setUseLiterals(false);
+            serializer.serializeInsert(metadata, entity, columns,
+                    ImmutableList.<Expression<?>>copyOf(params), null);
+            queryString = serializer.toString();
+            constants = serializer.getConstants();
+            logQuery(logger, queryString, constants);
+            writerContext.addSQL(queryString);
+            listeners.rendered(writerContext);
+            return createBatchWriter(writerContext, serializer, metadata, params, paramPaths);
+        } catch (SQLException e) {
+            onException(writerContext, e);
+            reset();
+            endContext(writerContext);
+            throw configuration.translate(queryString, constants, e);
+        }
+    }
+
     private PreparedStatement createStatement(boolean withKeys) throws SQLException {
         listeners.preRender(context);
         SQLSerializer serializer = createSerializer();
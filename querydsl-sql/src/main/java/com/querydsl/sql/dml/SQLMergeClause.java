@@ -103,6 +103,10 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
     }
 
     private List<? extends Path<?>> getKeys() {
+        return getKeys(keys);
+    }
+
+    private List<? extends Path<?>> getKeys(List<Path<?>> keys) {
         if (!keys.isEmpty()) {
             return keys;
         } else if (entity.getPrimaryKey() != null) {
@@ -115,11 +119,18 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
     /**
      * Add the current state of bindings as a batch item
      *
+     * <p>On databases without native merge support the batch is executed as an upsert, which
+     * requires a primary key or unique constraint on the keys. On MySQL the keys are ignored for
+     * the conflict check, an existing row is updated if any of its unique indexes matches.</p>
+     *
      * @return the current object
      */
     public SQLMergeClause addBatch() {
-        if (!configuration.getTemplates().isNativeMerge()) {
-            throw new IllegalStateException("batch only supported for databases that support native merge");
+        SQLTemplates templates = configuration.getTemplates();
+        if (!templates.isNativeMerge() && !templates.isUpsertSupported()) {
+            throw new IllegalStateException("batch only supported for databases that support native merge or upsert");
+        } else if (!templates.isNativeMerge() && subQuery != null) {
+            throw new IllegalStateException("batch with subquery only supported for databases that support native merge");
         }
 
         batches.add(new SQLMergeBatch(keys, columns, values, subQuery));
@@ -266,6 +277,8 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
                         }
                     }
                 };
+            } else if (!batches.isEmpty()) {
+                throw new IllegalStateException("executeWithKeys not supported for batches of databases without native merge");
             } else {
                 if (hasRow()) {
                     // update
@@ -296,6 +309,8 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
     public long execute() {
         if (configuration.getTemplates().isNativeMerge()) {
             return executeNativeMerge();
+        } else if (!batches.isEmpty()) {
+            return executeUpsert();
         } else {
             return executeCompositeMerge();
         }
@@ -311,7 +326,7 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
             ImmutableList.Builder<SQLBindings> builder = ImmutableList.builder();
             for (SQLMergeBatch batch : batches) {
                 SQLSerializer serializer = createSerializer();
-                serializer.serializeMerge(metadata, entity, batch.getKeys(), batch.getColumns(), batch.getValues(), batch.getSubQuery());
+                serialize(serializer, batch);
                 builder.add(createBindings(metadata, serializer));
             }
             return builder.build();
@@ -420,6 +435,16 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
         return stmt;
     }
 
+    private void serialize(SQLSerializer serializer, SQLMergeBatch batch) {
+        if (configuration.getTemplates().isNativeMerge()) {
+            serializer.serializeMerge(metadata, entity,
+                    batch.getKeys(), batch.getColumns(), batch.getValues(), batch.getSubQuery());
+        } else {
+            serializer.serializeUpsert(metadata, entity,
+                    getKeys(batch.getKeys()), batch.getColumns(), batch.getValues());
+        }
+    }
+
     private Collection<PreparedStatement> createStatements(boolean withKeys) throws SQLException {
         boolean addBatches = !configuration.getUseLiterals();
         Map<String, PreparedStatement> stmts = Maps.newHashMap();
@@ -427,9 +452,7 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
         // add first batch
         listeners.preRender(context);
         SQLSerializer serializer = createSerializer();
-        serializer.serializeMerge(metadata, entity,
-                batches.get(0).getKeys(), batches.get(0).getColumns(),
-                batches.get(0).getValues(), batches.get(0).getSubQuery());
+        serialize(serializer, batches.get(0));
         context.addSQL(serializer.toString());
         listeners.rendered(context);
 
@@ -441,10 +464,8 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
 
         // add other batches
         for (int i = 1; i < batches.size(); i++) {
-            SQLMergeBatch batch = batches.get(i);
             serializer = createSerializer();
-            serializer.serializeMerge(metadata, entity,
-                    batch.getKeys(), batch.getColumns(), batch.getValues(), batch.getSubQuery());
+            serialize(serializer, batches.get(i));
             stmt = stmts.get(serializer.toString());
             if (stmt == null) {
                 stmt = prepareStatementAndSetParameters(serializer, withKeys);
@@ -521,6 +542,29 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
         }
     }
 
+    private long executeUpsert() {
+        context = startContext(connection(), metadata, entity);
+        Collection<PreparedStatement> stmts = null;
+        try {
+            stmts = createStatements(false);
+            listeners.notifyMerges(entity, metadata, batches);
+
+            listeners.preExecute(context);
+            long rc = executeBatch(stmts);
+            listeners.executed(context);
+            return rc;
+        } catch (SQLException e) {
+            onException(context,e);
+            throw configuration.translate(queryString, constants, e);
+        } finally {
+            if (stmts != null) {
+                close(stmts);
+            }
+            reset();
+            endContext(context);
+        }
+    }
+
     /**
      * Set the keys to be used in the MERGE clause
      *
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import java.io.Closeable;
+
+/**
+ * {@code SQLRowWriter} defines a common interface for writers, which stream rows into a table
+ *
+ * @see SQLBatchWriter
+ * @see SQLCopyWriter
+ */
+public interface SQLRowWriter extends Closeable {
+
+    /**
+     * Add the given values as a new row. The values need to be given in the order
+     * of the columns the writer was created for.
+     *
+     * @param values row values
+     * @return the current object
+     */
+    SQLRowWriter add(Object... values);
+
+    /**
+     * Write the pending rows
+     *
+     * @return update count of the written rows
+     */
+    long flush();
+
+    /**
+     * Write the pending rows and release the underlying resources
+     */
+    @Override
+    void close();
+
+    /**
+     * Get the SQL of the statement
+     *
+     * @return sql
+     */
+    String getSQL();
+
+    /**
+     * Get the number of rows added
+     *
+     * @return row count
+     */
+    long getRowCount();
+
+    /**
+     * Get the sum of the update counts of the written rows
+     *
+     * @return update count
+     */
+    long getUpdateCount();
+
+}
@@ -31,6 +31,7 @@ import com.querydsl.core.QueryFlag.Position;
 import com.querydsl.core.dml.UpdateClause;
 import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ParamExpression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.sql.*;
@@ -119,6 +120,43 @@ public class SQLUpdateClause extends AbstractSQLClause<SQLUpdateClause> implemen
         metadata.addJoin(JoinType.DEFAULT, entity);
     }
 
+    /**
+     * Create a batch writer for this clause. The statement is rendered once and the rows are
+     * given to the writer as values of the given parameters in the same order.
+     *
+     * @param params parameters which are bound per row
+     * @return batch writer
+     */
+    public SQLBatchWriter batchWriter(ParamExpression<?>... params) {
+        if (updates.isEmpty() || !batches.isEmpty()) {
+            throw new IllegalStateException("Batch writers can only be created for clauses with updates and no batches");
+        }
+        Map<ParamExpression<?>, Path<?>> paramPaths = Maps.newHashMap();
+        for (Map.Entry<Path<?>, Expression<?>> entry : updates.entrySet()) {
+            if (entry.getValue() instanceof ParamExpression) {
+                paramPaths.put((ParamExpression<?>) entry.getValue(), entry.getKey());
+            }
+        }
+        SQLListenerContextImpl writerContext = startContext(connection(), metadata, entity);
+        try {
+            listeners.preRender(writerContext);
+            SQLSerializer serializer = createSerializer();
+            serializer.setUseLiterals(false);
+            serializer.serializeUpdate(metadata, entity, updates);
+            queryString = serializer.toString();
+            constants = serializer.getConstants();
+            logQuery(logger, queryString, constants);
+            writerContext.addSQL(queryString);
+            listeners.rendered(writerContext);
+            return createBatchWriter(writerContext, serializer, metadata, Arrays.asList(params), paramPaths);
+        } catch (SQLException e) {
+            onException(writerContext, e);
+            reset();
+            endContext(writerContext);
+            throw configuration.translate(queryString, constants, e);
+        }
+    }
+
     private PreparedStatement createStatement() throws SQLException {
         listeners.preRender(context);
         SQLSerializer serializer = createSerializer();
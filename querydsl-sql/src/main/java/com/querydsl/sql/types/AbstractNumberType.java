@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.types;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Common abstract superclass for numeric Type implementations with primitive getters
+ *
+ * @param <T>
+ */
+public abstract class AbstractNumberType<T extends Number> extends AbstractType<T> implements PrimitiveType<T> {
+
+    public AbstractNumberType(int type) {
+        super(type);
+    }
+
+    @Override
+    public int getInt(ResultSet rs, int startIndex) throws SQLException {
+        return rs.getInt(startIndex);
+    }
+
+    @Override
+    public long getLong(ResultSet rs, int startIndex) throws SQLException {
+        return rs.getLong(startIndex);
+    }
+
+    @Override
+    public double getDouble(ResultSet rs, int startIndex) throws SQLException {
+        return rs.getDouble(startIndex);
+    }
+
+}
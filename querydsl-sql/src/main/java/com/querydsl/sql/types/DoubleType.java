@@ -24,7 +24,7 @@ import java.sql.Types;
  * @author tiwe
  *
  */
-public class DoubleType extends AbstractType<Double> {
+public class DoubleType extends AbstractNumberType<Double> {
 
     public DoubleType() {
         super(Types.DOUBLE);
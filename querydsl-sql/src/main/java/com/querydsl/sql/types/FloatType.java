@@ -24,7 +24,7 @@ import java.sql.Types;
  * @author tiwe
  *
  */
-public class FloatType extends AbstractType<Float> {
+public class FloatType extends AbstractNumberType<Float> {
 
     public FloatType() {
         super(Types.FLOAT);
@@ -24,7 +24,7 @@ import java.sql.Types;
  * @author tiwe
  *
  */
-public class IntegerType extends AbstractType<Integer> {
+public class IntegerType extends AbstractNumberType<Integer> {
 
     public IntegerType() {
         super(Types.INTEGER);
@@ -24,7 +24,7 @@ import java.sql.Types;
  * @author tiwe
  *
  */
-public class LongType extends AbstractType<Long> {
+public class LongType extends AbstractNumberType<Long> {
 
     public LongType() {
         super(Types.BIGINT);
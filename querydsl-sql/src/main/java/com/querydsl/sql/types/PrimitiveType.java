@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.types;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@code PrimitiveType} is implemented by numeric {@link Type} implementations which can read
+ * column values without boxing them
+ *
+ * <p>The primitive getters follow the JDBC conventions: SQL NULL is returned as zero and
+ * {@link ResultSet#wasNull()} serves as the null indicator of the last read value.</p>
+ *
+ * @param <T>
+ */
+public interface PrimitiveType<T> extends Type<T> {
+
+    /**
+     * Get the value from the result set as int
+     *
+     * @param rs result set
+     * @param startIndex column index in result set
+     * @return value or 0 for SQL NULL
+     * @throws SQLException
+     */
+    int getInt(ResultSet rs, int startIndex) throws SQLException;
+
+    /**
+     * Get the value from the result set as long
+     *
+     * @param rs result set
+     * @param startIndex column index in result set
+     * @return value or 0 for SQL NULL
+     * @throws SQLException
+     */
+    long getLong(ResultSet rs, int startIndex) throws SQLException;
+
+    /**
+     * Get the value from the result set as double
+     *
+     * @param rs result set
+     * @param startIndex column index in result set
+     * @return value or 0 for SQL NULL
+     * @throws SQLException
+     */
+    double getDouble(ResultSet rs, int startIndex) throws SQLException;
+
+}
@@ -0,0 +1,93 @@
+package com.querydsl.sql;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+
+public class ColumnarResultTest implements InvocationHandler {
+
+    private final ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class}, this);
+
+    private final NumberPath<Integer> id = Expressions.numberPath(Integer.class, "id");
+
+    private final NumberPath<Double> amount = Expressions.numberPath(Double.class, "amount");
+
+    private final StringPath name = Expressions.stringPath("name");
+
+    private Object[] row;
+
+    private boolean wasNull;
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("wasNull")) {
+            return wasNull;
+        } else if (method.getName().equals("getObject") || method.getName().equals("getString")) {
+            Object value = row[(Integer) args[0] - 1];
+            wasNull = value == null;
+            return value;
+        } else if (method.getName().equals("getLong") || method.getName().equals("getDouble")) {
+            Number value = (Number) row[(Integer) args[0] - 1];
+            wasNull = value == null;
+            if (method.getName().equals("getLong")) {
+                return value != null ? value.longValue() : 0L;
+            } else {
+                return value != null ? value.doubleValue() : 0.0;
+            }
+        } else {
+            throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    @Test
+    public void read() throws SQLException {
+        ColumnarResult.Reader reader = new ColumnarResult.Reader(new Configuration(SQLTemplates.DEFAULT),
+                Arrays.<Expression<?>>asList(id, amount, name));
+        for (int i = 0; i < 100; i++) {
+            row = new Object[]{i, i % 2 == 0 ? null : i / 2.0, "n" + i};
+            reader.read(resultSet);
+        }
+        ColumnarResult result = reader.build();
+        assertEquals(100, result.size());
+        assertEquals(Arrays.<Expression<?>>asList(id, amount, name), result.getColumns());
+
+        long[] ids = result.getLongs(id);
+        double[] amounts = result.getDoubles(amount);
+        Object[] names = result.getObjects(name);
+        assertEquals(100, ids.length);
+        assertEquals(99L, ids[99]);
+        assertEquals(0.0, amounts[0], 0.0);
+        assertEquals(0.5, amounts[1], 0.0);
+        assertEquals("n42", names[42]);
+        assertTrue(result.isNull(amount, 0));
+        assertFalse(result.isNull(amount, 1));
+        assertFalse(result.isNull(id, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrong_kind() {
+        ColumnarResult result = new ColumnarResult.Reader(new Configuration(SQLTemplates.DEFAULT),
+                Arrays.<Expression<?>>asList(id)).build();
+        result.getDoubles(id);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void not_projected() {
+        ColumnarResult result = new ColumnarResult.Reader(new Configuration(SQLTemplates.DEFAULT),
+                Arrays.<Expression<?>>asList(id)).build();
+        result.getObjects(name);
+    }
+
+}
@@ -41,7 +41,9 @@ import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.Param;
 import com.querydsl.sql.dml.DefaultMapper;
 import com.querydsl.sql.dml.Mapper;
+import com.querydsl.sql.dml.SQLBatchWriter;
 import com.querydsl.sql.dml.SQLInsertClause;
+import com.querydsl.sql.dml.SQLRowWriter;
 import com.querydsl.sql.domain.*;
 
 public class InsertBase extends AbstractBaseTest {
@@ -160,6 +162,42 @@ public class InsertBase extends AbstractBaseTest {
         assertEquals(1L, query().from(survey).where(survey.name.eq("66")).fetchCount());
     }
 
+    @Test
+    public void insert_batch_writer() {
+        SQLBatchWriter writer = insert(survey).columns(survey.id, survey.name).batchWriter();
+        writer.setBatchSize(2);
+        try {
+            writer.add(5, "55");
+            writer.add(6, "66");
+            writer.add(7, "77");
+        } finally {
+            writer.close();
+        }
+
+        assertEquals(3, writer.getRowCount());
+        assertEquals(2, writer.getChunkUpdateCounts().size());
+        assertEquals(1L, query().from(survey).where(survey.name.eq("55")).fetchCount());
+        assertEquals(1L, query().from(survey).where(survey.name.eq("66")).fetchCount());
+        assertEquals(1L, query().from(survey).where(survey.name.eq("77")).fetchCount());
+    }
+
+    @Test
+    public void insert_copy_writer() {
+        SQLRowWriter writer = insert(survey).columns(survey.id, survey.name).copyWriter();
+        try {
+            writer.add(5, "55");
+            writer.add(6, "a\tb\\c");
+            writer.add(7, null);
+        } finally {
+            writer.close();
+        }
+
+        assertEquals(3, writer.getRowCount());
+        assertEquals(1L, query().from(survey).where(survey.name.eq("55")).fetchCount());
+        assertEquals(1L, query().from(survey).where(survey.name.eq("a\tb\\c")).fetchCount());
+        assertEquals(1L, query().from(survey).where(survey.id.eq(7), survey.name.isNull()).fetchCount());
+    }
+
     @Test
     public void insert_batch_Templates() {
         SQLInsertClause insert = insert(survey)
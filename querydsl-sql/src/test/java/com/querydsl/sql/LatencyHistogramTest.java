@@ -0,0 +1,52 @@
+package com.querydsl.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void index() {
+        for (long value : new long[]{0, 1, 7, 8, 15, 16, 17, 1000, 123456789, LatencyHistogram.MAX_VALUE}) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(value <= LatencyHistogram.highestValue(index));
+            assertTrue(index == 0 || value > LatencyHistogram.highestValue(index - 1));
+        }
+        assertEquals(LatencyHistogram.index(LatencyHistogram.MAX_VALUE),
+                LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void empty() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().getSnapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(0, snapshot.getPercentile(99));
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000L, snapshot.getMin());
+        assertEquals(1000000L, snapshot.getMax());
+        assertEquals(500500.0, snapshot.getMean(), 0.1);
+        assertEquals(1000000L, snapshot.getPercentile(100));
+        long p50 = snapshot.getPercentile(50);
+        assertTrue(p50 >= 500000 && p50 <= 500000 * 1.125);
+        long p99 = snapshot.getPercentile(99);
+        assertTrue(p99 >= 990000 && p99 <= 1000000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void illegal_percentile() {
+        new LatencyHistogram().getSnapshot().getPercentile(101);
+    }
+
+}
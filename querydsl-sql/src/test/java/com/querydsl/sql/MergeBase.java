@@ -14,6 +14,7 @@
 package com.querydsl.sql;
 
 import static com.querydsl.core.Target.*;
+import static com.querydsl.sql.Constants.employee;
 import static com.querydsl.sql.Constants.survey;
 import static com.querydsl.sql.Constants.survey2;
 import static org.junit.Assert.*;
@@ -172,6 +173,61 @@ public class MergeBase extends AbstractBaseTest {
         assertEquals(1L, query().from(survey).where(survey.name.eq("6")).fetchCount());
     }
 
+    @Test
+    @IncludeIn({MYSQL, ORACLE, SQLSERVER}) // the PostgreSQL SURVEY table has no unique ID, the SQLite driver predates upserts
+    public void mergeBatch_upsert() {
+        merge(survey).keys(survey.id).set(survey.id, 5).set(survey.name, "5").execute();
+
+        SQLMergeClause merge = merge(survey)
+            .keys(survey.id)
+            .set(survey.id, 5)
+            .set(survey.name, "55")
+            .addBatch();
+        merge
+            .keys(survey.id)
+            .set(survey.id, 6)
+            .set(survey.name, "6")
+            .addBatch();
+        merge.execute();
+
+        assertEquals(1L, query().from(survey).where(survey.id.eq(5)).fetchCount());
+        assertEquals(1L, query().from(survey).where(survey.name.eq("55")).fetchCount());
+        assertEquals(1L, query().from(survey).where(survey.name.eq("6")).fetchCount());
+    }
+
+    @Test
+    @IncludeIn({MYSQL, ORACLE, POSTGRESQL, SQLSERVER})
+    public void mergeBatch_upsert_primary_key() {
+        // EMPLOYEE has a primary key on ID, unlike SURVEY on PostgreSQL
+        try {
+            SQLMergeClause merge = merge(employee)
+                .keys(employee.id)
+                .set(employee.id, 100)
+                .set(employee.firstname, "Bob")
+                .addBatch();
+            merge.execute();
+
+            merge = merge(employee)
+                .keys(employee.id)
+                .set(employee.id, 100)
+                .set(employee.firstname, "Robert")
+                .addBatch();
+            merge
+                .keys(employee.id)
+                .set(employee.id, 101)
+                .set(employee.firstname, "Alice")
+                .addBatch();
+            merge.execute();
+
+            assertEquals("Robert", query().from(employee).where(employee.id.eq(100))
+                    .select(employee.firstname).fetchOne());
+            assertEquals("Alice", query().from(employee).where(employee.id.eq(101))
+                    .select(employee.firstname).fetchOne());
+        } finally {
+            delete(employee).where(employee.id.in(100, 101)).execute();
+        }
+    }
+
     @Test
     @IncludeIn(H2)
     public void mergeBatch_templates() {
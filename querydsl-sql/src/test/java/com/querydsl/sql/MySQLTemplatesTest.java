@@ -18,7 +18,12 @@ import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+import com.querydsl.core.DefaultQueryMetadata;
 import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.domain.QSurvey;
 
 
 public class MySQLTemplatesTest extends AbstractSQLTemplatesTest {
@@ -89,4 +94,16 @@ public class MySQLTemplatesTest extends AbstractSQLTemplatesTest {
         assertTrue(p7 < p8);
     }
 
+    @Test
+    public void copy() {
+        assertTrue(createTemplates().isCopySupported());
+        QSurvey survey = QSurvey.survey;
+        Path<byte[]> data = Expressions.path(byte[].class, survey, "DATA");
+        SQLSerializer serializer = new SQLSerializer(new Configuration(createTemplates()), true);
+        serializer.serializeCopy(new DefaultQueryMetadata(), survey,
+                ImmutableList.<Path<?>>of(survey.id, data, survey.name));
+        assertEquals("load data local infile 'stream' into table SURVEY character set utf8mb4 " +
+                "(ID, @c1, NAME)\n" +
+                "set DATA = unhex(@c1)", serializer.toString());
+    }
 }
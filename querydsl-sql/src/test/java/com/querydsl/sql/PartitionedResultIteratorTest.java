@@ -0,0 +1,160 @@
+package com.querydsl.sql;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Provider;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.mysema.commons.lang.CloseableIterator;
+import com.mysema.commons.lang.IteratorAdapter;
+import com.querydsl.core.QueryException;
+
+public class PartitionedResultIteratorTest {
+
+    private static class Partition extends SQLQuery<Integer> {
+
+        private final List<Integer> rows;
+
+        private final RuntimeException failure;
+
+        Partition(RuntimeException failure, Integer... rows) {
+            super(SQLTemplates.DEFAULT);
+            this.rows = Arrays.asList(rows);
+            this.failure = failure;
+        }
+
+        @Override
+        public CloseableIterator<Integer> iterate() {
+            if (failure != null) {
+                throw failure;
+            }
+            return new IteratorAdapter<Integer>(rows.iterator());
+        }
+
+        @Override
+        public SQLQuery<Integer> clone(Connection conn) {
+            return this;
+        }
+
+    }
+
+    /**
+     * Provides connection stubs and tracks which of them are still open
+     */
+    private static class ConnectionTracker implements Provider<Connection> {
+
+        private final Set<Connection> open = Collections.newSetFromMap(new ConcurrentHashMap<Connection, Boolean>());
+
+        private final AtomicInteger created = new AtomicInteger();
+
+        @Override
+        public Connection get() {
+            created.incrementAndGet();
+            final Connection[] conn = new Connection[1];
+            conn[0] = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{Connection.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    if (method.getName().equals("close")) {
+                        open.remove(conn[0]);
+                    } else if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    } else if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    return null;
+                }
+            });
+            open.add(conn[0]);
+            return conn[0];
+        }
+
+    }
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    private final ConnectionTracker connections = new ConnectionTracker();
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(connections.open.isEmpty());
+    }
+
+    private List<Integer> read(CloseableIterator<Integer> iterator) {
+        List<Integer> rv = new ArrayList<Integer>();
+        while (iterator.hasNext()) {
+            rv.add(iterator.next());
+        }
+        iterator.close();
+        return rv;
+    }
+
+    private List<Partition> partitions() {
+        Integer[] large = new Integer[5000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = 10 + i;
+        }
+        return Arrays.asList(
+                new Partition(null, 1, 2, null),
+                new Partition(null),
+                new Partition(null, large));
+    }
+
+    @Test
+    public void ordered() {
+        List<Integer> results = read(new PartitionedResultIterator<Integer>(partitions(), connections, executor, true));
+        assertEquals(5003, results.size());
+        assertEquals(Arrays.asList(1, 2, null, 10, 11), results.subList(0, 5));
+        assertEquals(Integer.valueOf(5009), results.get(5002));
+        assertEquals(3, connections.created.get());
+    }
+
+    @Test
+    public void unordered() {
+        List<Integer> results = read(new PartitionedResultIterator<Integer>(partitions(), connections, executor, false));
+        assertEquals(5003, results.size());
+        results.remove(null);
+        Collections.sort(results);
+        assertEquals(Arrays.asList(1, 2, 10, 11), results.subList(0, 4));
+    }
+
+    @Test
+    public void no_partitions() {
+        assertTrue(read(new PartitionedResultIterator<Integer>(new ArrayList<Partition>(), connections, executor, false)).isEmpty());
+    }
+
+    @Test
+    public void failure() {
+        List<Partition> partitions = Arrays.asList(new Partition(null, 1), new Partition(new QueryException("fail")));
+        try {
+            read(new PartitionedResultIterator<Integer>(partitions, connections, executor, true));
+            fail("Expected exception");
+        } catch (QueryException e) {
+            assertEquals("fail", e.getMessage());
+        }
+    }
+
+    @Test
+    public void close_early() {
+        CloseableIterator<Integer> iterator = new PartitionedResultIterator<Integer>(partitions(), connections, executor, true);
+        assertEquals(Integer.valueOf(1), iterator.next());
+        iterator.close();
+        assertFalse(iterator.hasNext());
+    }
+
+}
@@ -15,14 +15,18 @@ package com.querydsl.sql;
 
 import static com.querydsl.sql.SQLExpressions.select;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+import com.querydsl.core.DefaultQueryMetadata;
 import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.sql.domain.QSurvey;
 
 
 public class PostgreSQLTemplatesTest extends AbstractSQLTemplatesTest {
@@ -115,4 +119,20 @@ public class PostgreSQLTemplatesTest extends AbstractSQLTemplatesTest {
         assertTrue(query.toString(), query.toString().endsWith("where b = true"));
     }
 
+    @Test
+    public void explainRowEstimate() {
+        assertTrue(createTemplates().isExplainRowEstimateSupported());
+        assertFalse(new H2Templates().isExplainRowEstimateSupported());
+    }
+
+    @Test
+    public void copy() {
+        assertTrue(createTemplates().isCopySupported());
+        assertFalse(new H2Templates().isCopySupported());
+        QSurvey survey = QSurvey.survey;
+        SQLSerializer serializer = new SQLSerializer(new Configuration(createTemplates()), true);
+        serializer.serializeCopy(new DefaultQueryMetadata(), survey,
+                ImmutableList.<Path<?>>of(survey.id, survey.name));
+        assertEquals("copy SURVEY (ID, NAME) from stdin", serializer.toString());
+    }
 }
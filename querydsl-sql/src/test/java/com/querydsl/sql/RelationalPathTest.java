@@ -2,14 +2,18 @@ package com.querydsl.sql;
 
 import static com.querydsl.core.testutil.Serialization.serialize;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
 import java.io.IOException;
 import java.util.Arrays;
 
 import org.junit.Test;
 
+import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.QTuple;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
 import com.querydsl.sql.domain.QSurvey;
 
 public class RelationalPathTest {
@@ -32,4 +36,47 @@ public class RelationalPathTest {
         serialize(tuple.newInstance(1, "a"));
     }
 
+    @Test
+    public void lazy_metadata() {
+        QLazySurvey survey = new QLazySurvey("survey");
+        assertEquals(Arrays.<Path<?>>asList(survey.id(), survey.name()), survey.getColumns());
+        assertEquals(2, survey.all().length);
+        assertNotNull(survey.getMetadata(survey.name()));
+        assertEquals("NAME", survey.getMetadata(survey.name()).getName());
+    }
+
+    public static class QLazySurvey extends RelationalPathBase<Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private NumberPath<Integer> id;
+
+        private StringPath name;
+
+        public QLazySurvey(String variable) {
+            super(Object.class, variable, "PUBLIC", "SURVEY");
+        }
+
+        public NumberPath<Integer> id() {
+            if (id == null) {
+                id = createNumber("id", Integer.class);
+            }
+            return id;
+        }
+
+        public StringPath name() {
+            if (name == null) {
+                name = createString("name");
+            }
+            return name;
+        }
+
+        @Override
+        public void addMetadata() {
+            addMetadata(id(), ColumnMetadata.named("ID"));
+            addMetadata(name(), ColumnMetadata.named("NAME"));
+        }
+
+    }
+
 }
@@ -0,0 +1,113 @@
+package com.querydsl.sql;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.sql.domain.QSurvey;
+import com.querydsl.sql.types.StringType;
+
+public class RowReaderTest implements InvocationHandler {
+
+    private final QSurvey survey = QSurvey.survey;
+
+    private final ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class}, this);
+
+    private final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSetMetaData.class}, this);
+
+    private Configuration configuration;
+
+    private Object[] row;
+
+    private boolean wasNull;
+
+    private int metaDataCalls;
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("getMetaData")) {
+            metaDataCalls++;
+            return metaData;
+        } else if (method.getName().equals("getColumnCount")) {
+            return row.length;
+        } else if (method.getName().equals("wasNull")) {
+            return wasNull;
+        } else {
+            Object value = row[(Integer) args[0] - 1];
+            wasNull = value == null;
+            if (value == null && method.getReturnType().isPrimitive()) {
+                return method.getReturnType() == Integer.TYPE ? 0 : null;
+            }
+            return value;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        configuration = new Configuration(SQLTemplates.DEFAULT);
+    }
+
+    @Test
+    public void expression() throws SQLException {
+        RowReader<Integer> reader = RowReader.create(configuration, survey.id);
+        row = new Object[]{3};
+        assertEquals(Integer.valueOf(3), reader.read(resultSet));
+        row = new Object[]{null};
+        assertNull(reader.read(resultSet));
+    }
+
+    @Test
+    public void factoryExpression() throws SQLException {
+        RowReader<Tuple> reader = RowReader.create(configuration, Projections.tuple(survey.id, survey.name));
+        row = new Object[]{1, "a"};
+        Tuple tuple = reader.read(resultSet);
+        assertEquals(Integer.valueOf(1), tuple.get(survey.id));
+        assertEquals("a", tuple.get(survey.name));
+    }
+
+    @Test
+    public void column_types_are_resolved_once() throws SQLException {
+        configuration.register("SURVEY", "NAME", new StringType() {
+            @Override
+            public String getValue(ResultSet rs, int startIndex) throws SQLException {
+                return rs.getString(startIndex).toUpperCase();
+            }
+        });
+        RowReader<String> reader = RowReader.create(configuration, survey.name);
+        configuration.register("SURVEY", "NAME", new StringType());
+        row = new Object[]{"a"};
+        assertEquals("A", reader.read(resultSet));
+        assertEquals("a", RowReader.create(configuration, survey.name).read(resultSet));
+    }
+
+    @Test
+    public void all_columns() throws SQLException {
+        RowReader<Object[]> reader = RowReader.create(configuration, Wildcard.all);
+        row = new Object[]{1, "a"};
+        assertArrayEquals(new Object[]{1, "a"}, reader.read(resultSet));
+        row = new Object[]{2, "b"};
+        assertArrayEquals(new Object[]{2, "b"}, reader.read(resultSet));
+        assertEquals(1, metaDataCalls);
+    }
+
+    @Test
+    public void first_column() throws SQLException {
+        RowReader<Object> reader = RowReader.create(configuration, null);
+        row = new Object[]{1, "a"};
+        assertEquals(1, reader.read(resultSet));
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.querydsl.sql;
 
 import static org.easymock.EasyMock.*;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 import java.util.Map;
@@ -96,6 +98,26 @@ public class SQLListenersTest {
         listeners.preExecute(sqlListenerContext);
     }
 
+    @Test
+    public void fetchListeners() {
+        SQLListenerContextImpl sqlListenerContext = new SQLListenerContextImpl(new DefaultQueryMetadata());
+        SQLFetchListener fetchListener = createMock(SQLFetchListener.class);
+        fetchListener.preFetch(sqlListenerContext);
+        fetchListener.fetched(sqlListenerContext, sqlListenerContext);
+        replay(fetchListener);
+
+        SQLListeners listeners = new SQLListeners(new SQLBaseListener());
+        listeners.add(new SQLBaseListener());
+        assertFalse(listeners.hasFetchListeners());
+        listeners.add(fetchListener);
+        assertTrue(listeners.hasFetchListeners());
+        assertTrue(new SQLListeners(listeners).hasFetchListeners());
+
+        listeners.preFetch(sqlListenerContext);
+        listeners.fetched(sqlListenerContext, sqlListenerContext);
+        verify(fetchListener);
+    }
+
     static class AssertingDetailedListener implements SQLDetailedListener {
         private final String key;
         private final Object value;
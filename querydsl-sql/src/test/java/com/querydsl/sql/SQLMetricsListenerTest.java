@@ -0,0 +1,146 @@
+package com.querydsl.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.domain.QSurvey;
+
+public class SQLMetricsListenerTest {
+
+    private final SQLMetricsListener listener = new SQLMetricsListener();
+
+    private SQLListenerContextImpl execute(String sql, boolean fail) {
+        QueryMetadata metadata = new DefaultQueryMetadata();
+        metadata.setProjection(Expressions.ONE);
+        SQLListenerContextImpl context = new SQLListenerContextImpl(metadata);
+        listener.start(context);
+        listener.preRender(context);
+        context.addSQL(sql);
+        listener.rendered(context);
+        listener.prePrepare(context);
+        listener.prepared(context);
+        listener.preExecute(context);
+        if (fail) {
+            context.setException(new SQLException());
+            listener.exception(context);
+        } else {
+            listener.executed(context);
+        }
+        listener.end(context);
+        return context;
+    }
+
+    @Test
+    public void shapes() {
+        execute("select 1 from SURVEY where ID in (?, ?)", false);
+        execute("select 1 from SURVEY where ID in (?, ?, ?)", false);
+        execute("select 1 from SURVEY where ID = ?", true);
+
+        List<SQLMetrics> snapshot = listener.getSnapshot();
+        assertEquals(2, snapshot.size());
+        for (SQLMetrics metrics : snapshot) {
+            if (metrics.getSQL().equals("select 1 from SURVEY where ID in (?, ...)")) {
+                assertEquals(2, metrics.getCount());
+                assertEquals(0, metrics.getErrorCount());
+                assertEquals(2, metrics.getRender().getCount());
+                assertEquals(2, metrics.getPrepare().getCount());
+                assertEquals(2, metrics.getExecute().getCount());
+                assertEquals(2, metrics.getFetch().getCount());
+            } else {
+                assertEquals("select 1 from SURVEY where ID = ?", metrics.getSQL());
+                assertEquals(1, metrics.getCount());
+                assertEquals(1, metrics.getErrorCount());
+                assertEquals(0, metrics.getExecute().getCount());
+            }
+            assertNull(metrics.getEntity());
+        }
+
+        listener.reset();
+        assertEquals(0, listener.getSnapshot().size());
+    }
+
+    @Test
+    public void entity() {
+        SQLListenerContextImpl context = new SQLListenerContextImpl(new DefaultQueryMetadata(), null,
+                QSurvey.survey);
+        listener.start(context);
+        context.addSQL("delete from SURVEY");
+        listener.preExecute(context);
+        listener.executed(context);
+        listener.end(context);
+
+        SQLMetrics metrics = listener.getSnapshot().get(0);
+        assertEquals("SURVEY", metrics.getEntity());
+        assertEquals(1, metrics.getExecute().getCount());
+        assertEquals(0, metrics.getFetch().getCount());
+    }
+
+    @Test
+    public void fetch() {
+        QueryMetadata metadata = new DefaultQueryMetadata();
+        metadata.setProjection(Expressions.ONE);
+        SQLListenerContextImpl context = new SQLListenerContextImpl(metadata);
+        listener.start(context);
+        context.addSQL("select 1 from SURVEY");
+        listener.preExecute(context);
+        listener.executed(context);
+        listener.preFetch(context);
+        context.setTimeToFirstRow(10);
+        context.addFetchedRow(1, 5);
+        context.addFetchedRow(1, 5);
+        listener.fetched(context, context);
+        listener.end(context);
+
+        SQLMetrics metrics = listener.getSnapshot().get(0);
+        assertEquals(2, metrics.getRowCount());
+        assertEquals(1, metrics.getFetch().getCount());
+        assertEquals(10, metrics.getMapping().getMax());
+        assertEquals(10, metrics.getFirstRow().getMax());
+    }
+
+    @Test
+    public void max_shapes() {
+        SQLMetricsListener limited = new SQLMetricsListener(1);
+        for (String sql : new String[]{"select 1", "select 2", "select 3"}) {
+            SQLListenerContextImpl context = new SQLListenerContextImpl(new DefaultQueryMetadata());
+            limited.start(context);
+            context.addSQL(sql);
+            limited.end(context);
+        }
+        assertEquals(2, limited.getSnapshot().size());
+    }
+
+    @Test
+    public void normalize() {
+        assertEquals("insert into SURVEY (ID, NAME)\nvalues (?, ...)",
+                listener.normalize("insert into SURVEY (ID, NAME)\nvalues (?, ?)"));
+        assertEquals("where a in (?, ...) and b = ? and c in (?, ...)",
+                listener.normalize("where a in (?, ?, ?) and b = ? and c in (?, ?)"));
+    }
+
+    @Test
+    public void slowQuery() {
+        final int[] slow = new int[1];
+        SQLMetricsListener listener = new SQLMetricsListener() {
+            @Override
+            protected void slowQuery(SQLListenerContext context, long nanos) {
+                slow[0]++;
+            }
+        };
+        listener.setSlowQueryThreshold(0, TimeUnit.MILLISECONDS);
+        SQLListenerContextImpl context = new SQLListenerContextImpl(new DefaultQueryMetadata());
+        listener.start(context);
+        listener.end(context);
+        assertEquals(1, slow[0]);
+    }
+
+}
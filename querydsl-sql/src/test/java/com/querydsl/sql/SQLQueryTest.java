@@ -1,7 +1,10 @@
 package com.querydsl.sql;
 
+import static org.junit.Assert.assertEquals;
+
 import org.junit.Test;
 
+import com.querydsl.core.Keyset;
 import com.querydsl.sql.domain.QSurvey;
 
 public class SQLQueryTest {
@@ -12,4 +15,19 @@ public class SQLQueryTest {
         SQLExpressions.select(survey.id).from(survey).fetch();
     }
 
+    @Test
+    public void seek() {
+        QSurvey survey = QSurvey.survey;
+        Keyset keyset = Keyset.of(survey.name.asc(), survey.id.asc()).after("Bob", 3);
+        SQLQuery<?> query = new SQLQuery<Void>(SQLTemplates.DEFAULT).from(survey).seek(keyset);
+        assertEquals("from SURVEY SURVEY\n" +
+                "where SURVEY.NAME > ? or SURVEY.NAME = ? and SURVEY.ID > ?\n" +
+                "order by SURVEY.NAME asc, SURVEY.ID asc", query.toString());
+
+        query = new SQLQuery<Void>(new PostgreSQLTemplates()).from(survey).seek(keyset);
+        assertEquals("from SURVEY SURVEY\n" +
+                "where (SURVEY.NAME, SURVEY.ID) > (?, ?)\n" +
+                "order by SURVEY.NAME asc, SURVEY.ID asc", query.toString());
+    }
+
 }
@@ -0,0 +1,116 @@
+package com.querydsl.sql;
+
+import static org.easymock.EasyMock.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.querydsl.core.DefaultQueryMetadata;
+
+public class SQLResultIteratorTest {
+
+    private static class FetchListener extends SQLBaseListener implements SQLFetchListener {
+
+        private final List<String> events = new ArrayList<String>();
+
+        @Override
+        public void preFetch(SQLListenerContext context) {
+            events.add("preFetch");
+        }
+
+        @Override
+        public void fetched(SQLListenerContext context, SQLFetchStatistics statistics) {
+            events.add("fetched " + statistics.getFetchedRows() + " " + statistics.getColumnsRead());
+        }
+
+        @Override
+        public void end(SQLListenerContext context) {
+            events.add("end");
+        }
+
+    }
+
+    private static SQLResultIterator<Integer> createIterator(ResultSet rs, SQLDetailedListener listener,
+            SQLListenerContext context) {
+        return new SQLResultIterator<Integer>(new Configuration(SQLTemplates.DEFAULT), null, rs, listener, context) {
+            @Override
+            protected Integer produceNext(ResultSet rs) throws Exception {
+                return 1;
+            }
+        };
+    }
+
+    @Test
+    public void fetch_statistics() throws Exception {
+        ResultSetMetaData metaData = createMock(ResultSetMetaData.class);
+        expect(metaData.getColumnCount()).andReturn(3);
+        ResultSet rs = createMock(ResultSet.class);
+        expect(rs.next()).andReturn(true).times(2).andReturn(false);
+        expect(rs.getMetaData()).andReturn(metaData);
+        rs.close();
+        replay(metaData, rs);
+
+        SQLListenerContextImpl context = new SQLListenerContextImpl(new DefaultQueryMetadata());
+        FetchListener listener = new FetchListener();
+        SQLListeners listeners = new SQLListeners();
+        listeners.add(listener);
+        SQLResultIterator<Integer> iterator = createIterator(rs, listeners, context);
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        iterator.close();
+
+        verify(metaData, rs);
+        assertEquals(2, context.getFetchedRows());
+        assertEquals(6, context.getColumnsRead());
+        assertTrue(context.getTimeToFirstRow() >= 0);
+        assertTrue(context.getMappingTime() >= 0);
+        assertEquals("[preFetch, fetched 2 6, end]", listener.events.toString());
+    }
+
+    @Test
+    public void no_fetch_statistics_without_fetch_listeners() throws Exception {
+        ResultSet rs = createMock(ResultSet.class);
+        expect(rs.next()).andReturn(true).andReturn(false);
+        rs.close();
+        replay(rs);
+
+        SQLListenerContextImpl context = new SQLListenerContextImpl(new DefaultQueryMetadata());
+        SQLListeners listeners = new SQLListeners();
+        listeners.add(new SQLBaseListener());
+        SQLResultIterator<Integer> iterator = createIterator(rs, listeners, context);
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        iterator.close();
+
+        verify(rs);
+        assertEquals(0, context.getFetchedRows());
+        assertEquals(-1, context.getTimeToFirstRow());
+    }
+
+    @Test
+    public void close_twice() throws Exception {
+        ResultSet rs = createMock(ResultSet.class);
+        expect(rs.next()).andReturn(false);
+        rs.close();
+        replay(rs);
+
+        FetchListener listener = new FetchListener();
+        SQLResultIterator<Integer> iterator = createIterator(rs, listener,
+                new SQLListenerContextImpl(new DefaultQueryMetadata()));
+        iterator.hasNext();
+        iterator.close();
+        iterator.close();
+
+        verify(rs);
+        assertEquals("[preFetch, fetched 0 0, end]", listener.events.toString());
+    }
+
+}
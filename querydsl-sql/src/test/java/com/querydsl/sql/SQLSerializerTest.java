@@ -119,6 +119,61 @@ public class SQLSerializerTest {
         assertEquals(3, serializer.getConstants().size());
     }
 
+    @Test
+    public void in_padded() {
+        Configuration conf = new Configuration(SQLTemplates.DEFAULT);
+        conf.setInListStrategy(InListStrategy.PADDED);
+        SQLSerializer serializer = new SQLSerializer(conf);
+        serializer.handle(employee.id.in(1, 2, 3, 4, 5));
+        assertEquals("EMPLOYEE.ID in (?, ?, ?, ?, ?, ?, ?, ?)", serializer.toString());
+        assertEquals(Arrays.<Object>asList(1, 2, 3, 4, 5, 5, 5, 5), serializer.getConstants());
+        assertEquals(8, serializer.getConstantPaths().size());
+
+        serializer = new SQLSerializer(conf);
+        serializer.handle(employee.id.in(1, 2));
+        assertEquals("EMPLOYEE.ID in (?, ?)", serializer.toString());
+    }
+
+    @Test
+    public void in_padded_listMaxSize() {
+        Configuration conf = new Configuration(new OracleTemplates());
+        conf.setInListStrategy(InListStrategy.PADDED);
+        List<Integer> ids = new ArrayList<Integer>();
+        for (int i = 0; i < 1600; i++) {
+            ids.add(i);
+        }
+        SQLSerializer serializer = new SQLSerializer(conf);
+        serializer.handle(employee.id.in(ids));
+        // 1000 + 600 padded to 1000
+        assertEquals(2000, serializer.getConstants().size());
+        assertEquals(1599, serializer.getConstants().get(1999));
+    }
+
+    @Test
+    public void in_array() {
+        Configuration conf = new Configuration(new PostgreSQLTemplates());
+        conf.setInListStrategy(InListStrategy.ARRAY);
+        SQLSerializer serializer = new SQLSerializer(conf);
+        serializer.handle(employee.id.in(1, 2, 3));
+        assertEquals("EMPLOYEE.ID = any(?)", serializer.toString());
+        assertEquals(1, serializer.getConstants().size());
+        assertEquals(Arrays.asList(1, 2, 3), Arrays.asList((Object[]) serializer.getConstants().get(0)));
+        assertEquals(Arrays.asList((Path<?>) null), serializer.getConstantPaths());
+
+        serializer = new SQLSerializer(conf);
+        serializer.handle(employee.id.notIn(1, 2, 3));
+        assertEquals("EMPLOYEE.ID <> all(?)", serializer.toString());
+    }
+
+    @Test
+    public void in_array_fallback() {
+        Configuration conf = new Configuration(new MySQLTemplates());
+        conf.setInListStrategy(InListStrategy.ARRAY);
+        SQLSerializer serializer = new SQLSerializer(conf);
+        serializer.handle(employee.id.in(1, 2, 3));
+        assertEquals("EMPLOYEE.ID in (?, ?, ?, ?)", serializer.toString());
+    }
+
     @Test
     public void fullJoinWithoutCodeGeneration() {
         SQLQuery<?> sqlQuery = queryForMYSQLTemplate();
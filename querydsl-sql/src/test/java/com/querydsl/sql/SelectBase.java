@@ -20,12 +20,18 @@ import static org.junit.Assert.*;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.Date;
+import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
 
+import javax.inject.Provider;
+
 import org.joda.time.*;
 import org.junit.Assert;
 import org.junit.Ignore;
@@ -890,6 +896,33 @@ public class SelectBase extends AbstractBaseTest {
         assertEquals(0, query().from(employee).where(employee.id.notIn(ids)).fetchCount());
     }
 
+    @Test
+    public void in_padded() {
+        InListStrategy strategy = configuration.getInListStrategy();
+        configuration.setInListStrategy(InListStrategy.PADDED);
+        try {
+            assertEquals(3, query().from(employee).where(employee.id.in(1, 2, 10)).fetchCount());
+            assertEquals(query().from(employee).fetchCount() - 3,
+                    query().from(employee).where(employee.id.notIn(1, 2, 10)).fetchCount());
+        } finally {
+            configuration.setInListStrategy(strategy);
+        }
+    }
+
+    @Test
+    @IncludeIn({HSQLDB, POSTGRESQL})
+    public void in_array() {
+        InListStrategy strategy = configuration.getInListStrategy();
+        configuration.setInListStrategy(InListStrategy.ARRAY);
+        try {
+            assertEquals(3, query().from(employee).where(employee.id.in(1, 2, 10)).fetchCount());
+            assertEquals(query().from(employee).fetchCount() - 3,
+                    query().from(employee).where(employee.id.notIn(1, 2, 10)).fetchCount());
+        } finally {
+            configuration.setInListStrategy(strategy);
+        }
+    }
+
     @Test
     public void in_empty() {
         assertEquals(0, query().from(employee).where(employee.id.in(ImmutableList.<Integer>of())).fetchCount());
@@ -1109,6 +1142,68 @@ public class SelectBase extends AbstractBaseTest {
         assertEquals(10, results.getTotal());
     }
 
+    @Test
+    public void listResults_without_count() {
+        QueryResults<Integer> results = query().from(employee)
+                .limit(20).orderBy(employee.id.asc())
+                .select(employee.id).fetchResults();
+        assertEquals(10, results.getResults().size());
+        assertEquals(10, results.getTotal());
+    }
+
+    @Test
+    @IncludeIn({HSQLDB, ORACLE, POSTGRESQL})
+    public void listResults_cte() {
+        PaginationCountStrategy strategy = configuration.getPaginationCountStrategy();
+        configuration.setPaginationCountStrategy(PaginationCountStrategy.CTE);
+        try {
+            QueryResults<Integer> results = query().from(employee)
+                    .where(employee.id.isNotNull())
+                    .limit(2).offset(1).orderBy(employee.id.asc())
+                    .select(employee.id).fetchResults();
+            assertEquals(2, results.getResults().size());
+            assertEquals(10, results.getTotal());
+        } finally {
+            configuration.setPaginationCountStrategy(strategy);
+        }
+    }
+
+    @Test
+    @IncludeIn({ORACLE, POSTGRESQL, TERADATA})
+    public void listResults_window() {
+        PaginationCountStrategy strategy = configuration.getPaginationCountStrategy();
+        configuration.setPaginationCountStrategy(PaginationCountStrategy.WINDOW);
+        try {
+            QueryResults<Integer> results = query().from(employee)
+                    .limit(2).offset(1).orderBy(employee.id.asc())
+                    .select(employee.id).fetchResults();
+            assertEquals(2, results.getResults().size());
+            assertEquals(10, results.getTotal());
+        } finally {
+            configuration.setPaginationCountStrategy(strategy);
+        }
+    }
+
+    @Test
+    public void listResults_estimate() {
+        PaginationCountStrategy strategy = configuration.getPaginationCountStrategy();
+        configuration.setPaginationCountStrategy(PaginationCountStrategy.ESTIMATE);
+        try {
+            QueryResults<Integer> results = query().from(employee)
+                    .limit(2).offset(1).orderBy(employee.id.asc())
+                    .select(employee.id).fetchResults();
+            assertEquals(2, results.getResults().size());
+            if (configuration.getTemplates().isExplainRowEstimateSupported()) {
+                // the estimate is at least the number of rows up to the page end
+                assertTrue(results.getTotal() >= 3);
+            } else {
+                assertEquals(10, results.getTotal());
+            }
+        } finally {
+            configuration.setPaginationCountStrategy(strategy);
+        }
+    }
+
     @Test
     @ExcludeIn({DB2, DERBY})
     public void literals() {
@@ -1435,6 +1530,57 @@ public class SelectBase extends AbstractBaseTest {
         names.close();
     }
 
+    @Test
+    public void iterate_with_fetchSize() throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        CloseableIterator<Integer> ids = query().from(employee).orderBy(employee.id.asc())
+                .select(employee.id).iterate(2);
+        List<Integer> results = new ArrayList<Integer>();
+        while (ids.hasNext()) {
+            results.add(ids.next());
+        }
+        ids.close();
+        assertEquals(query().from(employee).orderBy(employee.id.asc()).select(employee.id).fetch(), results);
+        assertEquals(autoCommit, connection.getAutoCommit());
+    }
+
+    @Test
+    @IncludeIn(H2)
+    public void fetchPartitioned() throws SQLException {
+        final String url = connection.getMetaData().getURL();
+        final List<Connection> connections = Collections.synchronizedList(new ArrayList<Connection>());
+        SQLQueryFactory queryFactory = new SQLQueryFactory(configuration, new Provider<Connection>() {
+            @Override
+            public Connection get() {
+                try {
+                    Connection conn = DriverManager.getConnection(url, "sa", "");
+                    connections.add(conn);
+                    return conn;
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CloseableIterator<Integer> ids = queryFactory.fetchPartitioned(
+                    queryFactory.select(employee.id).from(employee).orderBy(employee.id.asc()),
+                    employee.id, 3, executor, true);
+            List<Integer> results = new ArrayList<Integer>();
+            while (ids.hasNext()) {
+                results.add(ids.next());
+            }
+            ids.close();
+            assertEquals(query().from(employee).orderBy(employee.id.asc()).select(employee.id).fetch(), results);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(4, connections.size());
+        for (Connection conn : connections) {
+            assertTrue(conn.isClosed());
+        }
+    }
+
     @Test
     public void qBeanUsage() {
         PathBuilder<Object[]> sq = new PathBuilder<Object[]>(Object[].class, "sq");
@@ -2101,6 +2247,42 @@ public class SelectBase extends AbstractBaseTest {
         query.select(employee.id).fetch();
     }
 
+    @Test
+    public void fetch_statistics() {
+        final List<Long> stats = new ArrayList<Long>();
+        class StatisticsListener extends SQLBaseListener implements SQLFetchListener {
+            @Override
+            public void preFetch(SQLListenerContext context) {
+
+            }
+
+            @Override
+            public void fetched(SQLListenerContext context, SQLFetchStatistics statistics) {
+                stats.add(statistics.getFetchedRows());
+                stats.add(statistics.getColumnsRead());
+                stats.add(statistics.getTimeToFirstRow() >= 0 ? 1L : 0L);
+            }
+        }
+        SQLFetchListener listener = new StatisticsListener();
+        long count = query().from(employee).fetchCount();
+
+        SQLQuery<?> query = query().from(employee);
+        query.addListener(listener);
+        query.select(employee.id, employee.firstname).fetch();
+        assertEquals(ImmutableList.of(count, 2 * count, 1L), stats);
+
+        stats.clear();
+        query = query().from(employee);
+        query.addListener(listener);
+        CloseableIterator<Integer> iterator = query.select(employee.id).iterate();
+        try {
+            iterator.next();
+        } finally {
+            iterator.close();
+        }
+        assertEquals(ImmutableList.of(1L, 1L, 1L), stats);
+    }
+
     @Test
     public void getResults() throws SQLException, InterruptedException {
         final AtomicLong endCalled = new AtomicLong(0);
@@ -0,0 +1,134 @@
+package com.querydsl.sql;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.sql.domain.QSurvey;
+
+public class StatementShapeCacheTest {
+
+    private QSurvey survey = QSurvey.survey;
+
+    private Configuration configuration;
+
+    private StatementShapeCache cache;
+
+    @Before
+    public void setUp() {
+        configuration = new Configuration(SQLTemplates.DEFAULT);
+        cache = new StatementShapeCache(100);
+        configuration.setStatementShapeCache(cache);
+    }
+
+    private SQLQuery<?> query() {
+        return new SQLQuery<Void>(configuration);
+    }
+
+    @Test
+    public void same_shape() {
+        SQLBindings first = query().from(survey).where(survey.name.eq("Bob"), survey.id.gt(1)).select(survey.id).getSQL();
+        SQLBindings second = query().from(survey).where(survey.name.eq("Ann"), survey.id.gt(2)).select(survey.id).getSQL();
+        assertEquals("select SURVEY.ID\nfrom SURVEY SURVEY\nwhere SURVEY.NAME = ? and SURVEY.ID > ?", second.getSQL());
+        assertEquals(first.getSQL(), second.getSQL());
+        assertEquals(Arrays.asList("Ann", 2), second.getBindings());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void different_shape() {
+        query().from(survey).where(survey.name.eq("Bob")).select(survey.id).getSQL();
+        query().from(survey).where(survey.name.ne("Bob")).select(survey.id).getSQL();
+        query().from(survey).where(survey.name2.eq("Bob")).select(survey.id).getSQL();
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void collections() {
+        query().from(survey).where(survey.id.in(1, 2)).select(survey.id).getSQL();
+        SQLBindings bindings = query().from(survey).where(survey.id.in(3, 4)).select(survey.id).getSQL();
+        assertEquals("select SURVEY.ID\nfrom SURVEY SURVEY\nwhere SURVEY.ID in (?, ?)", bindings.getSQL());
+        assertEquals(Arrays.asList(3, 4), bindings.getBindings());
+        assertEquals(1, cache.getHitCount());
+
+        bindings = query().from(survey).where(survey.id.in(3, 4, 5)).select(survey.id).getSQL();
+        assertEquals("select SURVEY.ID\nfrom SURVEY SURVEY\nwhere SURVEY.ID in (?, ?, ?)", bindings.getSQL());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void padded_collections() {
+        configuration.setInListStrategy(InListStrategy.PADDED);
+        query().from(survey).where(survey.id.in(1, 2, 3)).select(survey.id).getSQL();
+        SQLBindings bindings = query().from(survey).where(survey.id.in(4, 5, 6)).select(survey.id).getSQL();
+        assertEquals("select SURVEY.ID\nfrom SURVEY SURVEY\nwhere SURVEY.ID in (?, ?, ?, ?)", bindings.getSQL());
+        assertEquals(Arrays.asList(4, 5, 6, 6), bindings.getBindings());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void limit_and_offset() {
+        query().from(survey).limit(10).offset(20).select(survey.id).getSQL();
+        SQLBindings bindings = query().from(survey).limit(5).offset(300).select(survey.id).getSQL();
+        assertEquals("select SURVEY.ID\nfrom SURVEY SURVEY\nlimit ?\noffset ?", bindings.getSQL());
+        assertEquals(Arrays.asList(5L, 300L), bindings.getBindings());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void params() {
+        Param<String> name = new Param<String>(String.class, "name");
+        query().from(survey).where(survey.name.eq(name), survey.name2.eq("A")).set(name, "Bob").select(survey.id).getSQL();
+        SQLBindings bindings = query().from(survey).where(survey.name.eq(name), survey.name2.eq("B"))
+                .set(name, "Ann").select(survey.id).getSQL();
+        assertEquals(Arrays.asList("Ann", "B"), bindings.getBindings());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void transformed_constants_are_not_cached() {
+        query().from(survey).where(survey.name.startsWith("B")).select(survey.id).getSQL();
+        SQLBindings bindings = query().from(survey).where(survey.name.startsWith("A")).select(survey.id).getSQL();
+        assertEquals(Arrays.asList("A%"), bindings.getBindings());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void shared_constants_are_not_cached() {
+        Constant<Integer> one = ConstantImpl.create(1);
+        query().from(survey).where(survey.id.eq(one), survey.id.ne(one)).select(survey.id).getSQL();
+        assertEquals(0, cache.size());
+        SQLBindings bindings = query().from(survey).where(survey.id.eq(one), survey.id.ne(ConstantImpl.create(2)))
+                .select(survey.id).getSQL();
+        assertEquals(Arrays.asList(1, 2), bindings.getBindings());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void configuration_change_clears_cache() {
+        query().from(survey).where(survey.name.eq("Bob")).select(survey.id).getSQL();
+        configuration.registerTableOverride("SURVEY", "SURVEY2");
+        SQLBindings bindings = query().from(survey).where(survey.name.eq("Ann")).select(survey.id).getSQL();
+        assertEquals("select SURVEY.ID\nfrom SURVEY2 SURVEY\nwhere SURVEY.NAME = ?", bindings.getSQL());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void literals() {
+        SQLQuery<?> query = query();
+        query.setUseLiterals(true);
+        query.from(survey).where(survey.name.eq("Bob")).select(survey.id).getSQL();
+        assertEquals(0, cache.size());
+    }
+
+}
@@ -15,7 +15,7 @@ import com.querydsl.sql.dml.SQLUpdateBatch;
 
 /**
  */
-public class TestLoggingListener implements SQLDetailedListener {
+public class TestLoggingListener implements SQLFetchListener {
     private static boolean enabled = false;
 
     /**
@@ -81,6 +81,20 @@ public class TestLoggingListener implements SQLDetailedListener {
         }
     }
 
+    @Override
+    public void preFetch(SQLListenerContext context) {
+        if (enabled) {
+            System.out.println(format("\t\t\tpreFetch %s", context));
+        }
+    }
+
+    @Override
+    public void fetched(SQLListenerContext context, SQLFetchStatistics statistics) {
+        if (enabled) {
+            System.out.println(format("\t\t\tfetched %s rows %s", statistics.getFetchedRows(), context));
+        }
+    }
+
     @Override
     public void exception(SQLListenerContext context) {
         if (enabled) {
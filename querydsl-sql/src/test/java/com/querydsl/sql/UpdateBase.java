@@ -32,6 +32,7 @@ import com.querydsl.core.types.Path;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.Param;
 import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.dml.SQLBatchWriter;
 import com.querydsl.sql.dml.SQLUpdateClause;
 import com.querydsl.sql.domain.QEmployee;
 import com.querydsl.sql.domain.QSurvey;
@@ -149,6 +150,25 @@ public class UpdateBase extends AbstractBaseTest {
         assertEquals(2, update.execute());
     }
 
+    @Test
+    public void batch_writer() {
+        assertEquals(1, insert(survey).values(2, "A","B").execute());
+        assertEquals(1, insert(survey).values(3, "B","C").execute());
+
+        Param<String> name = new Param<String>(String.class, "name");
+        Param<String> oldName = new Param<String>(String.class, "oldName");
+        SQLBatchWriter writer = update(survey).set(survey.name, name)
+                .where(survey.name.eq(oldName)).batchWriter(name, oldName);
+        try {
+            writer.add("AA", "A");
+            writer.add("BB", "B");
+        } finally {
+            writer.close();
+        }
+        assertEquals(2, writer.getUpdateCount());
+        assertEquals(1L, query().from(survey).where(survey.name.eq("BB")).fetchCount());
+    }
+
     @Test
     public void batch_templates() throws SQLException {
         assertEquals(1, insert(survey).values(2, "A","B").execute());
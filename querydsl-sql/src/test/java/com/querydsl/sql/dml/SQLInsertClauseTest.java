@@ -20,6 +20,14 @@ public class SQLInsertClauseTest {
         insert.execute();
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void batchWriter_with_values() {
+        QEmployee emp1 = new QEmployee("emp1");
+        SQLInsertClause insert = new SQLInsertClause(null, SQLTemplates.DEFAULT, emp1);
+        insert.set(emp1.id, 1);
+        insert.batchWriter();
+    }
+
     @Test
     public void getSQL() {
         QEmployee emp1 = new QEmployee("emp1");
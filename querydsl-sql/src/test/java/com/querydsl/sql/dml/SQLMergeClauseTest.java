@@ -4,8 +4,10 @@ import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
 
-import com.querydsl.sql.H2Templates;
-import com.querydsl.sql.KeyAccessorsTest;
+import com.google.common.collect.ImmutableList;
+
+import com.querydsl.sql.*;
+import com.querydsl.sql.domain.QSurvey;
 
 public class SQLMergeClauseTest {
 
@@ -19,4 +21,89 @@ public class SQLMergeClauseTest {
         merge.clear();
         assertEquals(0, merge.getBatchCount());
     }
+
+    private static SQLMergeClause mergeBatch(SQLTemplates templates) {
+        QSurvey survey = QSurvey.survey;
+        SQLMergeClause merge = new SQLMergeClause(null, templates, survey);
+        merge.keys(survey.id).set(survey.id, 1).set(survey.name, "A").addBatch();
+        merge.keys(survey.id).set(survey.id, 2).set(survey.name, "B").addBatch();
+        return merge;
+    }
+
+    @Test
+    public void upsert_postgreSQL() {
+        SQLMergeClause merge = mergeBatch(PostgreSQLTemplates.builder().upsert().build());
+        assertEquals(2, merge.getSQL().size());
+        assertEquals("insert into SURVEY (ID, NAME)\n" +
+                "values (?, ?)\n" +
+                "on conflict (ID) do update set NAME = excluded.NAME", merge.getSQL().get(1).getSQL());
+        assertEquals(ImmutableList.of(2, "B"), merge.getSQL().get(1).getBindings());
+    }
+
+    @Test
+    public void upsert_mySQL() {
+        SQLMergeClause merge = mergeBatch(new MySQLTemplates());
+        assertEquals("insert into SURVEY (ID, NAME)\n" +
+                "values (?, ?)\n" +
+                "on duplicate key update NAME = values(NAME)", merge.getSQL().get(0).getSQL());
+    }
+
+    @Test
+    public void upsert_oracle() {
+        SQLMergeClause merge = mergeBatch(new OracleTemplates());
+        assertEquals("merge into SURVEY\n" +
+                "using (select ? ID, ? NAME\n" +
+                "from dual) src\n" +
+                "on (SURVEY.ID = src.ID)\n" +
+                "when matched then update set NAME = src.NAME\n" +
+                "when not matched then insert (ID, NAME)\n" +
+                "values (src.ID, src.NAME)", merge.getSQL().get(0).getSQL());
+        assertEquals(ImmutableList.of(1, "A"), merge.getSQL().get(0).getBindings());
+    }
+
+    @Test
+    public void upsert_sqlServer() {
+        SQLMergeClause merge = mergeBatch(new SQLServer2012Templates());
+        assertEquals("merge into SURVEY\n" +
+                "using (select ? ID, ? NAME) src\n" +
+                "on (SURVEY.ID = src.ID)\n" +
+                "when matched then update set NAME = src.NAME\n" +
+                "when not matched then insert (ID, NAME)\n" +
+                "values (src.ID, src.NAME);", merge.getSQL().get(0).getSQL());
+    }
+
+    @Test
+    public void upsert_keys_only() {
+        QSurvey survey = QSurvey.survey;
+        SQLMergeClause merge = new SQLMergeClause(null, PostgreSQLTemplates.builder().upsert().build(), survey);
+        merge.keys(survey.id).set(survey.id, 1).addBatch();
+        assertEquals("insert into SURVEY (ID)\n" +
+                "values (?)\n" +
+                "on conflict (ID) do nothing", merge.getSQL().get(0).getSQL());
+    }
+
+    @Test
+    public void upsert_sqlite() {
+        SQLMergeClause merge = mergeBatch(SQLiteTemplates.builder().upsert().build());
+        assertEquals("insert into SURVEY (ID, NAME)\n" +
+                "values (?, ?)\n" +
+                "on conflict (ID) do update set NAME = excluded.NAME", merge.getSQL().get(0).getSQL());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void upsert_needs_builder_option() {
+        mergeBatch(new PostgreSQLTemplates());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void upsert_needs_builder_option_sqlite() {
+        mergeBatch(new SQLiteTemplates());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void batch_not_supported() {
+        QSurvey survey = QSurvey.survey;
+        new SQLMergeClause(null, new HSQLDBTemplates(), survey).keys(survey.id).set(survey.id, 1).addBatch();
+    }
+
 }
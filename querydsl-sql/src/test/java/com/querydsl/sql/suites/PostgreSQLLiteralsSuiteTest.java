@@ -20,7 +20,7 @@ public class PostgreSQLLiteralsSuiteTest extends AbstractSuite {
         public void setUp() throws Exception {
             //NOTE: replacing the templates with a non-quoting one
             previous = configuration;
-            configuration = new Configuration(PostgreSQLTemplates.builder().newLineToSingleSpace().build());
+            configuration = new Configuration(PostgreSQLTemplates.builder().newLineToSingleSpace().upsert().build());
             super.setUp();
         }
 
@@ -44,7 +44,7 @@ public class PostgreSQLLiteralsSuiteTest extends AbstractSuite {
     @BeforeClass
     public static void setUp() throws Exception {
         Connections.initPostgreSQL();
-        Connections.initConfiguration(PostgreSQLTemplates.builder().quote().newLineToSingleSpace().build());
+        Connections.initConfiguration(PostgreSQLTemplates.builder().quote().newLineToSingleSpace().upsert().build());
         Connections.getConfiguration().setUseLiterals(true);
     }
 